@@ -18,17 +18,39 @@
 
 package org.comixedproject.metadata.comicvine.actions;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.text.MessageFormat;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.actions.AbstractScrapingAction;
+import org.comixedproject.metadata.comicvine.cache.ComicVineCacheEntry;
+import org.comixedproject.metadata.comicvine.cache.ComicVineCacheRegion;
+import org.comixedproject.metadata.comicvine.cache.ComicVineMetadataCache;
+import org.comixedproject.metadata.comicvine.circuitbreaker.ComicVineCircuitBreaker;
+import org.comixedproject.metadata.comicvine.circuitbreaker.ComicVineCircuitOpenException;
+import org.comixedproject.metadata.comicvine.dump.ComicVineDataDump;
+import org.comixedproject.metadata.comicvine.http.ComicVineHttpClient;
+import org.comixedproject.metadata.comicvine.http.ComicVineJsonDecoder;
+import org.comixedproject.metadata.comicvine.http.ComicVineLatencyTracker;
+import org.comixedproject.metadata.comicvine.http.ComicVineTimeouts;
+import org.comixedproject.metadata.comicvine.ratelimit.ComicVineRateLimiter;
+import org.comixedproject.metadata.comicvine.ratelimit.ComicVineRequestPriority;
+import org.comixedproject.metadata.comicvine.recording.ComicVineTrafficRecorder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
 
 /**
  * <code>AbstractComicVineScrapingAction</code> is the foundation on which ComicVine scrapers are
@@ -54,172 +76,338 @@ public abstract class AbstractComicVineScrapingAction<T> extends AbstractScrapin
   /** The name filter. */
   protected static final String NAME_FILTER = "name";
 
-  /*
-   * {0} is the server hostname (and port)
-   * {1} is the endpoint
-   * {2} the API key
-   * {3} the filters
-   * {4] the search parameters
-   * {5} the field list
-   */
-  private static final String COMICVINE_URL_PATTERN_1 =
-      "{0}/api/{1}/?api_key={2}&format=json{3}{4}{5}";
-  private static final String COMICVINE_URL_PATTERN_2 = "{0}?api_key={1}&format=json{2}{3}{4}";
-  private final Map<String, String> filters = new HashMap<>();
-  private final Map<String, String> parameters = new HashMap<>();
-  private final List<String> fields = new ArrayList<>();
+  private static final ComicVineJsonDecoder DECODER = new ComicVineJsonDecoder();
 
   @Getter @Setter protected String baseUrl;
   @Getter @Setter private String apiKey;
   @Getter @Setter private long delay = 0L;
+  @Getter @Setter private ComicVineMetadataCache cache;
+  @Getter @Setter private ComicVineDataDump dataDump;
+  @Getter @Setter private ComicVineRateLimiter rateLimiter;
+  @Getter @Setter private ComicVineRequestPriority priority = ComicVineRequestPriority.NORMAL;
+  @Getter @Setter private ComicVineHttpClient httpClient;
+  @Getter @Setter private boolean compressionEnabled = true;
+  @Getter @Setter private ComicVineTimeouts timeouts = ComicVineTimeouts.DEFAULTS;
+  @Getter @Setter private Long deadline;
+  @Getter @Setter private boolean hedgingEnabled = false;
+  @Getter @Setter private ComicVineTrafficRecorder recorder;
 
-  private String maskedApiKey;
-
-  protected AbstractComicVineScrapingAction() {
-    this.addParameter(RESULT_LIMIT_PARAMETER, "100");
+  /**
+   * Starts a new request, with the default limit on results returned.
+   *
+   * @return the request builder
+   */
+  protected ComicVineRequest.Builder newRequest() {
+    return ComicVineRequest.builder().addParameter(RESULT_LIMIT_PARAMETER, "100");
   }
 
   /**
-   * Sets the page to be returned in a multi-page response set.
+   * Starts the deadline by which this action, and every action it passes its settings to, must
+   * finish. It is called before each execution, so a deadline left from an earlier execution of a
+   * reused action is replaced. A budget of zero removes the deadline.
    *
-   * <p>At ComicVine, pages start with 1.
+   * @param budget the time allowed, in milliseconds
+   */
+  public void startDeadline(final long budget) {
+    if (budget <= 0L) {
+      this.deadline = null;
+      return;
+    }
+    this.deadline = System.currentTimeMillis() + budget;
+    log.trace("ComicVine deadline set: {}ms", budget);
+  }
+
+  /**
+   * Fails fast if the circuit breaker for the URL's endpoint is open, then waits for the rate
+   * limiter, if one is set, to allow the next request to ComicVine.
    *
-   * @param page the page
+   * @param url the request URL
+   * @throws ComicVineCircuitOpenException if the endpoint is failing
+   * @throws MetadataException if the wait is interrupted or the deadline has passed
    */
-  public void setPage(Integer page) {
-    this.parameters.remove("page");
-    if (page != null && page > 1) this.parameters.put("page", String.valueOf(page));
+  protected void acquirePermit(final String url) throws MetadataException {
+    this.doCheckDeadline();
+    ComicVineCircuitBreaker.forEndpoint(ComicVineHttpClient.getEndpoint(url)).checkPermitted();
+    if (this.rateLimiter == null) return;
+    try {
+      this.rateLimiter.acquire(this.priority);
+    } catch (InterruptedException error) {
+      Thread.currentThread().interrupt();
+      throw new MetadataException("Interrupted while waiting to contact ComicVine", error);
+    }
+    this.doCheckDeadline();
+  }
+
+  private void doCheckDeadline() throws MetadataException {
+    if (this.deadline != null && System.currentTimeMillis() >= this.deadline)
+      throw new MetadataException("ComicVine deadline exceeded");
   }
 
   /**
-   * Adds a new query filter.
+   * Passes the cache, data dump, rate limiter, priority, HTTP client, timeouts, deadline and
+   * traffic recorder on to an action used by this one.
    *
-   * @param name the filter name
-   * @param value the filter value
+   * @param action the nested action
    */
-  protected void addFilter(final String name, final String value) {
-    log.debug("Adding request filter: {}={}", name, value);
-    this.filters.put(name, value);
+  protected void shareSettings(final AbstractComicVineScrapingAction<?> action) {
+    action.setCache(this.cache);
+    action.setDataDump(this.dataDump);
+    action.setRateLimiter(this.rateLimiter);
+    action.setPriority(this.priority);
+    action.setHttpClient(this.httpClient);
+    action.setCompressionEnabled(this.compressionEnabled);
+    action.setTimeouts(this.timeouts);
+    action.setDeadline(this.deadline);
+    action.setHedgingEnabled(this.hedgingEnabled);
+    action.setRecorder(this.recorder);
   }
 
   /**
-   * Generates the URL to be used.
+   * Returns whether the request made by this action may be sent twice when it is slow to answer.
+   * Only idempotent lookups of a single record should return true.
    *
-   * @param baseUrl the url
-   * @return the URL
+   * @return true if the request may be hedged
    */
-  protected String createUrl(final String baseUrl) {
-    return this.createUrl(baseUrl, null);
+  protected boolean isHedgeable() {
+    return false;
   }
 
   /**
-   * Generates the URL to be used.
+   * Decodes a response body as its buffers arrive, without first gathering the whole body. The
+   * request is cancelled if it outlives the request timeout or the deadline.
    *
-   * @param baseUrl the url
-   * @param endpoint the endpoint
-   * @return the URL
+   * @param response the response
+   * @param type the body type
+   * @return the body
+   * @param <R> the body type
    */
-  protected String createUrl(final String baseUrl, final String endpoint) {
-    String filterText = this.generateFilters();
-    String parameterText = this.generateParameters();
-    String fieldListText = this.generateFilterList();
-
-    log.debug("Generating the URL: endpoint={}", endpoint);
-    if (endpoint != null) {
-      return MessageFormat.format(
-          COMICVINE_URL_PATTERN_1,
-          baseUrl,
-          endpoint,
-          this.apiKey,
-          filterText,
-          parameterText,
-          fieldListText);
-    } else {
-      return MessageFormat.format(
-          COMICVINE_URL_PATTERN_2, baseUrl, this.apiKey, filterText, parameterText, fieldListText);
-    }
+  protected <R> Mono<R> bodyToMono(final WebClient.ResponseSpec response, final Class<R> type) {
+    return DECODER.decode(response, type).timeout(this.doGetTimeLimit());
   }
 
-  private String generateFilterList() {
-    String result = "";
+  /**
+   * Fetches a single record and stores it, with the validators ComicVine sent, in a cache region.
+   * If the region holds a stale copy that has validators, a conditional request is sent instead;
+   * when ComicVine answers that the record was not modified, the stale copy is renewed and no body
+   * is decoded.
+   *
+   * @param url the request URL
+   * @param region the cache region
+   * @param id the record id
+   * @param type the body type
+   * @param results returns the record held by a body
+   * @return the record
+   * @param <R> the body type
+   * @param <V> the record type
+   * @throws MetadataException if the record could not be fetched
+   */
+  protected <R, V> V fetchRecord(
+      final String url,
+      final ComicVineCacheRegion<V> region,
+      final long id,
+      final Class<R> type,
+      final Function<R, V> results)
+      throws MetadataException {
+    final ComicVineCacheEntry<V> stale = region.getEntry(id);
+    final boolean conditional = stale != null && stale.hasValidator();
+    this.acquirePermit(url);
+    final WebClient client = this.createWebClient(url);
 
-    if (!this.fields.isEmpty()) {
-      log.debug("Processing field list");
-      StringBuilder builder = new StringBuilder("&field_list=");
-      for (int index = 0; index < this.fields.size(); index++) {
-        if (index > 0) builder.append(",");
-        final String fieldName = this.fields.get(index);
-        log.debug("Adding result field: {}", fieldName);
-        builder.append(fieldName);
-      }
-      result = builder.toString();
+    final WebClient.RequestHeadersSpec<?> spec = client.get().uri(url);
+    if (conditional) {
+      log.debug("Revalidating cached record: region={} id={}", region.getName(), id);
+      if (stale.getEtag() != null) spec.header(HttpHeaders.IF_NONE_MATCH, stale.getEtag());
+      if (stale.getLastModified() != null)
+        spec.header(HttpHeaders.IF_MODIFIED_SINCE, stale.getLastModified());
     }
+    final Mono<FetchedRecord<R>> request =
+        spec.exchangeToMono(
+                response -> {
+                  if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value())
+                    return response
+                        .releaseBody()
+                        .thenReturn(new FetchedRecord<R>(null, null, null));
+                  if (response.statusCode().isError())
+                    return response.createException().flatMap(Mono::error);
+                  final HttpHeaders headers = response.headers().asHttpHeaders();
+                  return DECODER
+                      .decode(response.bodyToFlux(DataBuffer.class), type)
+                      .map(
+                          body ->
+                              new FetchedRecord<>(
+                                  body,
+                                  headers.getETag(),
+                                  headers.getFirst(HttpHeaders.LAST_MODIFIED)));
+                })
+            .timeout(this.doGetTimeLimit());
 
-    return result;
-  }
+    final FetchedRecord<R> response;
+    try {
+      response = request.block();
+    } catch (Exception error) {
+      throw new MetadataException("Failed to get response", error);
+    }
 
-  private String generateParameters() {
-    String result = "";
+    if (response == null) throw new MetadataException("No response received");
 
-    if (!this.parameters.isEmpty()) {
-      log.debug("Processing parameters");
-      StringBuilder builder = new StringBuilder();
-      for (Map.Entry<String, String> entry : this.parameters.entrySet()) {
-        log.debug("Adding parameter: {}={}", entry.getKey(), encode(entry.getValue()));
-        builder.append("&").append(entry.getKey()).append("=").append(encode(entry.getValue()));
-      }
-      result = builder.toString();
+    if (response.getBody() == null) {
+      final V result = conditional ? region.revalidated(id, true) : null;
+      if (result == null) throw new MetadataException("Not modified response for uncached record");
+      return result;
     }
-
+    if (conditional) region.revalidated(id, false);
+    final V result = results.apply(response.getBody());
+    region.put(id, result, response.getEtag(), response.getLastModified());
     return result;
   }
 
-  private String generateFilters() {
-    String result = "";
+  private Duration doGetTimeLimit() {
+    long result = this.timeouts.getRequestTimeout();
+    if (this.deadline != null)
+      result = Math.min(result, this.deadline - System.currentTimeMillis());
+    return Duration.ofMillis(Math.max(1L, result));
+  }
 
-    if (!this.filters.isEmpty()) {
-      log.debug("Processing filters");
-      StringBuilder builder = new StringBuilder("&filter=");
-      int filterCount = 0;
-      for (Map.Entry<String, String> entry : this.filters.entrySet()) {
-        if (filterCount++ > 0) builder.append(",");
-        log.debug("Adding filter: {}:{}", entry.getKey(), entry.getValue());
-        builder.append(entry.getKey() + ":" + encode(entry.getValue()));
-      }
-      result = builder.toString();
+  @Override
+  protected WebClient createWebClient(final String url) {
+    WebClient result = super.createWebClient(url);
+    if (this.httpClient != null) {
+      log.trace("Using shared HTTP client: compression={}", this.compressionEnabled);
+      result =
+          this.httpClient.configure(
+              result, this.compressionEnabled, this.timeouts.getConnectTimeout());
+    }
+    final ComicVineCircuitBreaker circuitBreaker =
+        ComicVineCircuitBreaker.forEndpoint(ComicVineHttpClient.getEndpoint(url));
+    final Duration readTimeout = Duration.ofMillis(this.timeouts.getReadTimeout());
+    final WebClient.Builder builder = result.mutate();
+    if (this.recorder != null) builder.filter(this.recorder.filter());
+    builder
+        .defaultRequest(
+            request ->
+                request.httpRequest(
+                    httpRequest -> {
+                      if (httpRequest.getNativeRequest() instanceof HttpClientRequest nativeRequest)
+                        nativeRequest.responseTimeout(readTimeout);
+                    }))
+        .filter(doRecordOutcome(circuitBreaker));
+    if (this.hedgingEnabled && this.rateLimiter != null && this.isHedgeable()) {
+      // the breaker sees the hedged pair as a single request
+      builder.filter(
+          doHedge(
+              ComicVineLatencyTracker.forEndpoint(ComicVineHttpClient.getEndpoint(url)),
+              this.rateLimiter));
     }
+    return builder.build();
+  }
 
-    return result;
+  private static ExchangeFilterFunction doHedge(
+      final ComicVineLatencyTracker latencyTracker, final ComicVineRateLimiter rateLimiter) {
+    return (request, next) -> {
+      final Mono<ClientResponse> primary = doExchange(request, next, latencyTracker);
+      final Long hedgeDelay = latencyTracker.getHedgeDelay();
+      if (hedgeDelay == null) return primary;
+      final Mono<ClientResponse> hedge =
+          Mono.delay(Duration.ofMillis(hedgeDelay))
+              .flatMap(
+                  ignored -> {
+                    if (!rateLimiter.tryAcquireHedge()) return Mono.never();
+                    log.debug(
+                        "Hedging slow ComicVine request: endpoint={} delay={}ms",
+                        latencyTracker.getEndpoint(),
+                        hedgeDelay);
+                    return doExchange(request, next, latencyTracker);
+                  });
+      return doRace(primary, hedge);
+    };
   }
 
   /**
-   * Returns a URL encoded value.
+   * Returns the first response from either request. The response that loses the race still holds a
+   * pooled connection, so its body is released, whether it arrives after the winner or is dropped
+   * while the losing request is cancelled.
    *
-   * @param value the input
-   * @return the encoded value
+   * @param primary the first request
+   * @param hedge the duplicate request
+   * @return the first response
    */
-  private String encode(final String value) {
-    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  static Mono<ClientResponse> doRace(
+      final Mono<ClientResponse> primary, final Mono<ClientResponse> hedge) {
+    final AtomicBoolean answered = new AtomicBoolean();
+    final Function<ClientResponse, Mono<ClientResponse>> claim =
+        response -> {
+          if (answered.compareAndSet(false, true)) return Mono.just(response);
+          doReleaseLoser(response);
+          return Mono.empty();
+        };
+    return Flux.merge(primary.flatMap(claim), hedge.flatMap(claim))
+        .next()
+        .doOnDiscard(ClientResponse.class, AbstractComicVineScrapingAction::doReleaseLoser);
+  }
+
+  private static void doReleaseLoser(final ClientResponse response) {
+    log.trace("Releasing response that lost a hedged request");
+    response.releaseBody().subscribe();
+  }
+
+  private static Mono<ClientResponse> doExchange(
+      final ClientRequest request,
+      final ExchangeFunction next,
+      final ComicVineLatencyTracker latencyTracker) {
+    return Mono.defer(
+        () -> {
+          final long started = System.currentTimeMillis();
+          return next.exchange(request)
+              .doOnNext(response -> latencyTracker.record(System.currentTimeMillis() - started));
+        });
+  }
+
+  private static ExchangeFilterFunction doRecordOutcome(
+      final ComicVineCircuitBreaker circuitBreaker) {
+    return (request, next) -> {
+      final long started = System.currentTimeMillis();
+      return next.exchange(request)
+          .doOnNext(
+              response -> {
+                final long elapsed = System.currentTimeMillis() - started;
+                if (response.statusCode().is5xxServerError()) circuitBreaker.recordFailure(elapsed);
+                else circuitBreaker.recordSuccess(elapsed);
+              })
+          .doOnError(error -> circuitBreaker.recordFailure(System.currentTimeMillis() - started))
+          .doOnCancel(() -> circuitBreaker.recordFailure(System.currentTimeMillis() - started));
+    };
+  }
+
+  @RequiredArgsConstructor
+  @Getter
+  private static class FetchedRecord<R> {
+    private final R body;
+    private final String etag;
+    private final String lastModified;
   }
 
   /**
-   * Adds a new field to be included in the result.
+   * Generates the URL to be used.
    *
-   * @param name the field
+   * @param request the request
+   * @param baseUrl the url
+   * @return the URL
    */
-  protected void addField(final String name) {
-    log.debug("Adding result field: {}", name);
-    this.fields.add(name);
+  protected String createUrl(final ComicVineRequest request, final String baseUrl) {
+    return this.createUrl(request, baseUrl, null);
   }
 
   /**
-   * Adds a new parameter.
+   * Generates the URL to be used.
    *
-   * @param name the parameter name
-   * @param value the parameter value
+   * @param request the request
+   * @param baseUrl the url
+   * @param endpoint the endpoint
+   * @return the URL
    */
-  protected void addParameter(final String name, final String value) {
-    this.parameters.put(name, value);
+  protected String createUrl(
+      final ComicVineRequest request, final String baseUrl, final String endpoint) {
+    return request.toUrl(baseUrl, endpoint, this.apiKey);
   }
 
   /**
@@ -228,16 +416,6 @@ public abstract class AbstractComicVineScrapingAction<T> extends AbstractScrapin
    * @return the masked key
    */
   protected String getMaskedApiKey() {
-    if (this.maskedApiKey == null) {
-      final StringBuilder builder = new StringBuilder();
-      int length = this.apiKey.length() - 4;
-      if (length < 1) length = this.apiKey.length() / 2;
-      for (int index = 0; index < length; index++) {
-        builder.append("*");
-      }
-      if (length < this.apiKey.length()) builder.append(this.apiKey.substring(length));
-      this.maskedApiKey = builder.toString();
-    }
-    return this.maskedApiKey;
+    return ComicVineTrafficRecorder.maskApiKey(this.apiKey);
   }
 }
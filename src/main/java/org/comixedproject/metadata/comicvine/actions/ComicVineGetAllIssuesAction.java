@@ -18,6 +18,7 @@
 
 package org.comixedproject.metadata.comicvine.actions;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Getter;
@@ -26,15 +27,25 @@ import lombok.extern.log4j.Log4j2;
 import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.comicvine.model.ComicVineGetAllIssuesQueryResponse;
 import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssuesQueryResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolumeDetail;
 import org.comixedproject.metadata.model.IssueDetailsMetadata;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * <code>ComicVineGetAllIssuesAction</code> retrieves the metadata for all comics for a given
  * volume.
  *
+ * <p>By default the issues are taken from the volume record. When paging is enabled they are taken
+ * from the issues endpoint instead, filtered by volume, which also returns the dates and
+ * description of each issue. Once the first page gives the total count, the remaining pages are
+ * fetched concurrently, each one waiting on the rate limiter.
+ *
  * @author Darryl L. Pierce
  */
 @Log4j2
@@ -43,17 +54,29 @@ public class ComicVineGetAllIssuesAction
   private ComicVineGetIssueWithDetailsAction getIssueWithDetailsAction =
       new ComicVineGetIssueWithDetailsAction();
 
+  /** The default number of issue pages fetched at the same time. */
+  public static final int DEFAULT_MAXIMUM_CONCURRENT_PAGES = 4;
+
+  static final int PAGE_SIZE = 100;
+  static final String OFFSET_PARAMETER = "offset";
+  static final String SORT_PARAMETER = "sort";
+
   @Getter @Setter private String volumeId;
+  @Getter @Setter private boolean pagedIssues = false;
+  @Getter @Setter private int maximumConcurrentPages = DEFAULT_MAXIMUM_CONCURRENT_PAGES;
 
   @Override
   public List<IssueDetailsMetadata> execute() throws MetadataException {
     if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
     if (this.volumeId == null) throw new MetadataException("Missing volume id");
 
-    this.addField("issues");
-    this.addField("publisher");
-    this.addField("name");
-    this.addField("start_year");
+    if (this.pagedIssues) return this.doGetPagedIssues();
+
+    final ComicVineRequest.Builder query = this.newRequest();
+    query.addField("issues");
+    query.addField("publisher");
+    query.addField("name");
+    query.addField("start_year");
 
     List<IssueDetailsMetadata> result = new ArrayList<>();
     boolean done = false;
@@ -61,10 +84,13 @@ public class ComicVineGetAllIssuesAction
       log.debug(
           "Creating url for: API key=****{} volume id={}", this.getMaskedApiKey(), this.volumeId);
       final String url =
-          this.createUrl(this.baseUrl, String.format("volume/4050-%s", this.volumeId));
+          this.createUrl(
+              query.build(), this.baseUrl, String.format("volume/4050-%s", this.volumeId));
+      this.acquirePermit(url);
       final WebClient client = this.createWebClient(url);
       final Mono<ComicVineGetAllIssuesQueryResponse> request =
-          client.get().uri(url).retrieve().bodyToMono(ComicVineGetAllIssuesQueryResponse.class);
+          this.bodyToMono(
+              client.get().uri(url).retrieve(), ComicVineGetAllIssuesQueryResponse.class);
 
       ComicVineGetAllIssuesQueryResponse response = null;
 
@@ -110,18 +136,126 @@ public class ComicVineGetAllIssuesAction
       done =
           response.getOffset() + response.getNumberOfPageResults()
               >= response.getNumberOfTotalResults();
+    }
 
-      if (!done) {
-        log.trace("Sleeping for {}s", this.getDelay());
-        try {
-          Thread.sleep(this.getDelay() * 1000L);
-        } catch (InterruptedException error) {
-          Thread.currentThread().interrupt();
-          throw new MetadataException("ComicVine get volumes action interrupted", error);
-        }
+    return result;
+  }
+
+  private List<IssueDetailsMetadata> doGetPagedIssues() throws MetadataException {
+    final ComicVineVolumeDetail volume = this.doGetVolume();
+    final ComicVineIssuesQueryResponse firstPage = this.doGetIssuePage(0);
+
+    final List<Integer> offsets = new ArrayList<>();
+    if (!firstPage.getIssues().isEmpty())
+      for (int offset = firstPage.getIssues().size();
+          offset < firstPage.getNumberOfTotalResults();
+          offset += PAGE_SIZE) offsets.add(offset);
+    log.debug(
+        "Fetching {} more issue page{}: volume id={} total={}",
+        offsets.size(),
+        offsets.size() == 1 ? "" : "s",
+        this.volumeId,
+        firstPage.getNumberOfTotalResults());
+
+    final List<ComicVineIssue> issues = new ArrayList<>(firstPage.getIssues());
+    if (!offsets.isEmpty()) {
+      try {
+        issues.addAll(
+            Flux.fromIterable(offsets)
+                .flatMapSequential(
+                    offset ->
+                        Mono.fromCallable(() -> this.doGetIssuePage(offset))
+                            .subscribeOn(Schedulers.boundedElastic()),
+                    Math.max(1, this.maximumConcurrentPages))
+                .concatMapIterable(ComicVineIssuesQueryResponse::getIssues)
+                .collectList()
+                .block());
+      } catch (Exception error) {
+        final Throwable cause = Exceptions.unwrap(error);
+        if (cause instanceof MetadataException metadataException) throw metadataException;
+        throw new MetadataException("Failed to get issue page", cause);
       }
     }
 
+    final List<IssueDetailsMetadata> result = new ArrayList<>();
+    for (ComicVineIssue issue : issues) {
+      final IssueDetailsMetadata entry = new IssueDetailsMetadata();
+      entry.setSourceId(issue.getId());
+      entry.setPublisher(volume.getPublisher().getName().trim());
+      entry.setSeries(volume.getName().trim());
+      entry.setIssueNumber(issue.getIssueNumber().trim());
+      entry.setVolume(volume.getStartYear().trim());
+      entry.setTitle(issue.getTitle());
+      entry.setCoverDate(issue.getCoverDate());
+      entry.setStoreDate(issue.getStoreDate());
+      entry.setDescription(issue.getDescription());
+      entry.setWebAddress(issue.getSiteDetailURL());
+      result.add(entry);
+    }
     return result;
   }
+
+  private ComicVineVolumeDetail doGetVolume() throws MetadataException {
+    final ComicVineRequest.Builder query = this.newRequest();
+    query.addField("publisher");
+    query.addField("name");
+    query.addField("start_year");
+
+    log.debug("Fetching volume: API key=****{} id={}", this.getMaskedApiKey(), this.volumeId);
+    final String url =
+        this.createUrl(query.build(), this.baseUrl, String.format("volume/4050-%s", this.volumeId));
+    this.acquirePermit(url);
+    final WebClient client = this.createWebClient(url);
+    final Mono<ComicVineGetAllIssuesQueryResponse> request =
+        this.bodyToMono(client.get().uri(url).retrieve(), ComicVineGetAllIssuesQueryResponse.class);
+
+    ComicVineGetAllIssuesQueryResponse response = null;
+    try {
+      response = request.block();
+    } catch (Exception error) {
+      throw new MetadataException("Failed to get response", error);
+    }
+
+    if (response == null || response.getResults() == null)
+      throw new MetadataException("No response received");
+    return response.getResults();
+  }
+
+  private ComicVineIssuesQueryResponse doGetIssuePage(final int offset) throws MetadataException {
+    final ComicVineRequest.Builder query = this.newRequest();
+    query.addFilter("volume", this.volumeId);
+    query.addParameter(RESULT_LIMIT_PARAMETER, String.valueOf(PAGE_SIZE));
+    query.addParameter(SORT_PARAMETER, "id:asc");
+    if (offset > 0) query.addParameter(OFFSET_PARAMETER, String.valueOf(offset));
+    query.addField("id");
+    query.addField("issue_number");
+    query.addField("name");
+    query.addField("cover_date");
+    query.addField("store_date");
+    query.addField("description");
+    query.addField("site_detail_url");
+
+    log.debug(
+        "Fetching issue page: API key=****{} volume id={} offset={}",
+        this.getMaskedApiKey(),
+        this.volumeId,
+        offset);
+    final String url = this.createUrl(query.build(), this.baseUrl, "issues");
+    this.acquirePermit(url);
+    final WebClient client = this.createWebClient(url);
+    // the sort value is already encoded, so the URL must not be treated as a template
+    final Mono<ComicVineIssuesQueryResponse> request =
+        this.bodyToMono(
+            client.get().uri(URI.create(url)).retrieve(), ComicVineIssuesQueryResponse.class);
+
+    ComicVineIssuesQueryResponse response = null;
+    try {
+      response = request.block();
+    } catch (Exception error) {
+      throw new MetadataException("Failed to get response", error);
+    }
+
+    if (response == null) throw new MetadataException("No response received");
+    return response;
+  }
 }
@@ -40,33 +40,49 @@ import reactor.core.publisher.Mono;
 public class ComicVineGetIssueAction extends AbstractComicVineScrapingAction<List<IssueMetadata>> {
   @Getter @Setter private String volumeId;
   @Getter @Setter private String issueNumber;
+  @Getter @Setter private ComicVineFieldProfile profile = ComicVineFieldProfile.STANDARD;
 
   @Override
   public List<IssueMetadata> execute() throws MetadataException {
     if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
     if (this.volumeId == null) throw new MetadataException("Missing volume id");
 
-    this.addField("id");
-    this.addField("volume");
-    this.addField("issue_number");
-    this.addField("cover_date");
-    this.addField("store_date");
-    this.addField("description");
-    this.addField("image");
+    if (this.getDataDump() != null) {
+      final ComicVineIssue local = this.getDataDump().findIssue(this.volumeId, this.issueNumber);
+      if (local != null) {
+        log.debug(
+            "Using issue from data dump: volume id={} issue number={}",
+            this.volumeId,
+            this.issueNumber);
+        return List.of(this.doCreateIssueMetadata(local));
+      }
+    }
+
+    final ComicVineRequest.Builder query = this.newRequest();
+    query.addField("id");
+    query.addField("volume");
+    query.addField("issue_number");
+    query.addField("cover_date");
+    query.addField("store_date");
+    if (this.profile != ComicVineFieldProfile.MINIMAL) {
+      query.addField("description");
+      query.addField("image");
+    }
 
-    this.addFilter("volume", String.valueOf(this.volumeId));
-    this.addFilter("issue_number", this.issueNumber);
+    query.addFilter("volume", String.valueOf(this.volumeId));
+    query.addFilter("issue_number", this.issueNumber);
 
     List<IssueMetadata> result = new ArrayList<>();
     boolean done = false;
     while (!done) {
       log.debug(
           "Creating url for: API key=****{} volume id={}", this.getMaskedApiKey(), this.volumeId);
-      final String url = this.createUrl(this.baseUrl, "issues");
+      final String url = this.createUrl(query.build(), this.baseUrl, "issues");
+      this.acquirePermit(url);
       final WebClient client = this.createWebClient(url);
 
       final Mono<ComicVineIssuesQueryResponse> request =
-          client.get().uri(url).retrieve().bodyToMono(ComicVineIssuesQueryResponse.class);
+          this.bodyToMono(client.get().uri(url).retrieve(), ComicVineIssuesQueryResponse.class);
 
       ComicVineIssuesQueryResponse response = null;
 
@@ -81,18 +97,7 @@ public class ComicVineGetIssueAction extends AbstractComicVineScrapingAction<Lis
       log.debug("Received: {} issue(s)", response.getIssues().size());
 
       for (int index = 0; index < response.getIssues().size(); index++) {
-        final ComicVineIssue issue = response.getIssues().get(index);
-        final IssueMetadata entry = new IssueMetadata();
-        entry.setIssueNumber(issue.getIssueNumber());
-        entry.setId(issue.getId());
-        entry.setVolumeId(issue.getVolume().getId());
-        entry.setName(issue.getVolume().getName());
-        entry.setVolumeName(issue.getVolume().getName());
-        entry.setDescription(issue.getDescription());
-        entry.setCoverDate(issue.getCoverDate());
-        entry.setStoreDate(issue.getStoreDate());
-        entry.setCoverUrl(issue.getImage().getMediumUrl());
-        result.add(entry);
+        result.add(this.doCreateIssueMetadata(response.getIssues().get(index)));
       }
 
       done =
@@ -102,4 +107,18 @@ public class ComicVineGetIssueAction extends AbstractComicVineScrapingAction<Lis
 
     return result;
   }
+
+  private IssueMetadata doCreateIssueMetadata(final ComicVineIssue issue) {
+    final IssueMetadata entry = new IssueMetadata();
+    entry.setIssueNumber(issue.getIssueNumber());
+    entry.setId(issue.getId());
+    entry.setVolumeId(issue.getVolume().getId());
+    entry.setName(issue.getVolume().getName());
+    entry.setVolumeName(issue.getVolume().getName());
+    entry.setDescription(issue.getDescription());
+    entry.setCoverDate(issue.getCoverDate());
+    entry.setStoreDate(issue.getStoreDate());
+    if (issue.getImage() != null) entry.setCoverUrl(issue.getImage().getMediumUrl());
+    return entry;
+  }
 }
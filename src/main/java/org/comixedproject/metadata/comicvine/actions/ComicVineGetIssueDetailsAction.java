@@ -26,6 +26,8 @@ import lombok.extern.log4j.Log4j2;
 import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptor;
 import org.comixedproject.metadata.comicvine.model.*;
+import org.comixedproject.metadata.comicvine.prefetch.ComicVineVolumePrefetcher;
+import org.comixedproject.metadata.comicvine.ratelimit.ComicVineRequestPriority;
 import org.comixedproject.metadata.model.IssueDetailsMetadata;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
@@ -63,6 +65,9 @@ public class ComicVineGetIssueDetailsAction
   protected ComicVineGetPublisherDetailsAction getPublisherDetailsAction =
       new ComicVineGetPublisherDetailsAction();
 
+  /** Fills the cache with the rest of the volume, or null to not prefetch. */
+  @Getter @Setter private ComicVineVolumePrefetcher prefetcher;
+
   @Override
   public IssueDetailsMetadata execute() throws MetadataException {
     if (!StringUtils.hasLength(this.apiKey)) throw new MetadataException("Missing API key");
@@ -70,6 +75,7 @@ public class ComicVineGetIssueDetailsAction
 
     final ComicVineIssue issueDetails = this.getIssueDetails();
     final ComicVineVolume volumeDetails = this.getVolumeDetails(issueDetails.getVolume());
+    if (this.prefetcher != null) this.doQueuePrefetch(issueDetails.getVolume().getId());
     final ComicVinePublisher publisherDetails =
         this.getPublisherDetails(volumeDetails.getPublisher());
 
@@ -112,10 +118,24 @@ public class ComicVineGetIssueDetailsAction
         .toList();
   }
 
+  private void doQueuePrefetch(final String volumeId) {
+    final ComicVineGetAllIssuesAction getAllIssuesAction = new ComicVineGetAllIssuesAction();
+    final ComicVineGetIssueWithDetailsAction getIssueAction =
+        new ComicVineGetIssueWithDetailsAction();
+    for (AbstractComicVineScrapingAction<?> nested : List.of(getAllIssuesAction, getIssueAction)) {
+      this.shareSettings(nested);
+      // the fill runs after this scrape, using spare quota only
+      nested.setPriority(ComicVineRequestPriority.BACKGROUND);
+      nested.setDeadline(null);
+    }
+    this.prefetcher.prefetch(volumeId, this.apiKey, getAllIssuesAction, getIssueAction);
+  }
+
   private ComicVinePublisher getPublisherDetails(final ComicVinePublisher publisher)
       throws MetadataException {
     log.debug("Setting up the publisher details request: {}", publisher.getName());
     this.getPublisherDetailsAction.setApiKey(this.apiKey);
+    this.shareSettings(this.getPublisherDetailsAction);
     this.getPublisherDetailsAction.setApiUrl(publisher.getDetailUrl());
 
     log.debug("Fetching the publisher details");
@@ -125,6 +145,7 @@ public class ComicVineGetIssueDetailsAction
   private ComicVineVolume getVolumeDetails(final ComicVineVolume volume) throws MetadataException {
     log.debug("Setting up the volume details request: id={}", volume.getName());
     this.getVolumeDetailsAction.setApiKey(this.apiKey);
+    this.shareSettings(this.getVolumeDetailsAction);
     this.getVolumeDetailsAction.setApiUrl(volume.getDetailUrl());
 
     log.debug("Fetching the volume details");
@@ -132,9 +153,19 @@ public class ComicVineGetIssueDetailsAction
   }
 
   private ComicVineIssue getIssueDetails() throws MetadataException {
+    final Long id = this.getCache() != null ? Long.valueOf(this.issueId) : null;
+    if (id != null) {
+      final ComicVineIssue cached = this.getCache().getIssues().get(id);
+      if (cached != null) {
+        log.debug("Using cached issue: id={}", this.issueId);
+        return cached;
+      }
+    }
+
     log.debug("Setting up the issue details request");
     this.getIssueWithDetailsAction.setBaseUrl(ComicVineMetadataAdaptor.BASE_URL);
     this.getIssueWithDetailsAction.setApiKey(this.apiKey);
+    this.shareSettings(this.getIssueWithDetailsAction);
     this.getIssueWithDetailsAction.setIssueId(this.issueId);
 
     log.debug("Fetching the issue details");
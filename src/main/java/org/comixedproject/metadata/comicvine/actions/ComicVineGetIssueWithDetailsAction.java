@@ -18,6 +18,7 @@
 
 package org.comixedproject.metadata.comicvine.actions;
 
+import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
@@ -39,22 +40,23 @@ public class ComicVineGetIssueWithDetailsAction
     extends AbstractComicVineScrapingAction<ComicVineIssue> {
   static final String ENDPOINT = "issue/4000-%s";
 
+  static final List<String> MINIMAL_FIELDS =
+      List.of("id", "volume", "issue_number", "cover_date", "store_date", "name");
+  static final List<String> STANDARD_FIELDS = List.of("description", "site_detail_url");
+  static final List<String> FULL_FIELDS =
+      List.of(
+          "character_credits",
+          "team_credits",
+          "location_credits",
+          "story_arc_credits",
+          "person_credits");
+
   @Getter @Setter private String issueId;
+  @Getter @Setter private ComicVineFieldProfile profile = ComicVineFieldProfile.FULL;
 
-  public ComicVineGetIssueWithDetailsAction() {
-    this.addField("id");
-    this.addField("volume");
-    this.addField("issue_number");
-    this.addField("cover_date");
-    this.addField("store_date");
-    this.addField("name");
-    this.addField("description");
-    this.addField("site_detail_url");
-    this.addField("character_credits");
-    this.addField("team_credits");
-    this.addField("location_credits");
-    this.addField("story_arc_credits");
-    this.addField("person_credits");
+  @Override
+  protected boolean isHedgeable() {
+    return true;
   }
 
   @Override
@@ -63,13 +65,40 @@ public class ComicVineGetIssueWithDetailsAction
     if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
     if (this.issueId == null) throw new MetadataException("Missing issue id");
 
+    if (this.getDataDump() != null) {
+      final ComicVineIssue local = this.getDataDump().getIssue(Long.parseLong(this.issueId));
+      if (local != null) {
+        log.debug("Using issue from data dump: id={}", this.issueId);
+        return local;
+      }
+    }
+
+    final ComicVineRequest.Builder query = this.newRequest();
+    MINIMAL_FIELDS.forEach(query::addField);
+    if (this.profile != ComicVineFieldProfile.MINIMAL) STANDARD_FIELDS.forEach(query::addField);
+    if (this.profile == ComicVineFieldProfile.FULL) FULL_FIELDS.forEach(query::addField);
+
     log.debug(
-        "Querying ComicVine for issue: id={} API key={}", this.issueId, this.getMaskedApiKey());
-    final String url = this.createUrl(this.baseUrl, this.getEndpoint());
+        "Querying ComicVine for issue: id={} profile={} API key={}",
+        this.issueId,
+        this.profile,
+        this.getMaskedApiKey());
+    final String url = this.createUrl(query.build(), this.baseUrl, this.getEndpoint());
+    if (this.getCache() != null && this.profile == ComicVineFieldProfile.FULL) {
+      // only complete records are shared through the cache
+      return this.fetchRecord(
+          url,
+          this.getCache().getIssues(),
+          Long.parseLong(this.issueId),
+          ComicVineGetIssueDetailsResponse.class,
+          ComicVineGetIssueDetailsResponse::getResults);
+    }
+
+    this.acquirePermit(url);
     final WebClient client = this.createWebClient(url);
 
     final Mono<ComicVineGetIssueDetailsResponse> request =
-        client.get().uri(url).retrieve().bodyToMono(ComicVineGetIssueDetailsResponse.class);
+        this.bodyToMono(client.get().uri(url).retrieve(), ComicVineGetIssueDetailsResponse.class);
 
     ComicVineGetIssueDetailsResponse result;
     try {
@@ -22,6 +22,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.cache.ComicVineMetadataCache;
 import org.comixedproject.metadata.comicvine.model.ComicVineGetPublisherDetailsResponse;
 import org.comixedproject.metadata.comicvine.model.ComicVinePublisher;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
@@ -43,25 +44,58 @@ public class ComicVineGetPublisherDetailsAction
     extends AbstractComicVineScrapingAction<ComicVinePublisher> {
   @Getter @Setter private String apiUrl;
 
+  @Override
+  protected boolean isHedgeable() {
+    return true;
+  }
+
   @Override
   public ComicVinePublisher execute() throws MetadataException {
     if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
     if (!StringUtils.hasLength(this.apiUrl)) throw new MetadataException("Missing api URL");
 
-    this.addField("id");
-    this.addField("name");
-    this.addField("api_detail_url");
-    this.addField("description");
-    this.addField("image");
+    final ComicVineRequest.Builder query = this.newRequest();
+    query.addField("id");
+    query.addField("name");
+    query.addField("api_detail_url");
+    query.addField("description");
+    query.addField("image");
+
+    final Long publisherId = ComicVineMetadataCache.getDetailId(this.apiUrl);
+    if (this.getDataDump() != null && publisherId != null) {
+      final ComicVinePublisher local = this.getDataDump().getPublisher(publisherId);
+      if (local != null) {
+        log.debug("Using publisher from data dump: id={}", publisherId);
+        return local;
+      }
+    }
+    if (this.getCache() != null && publisherId != null) {
+      final ComicVinePublisher cached = this.getCache().getPublishers().get(publisherId);
+      if (cached != null) {
+        log.debug("Using cached publisher: id={}", publisherId);
+        return cached;
+      }
+    }
 
     log.debug(
         "Querying ComicVine for publisher: url={} API key={}", this.apiUrl, this.getMaskedApiKey());
 
-    final String url = this.createUrl(this.apiUrl);
+    final String url = this.createUrl(query.build(), this.apiUrl);
+    if (this.getCache() != null && publisherId != null) {
+      return this.fetchRecord(
+          url,
+          this.getCache().getPublishers(),
+          publisherId,
+          ComicVineGetPublisherDetailsResponse.class,
+          ComicVineGetPublisherDetailsResponse::getResults);
+    }
+
+    this.acquirePermit(url);
     final WebClient client = this.createWebClient(url);
 
     final Mono<ComicVineGetPublisherDetailsResponse> request =
-        client.get().uri(url).retrieve().bodyToMono(ComicVineGetPublisherDetailsResponse.class);
+        this.bodyToMono(
+            client.get().uri(url).retrieve(), ComicVineGetPublisherDetailsResponse.class);
     ComicVineGetPublisherDetailsResponse response = null;
 
     try {
@@ -42,35 +42,39 @@ public class ComicVineGetStoriesAction
     extends AbstractComicVineScrapingAction<List<StoryMetadata>> {
   @Getter @Setter private String storyName;
   @Getter @Setter private Integer maxRecords;
-  private int page;
 
   @Override
   public List<StoryMetadata> execute() throws MetadataException {
     this.doCheckSetup();
 
-    this.addFilter(NAME_FILTER, this.storyName);
+    final ComicVineRequest.Builder query = this.newRequest();
+    query.addFilter(NAME_FILTER, this.storyName);
 
-    this.addField("id");
-    this.addField("name");
-    this.addField("publisher");
-    this.addField("image");
+    query.addField("id");
+    query.addField("name");
+    query.addField("publisher");
+    query.addField("image");
 
-    this.addParameter(RESOURCES_PARAMETER, "volume");
-    this.addParameter(QUERY_PARAMETER, this.storyName);
-    if (maxRecords > 0) this.addParameter(RESULT_LIMIT_PARAMETER, String.valueOf(this.maxRecords));
+    query.addParameter(RESOURCES_PARAMETER, "volume");
+    query.addParameter(QUERY_PARAMETER, this.storyName);
+    if (maxRecords > 0) query.addParameter(RESULT_LIMIT_PARAMETER, String.valueOf(this.maxRecords));
 
     List<StoryMetadata> result = new ArrayList<>();
     boolean done = false;
+    int page = 0;
 
     while (!done) {
-      this.doIncrementPage();
+      page++;
+      log.trace("Setting page: {}", page);
+      query.setPage(page);
 
       log.debug(
           "Creating url for: API key=****{} story name={}", this.getMaskedApiKey(), this.storyName);
-      final String url = this.createUrl(this.baseUrl, "story_arcs");
+      final String url = this.createUrl(query.build(), this.baseUrl, "story_arcs");
+      this.acquirePermit(url);
       final WebClient client = this.createWebClient(url);
       final Mono<ComicVineGetStoryListResponse> request =
-          client.get().uri(url).retrieve().bodyToMono(ComicVineGetStoryListResponse.class);
+          this.bodyToMono(client.get().uri(url).retrieve(), ComicVineGetStoryListResponse.class);
       ComicVineGetStoryListResponse response = null;
 
       try {
@@ -111,30 +115,11 @@ public class ComicVineGetStoriesAction
           (hitMaxRecordLimit(result))
               || (response.getOffset() + response.getNumberOfPageResults())
                   >= response.getNumberOfTotalResults();
-
-      if (!done) {
-        log.trace("Sleeping for {}s", this.getDelay());
-        try {
-          Thread.sleep(this.getDelay() * 1000L);
-        } catch (InterruptedException error) {
-          Thread.currentThread().interrupt();
-          throw new MetadataException("ComicVine get volumes action interrupted", error);
-        }
-      }
     }
 
     return result;
   }
 
-  private void doIncrementPage() {
-    log.trace("Incremented page value: {}", this.page);
-    this.page++;
-    if (this.page > 1) {
-      log.trace("Setting page: {}", this.page);
-      this.addParameter(PAGE_PARAMETER, String.valueOf(this.page));
-    }
-  }
-
   private void doCheckSetup() throws MetadataException {
     if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
     if (!StringUtils.hasLength(this.storyName)) throw new MetadataException("Missing story name");
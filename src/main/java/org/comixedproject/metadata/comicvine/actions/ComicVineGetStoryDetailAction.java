@@ -18,14 +18,19 @@
 
 package org.comixedproject.metadata.comicvine.actions;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.cache.ComicVineCacheEntry;
+import org.comixedproject.metadata.comicvine.cache.ComicVineStoryArc;
 import org.comixedproject.metadata.comicvine.model.ComicVineGetStoryDetailResponse;
 import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVineStoryDetailResponse;
 import org.comixedproject.metadata.model.IssueDetailsMetadata;
 import org.comixedproject.metadata.model.StoryDetailMetadata;
 import org.comixedproject.metadata.model.StoryIssueMetadata;
@@ -37,6 +42,10 @@ import reactor.core.publisher.Mono;
  * <code>ComicVineGetStoryDetailAction</code> fetches the metadata for a single story arc from
  * ComicVine.
  *
+ * <p>When a cache is set, the issues already scraped for the arc are kept, and refreshing the arc
+ * only scrapes the issues that were added to its issue list, whose listed name changed or whose
+ * cached record was stored again since they were scraped.
+ *
  * @author Darryl L. Pierce
  */
 @NoArgsConstructor
@@ -52,23 +61,95 @@ public class ComicVineGetStoryDetailAction
     if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
     if (this.referenceId == null) throw new MetadataException("Missing reference id");
 
-    this.addField("id");
-    this.addField("publisher");
-    this.addField("name");
-    this.addField("description");
-    this.addField("issues");
-
     final StoryDetailMetadata result = new StoryDetailMetadata();
+    final Long storyArcId = this.doGetStoryArcId();
+    ComicVineStoryDetailResponse details = null;
+    if (this.getDataDump() != null && storyArcId != null) {
+      details = this.getDataDump().getStoryArc(storyArcId);
+      if (details != null) log.debug("Using story arc from data dump: id={}", storyArcId);
+    }
+    if (details == null) details = this.doGetStoryDetail();
+
+    log.debug("Received story arc with {} issue(s)", details.getIssues().size());
+
+    result.setReferenceId(this.referenceId);
+    if (Objects.nonNull(details.getPublisher())) {
+      result.setPublisher(details.getPublisher().getName().trim());
+    }
+    result.setName(details.getName());
+    result.setDescription(details.getDescription());
+    this.getIssueDetailsAction.setBaseUrl(this.baseUrl);
+    this.getIssueDetailsAction.setApiKey(this.getApiKey());
+    this.shareSettings(this.getIssueDetailsAction);
+
+    ComicVineStoryArc storyArc = null;
+    if (this.getCache() != null && storyArcId != null) {
+      final ComicVineCacheEntry<ComicVineStoryArc> cached =
+          this.getCache().getStoryArcs().getEntry(storyArcId);
+      storyArc = cached != null ? cached.getValue() : null;
+      if (storyArc == null) storyArc = new ComicVineStoryArc();
+    }
+
+    final List<String> issueIds = new ArrayList<>();
+    int scraped = 0;
+    for (int index = 0; index < details.getIssues().size(); index++) {
+      final ComicVineIssue entry = details.getIssues().get(index);
+      issueIds.add(entry.getId());
+      StoryIssueMetadata scrapedIssue =
+          storyArc != null
+              ? storyArc.getIssue(entry.getId(), entry.getTitle(), this.doGetRecordVersion(entry))
+              : null;
+      if (scrapedIssue == null) {
+        this.getIssueDetailsAction.setIssueId(entry.getId());
+        final IssueDetailsMetadata issue = this.getIssueDetailsAction.execute();
+        scrapedIssue = new StoryIssueMetadata();
+        scrapedIssue.setName(issue.getSeries());
+        scrapedIssue.setVolume(issue.getVolume());
+        scrapedIssue.setIssueNumber(issue.getIssueNumber());
+        scrapedIssue.setCoverDate(issue.getCoverDate());
+        if (storyArc != null)
+          storyArc.putIssue(
+              entry.getId(), entry.getTitle(), this.doGetRecordVersion(entry), scrapedIssue);
+        scraped++;
+      }
+      final StoryIssueMetadata issueMetadata = new StoryIssueMetadata();
+      issueMetadata.setReadingOrder(index + 1);
+      issueMetadata.setName(scrapedIssue.getName());
+      issueMetadata.setVolume(scrapedIssue.getVolume());
+      issueMetadata.setIssueNumber(scrapedIssue.getIssueNumber());
+      issueMetadata.setCoverDate(scrapedIssue.getCoverDate());
+      result.getIssues().add(issueMetadata);
+    }
+    log.debug("Scraped {} of {} issue(s)", scraped, issueIds.size());
+
+    if (storyArc != null) {
+      storyArc.retainIssues(issueIds);
+      this.getCache().getStoryArcs().put(storyArcId, storyArc);
+    }
+
+    return result;
+  }
+
+  private ComicVineStoryDetailResponse doGetStoryDetail() throws MetadataException {
+    final ComicVineRequest.Builder query = this.newRequest();
+    query.addField("id");
+    query.addField("publisher");
+    query.addField("name");
+    query.addField("description");
+    query.addField("issues");
+
     log.debug(
         "Creating url for: API key=****{} reference id={}",
         this.getMaskedApiKey(),
         this.referenceId);
     final String url =
-        this.createUrl(this.baseUrl, String.format("story_arc/4045-%s", this.referenceId));
+        this.createUrl(
+            query.build(), this.baseUrl, String.format("story_arc/4045-%s", this.referenceId));
+    this.acquirePermit(url);
     final WebClient client = this.createWebClient(url);
 
     final Mono<ComicVineGetStoryDetailResponse> request =
-        client.get().uri(url).retrieve().bodyToMono(ComicVineGetStoryDetailResponse.class);
+        this.bodyToMono(client.get().uri(url).retrieve(), ComicVineGetStoryDetailResponse.class);
 
     ComicVineGetStoryDetailResponse response = null;
 
@@ -79,32 +160,25 @@ public class ComicVineGetStoryDetailAction
     }
 
     if (response == null) throw new MetadataException("No response received");
+    return response.getResults();
+  }
 
-    log.debug("Received response with {} issue(s)", response.getResults().getIssues().size());
-
-    result.setReferenceId(this.referenceId);
-    if (Objects.nonNull(response.getResults().getPublisher())) {
-      result.setPublisher(response.getResults().getPublisher().getName().trim());
+  private long doGetRecordVersion(final ComicVineIssue issue) {
+    try {
+      final ComicVineCacheEntry<ComicVineIssue> cached =
+          this.getCache().getIssues().getEntry(Long.parseLong(issue.getId()));
+      return cached != null ? cached.getExpires() : 0L;
+    } catch (NumberFormatException error) {
+      return 0L;
     }
-    result.setName(response.getResults().getName());
-    result.setDescription(response.getResults().getDescription());
-    this.getIssueDetailsAction.setBaseUrl(this.baseUrl);
-    this.getIssueDetailsAction.setApiKey(this.getApiKey());
-
-    for (int index = 0; index < response.getResults().getIssues().size(); index++) {
-      final ComicVineIssue entry = response.getResults().getIssues().get(index);
-      this.getIssueDetailsAction.setIssueId(entry.getId());
+  }
 
-      final IssueDetailsMetadata issue = this.getIssueDetailsAction.execute();
-      final StoryIssueMetadata issueMetadata = new StoryIssueMetadata();
-      issueMetadata.setReadingOrder(index + 1);
-      issueMetadata.setName(issue.getSeries());
-      issueMetadata.setVolume(issue.getVolume());
-      issueMetadata.setIssueNumber(issue.getIssueNumber());
-      issueMetadata.setCoverDate(issue.getCoverDate());
-      result.getIssues().add(issueMetadata);
+  private Long doGetStoryArcId() {
+    try {
+      return Long.valueOf(this.referenceId);
+    } catch (NumberFormatException error) {
+      log.debug("Not caching story arc with reference id: {}", this.referenceId);
+      return null;
     }
-
-    return result;
   }
 }
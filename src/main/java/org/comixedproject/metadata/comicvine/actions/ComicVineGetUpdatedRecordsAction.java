@@ -0,0 +1,115 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import java.net.URI;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.model.ComicVineUpdatedRecordsResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * <code>ComicVineGetUpdatedRecordsAction</code> retrieves the ids of the issues or volumes that
+ * were changed at ComicVine within a date range.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineGetUpdatedRecordsAction
+    extends AbstractComicVineScrapingAction<List<String>> {
+  /** The issues resource. */
+  public static final String ISSUES_RESOURCE = "issues";
+
+  /** The volumes resource. */
+  public static final String VOLUMES_RESOURCE = "volumes";
+
+  static final String DATE_LAST_UPDATED_FILTER = "date_last_updated";
+  static final String OFFSET_PARAMETER = "offset";
+  static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+  @Getter @Setter private String resource;
+  @Getter @Setter private Date updatedSince;
+  @Getter @Setter private Date updatedUntil;
+
+  @Override
+  public List<String> execute() throws MetadataException {
+    if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
+    if (!StringUtils.hasLength(this.resource)) throw new MetadataException("Missing resource");
+    if (this.updatedSince == null) throw new MetadataException("Missing updated since date");
+    if (this.updatedUntil == null) throw new MetadataException("Missing updated until date");
+
+    final SimpleDateFormat format = new SimpleDateFormat(DATE_FORMAT);
+    format.setTimeZone(TimeZone.getTimeZone("UTC"));
+    final ComicVineRequest.Builder query = this.newRequest();
+    query.addFilter(
+        DATE_LAST_UPDATED_FILTER,
+        String.format("%s|%s", format.format(this.updatedSince), format.format(this.updatedUntil)));
+    query.addField("id");
+    query.addField(DATE_LAST_UPDATED_FILTER);
+
+    final List<String> result = new ArrayList<>();
+    boolean done = false;
+    while (!done) {
+      log.debug(
+          "Creating url for: API key=****{} resource={} offset={}",
+          this.getMaskedApiKey(),
+          this.resource,
+          result.size());
+      if (!result.isEmpty()) query.addParameter(OFFSET_PARAMETER, String.valueOf(result.size()));
+      final String url = this.createUrl(query.build(), this.baseUrl, this.resource);
+      this.acquirePermit(url);
+      final WebClient client = this.createWebClient(url);
+      // the filter value is already encoded, so the URL must not be treated as a template
+      final Mono<ComicVineUpdatedRecordsResponse> request =
+          this.bodyToMono(
+              client.get().uri(URI.create(url)).retrieve(), ComicVineUpdatedRecordsResponse.class);
+      ComicVineUpdatedRecordsResponse response = null;
+
+      try {
+        response = request.block();
+      } catch (Exception error) {
+        throw new MetadataException("Failed to get response", error);
+      }
+
+      if (response == null) throw new MetadataException("No response received");
+
+      log.debug(
+          "Received: {} updated record{}",
+          response.getRecords().size(),
+          response.getRecords().size() == 1 ? "" : "s");
+      response.getRecords().forEach(record -> result.add(record.getId()));
+
+      done =
+          response.getRecords().isEmpty()
+              || response.getOffset() + response.getNumberOfPageResults()
+                  >= response.getNumberOfTotalResults();
+    }
+
+    return result;
+  }
+}
@@ -22,8 +22,10 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.cache.ComicVineMetadataCache;
 import org.comixedproject.metadata.comicvine.model.ComicVineGetVolumeDetailsResponse;
 import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+import org.comixedproject.metadata.model.VolumeMetadata;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
@@ -43,24 +45,59 @@ public class ComicVineGetVolumeDetailsAction
     extends AbstractComicVineScrapingAction<ComicVineVolume> {
   @Getter @Setter private String apiUrl;
 
+  @Override
+  protected boolean isHedgeable() {
+    return true;
+  }
+
   @Override
   public ComicVineVolume execute() throws MetadataException {
-    this.addField("name");
-    this.addField("start_year");
-    this.addField("api_detail_url");
-    this.addField("publisher");
+    final ComicVineRequest.Builder query = this.newRequest();
+    query.addField("name");
+    query.addField("start_year");
+    query.addField("api_detail_url");
+    query.addField("publisher");
 
     if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
     if (!StringUtils.hasLength(this.apiUrl)) throw new MetadataException("Missing details URL");
 
+    final Long volumeId = ComicVineMetadataCache.getDetailId(this.apiUrl);
+    if (this.getDataDump() != null && volumeId != null) {
+      final ComicVineVolume local = this.getDataDump().getVolume(volumeId);
+      if (local != null) {
+        log.debug("Using volume from data dump: id={}", volumeId);
+        return local;
+      }
+    }
+    if (this.getCache() != null && volumeId != null) {
+      final ComicVineVolume cached = this.getCache().getVolumes().get(volumeId);
+      if (cached != null) {
+        log.debug("Using cached volume: id={}", volumeId);
+        return cached;
+      }
+    }
+
     log.debug(
         "Querying ComicVine for volume: url={} API key={}", this.apiUrl, this.getMaskedApiKey());
 
-    final String url = this.createUrl(this.apiUrl);
+    final String url = this.createUrl(query.build(), this.apiUrl);
+    if (this.getCache() != null && volumeId != null) {
+      final ComicVineVolume result =
+          this.fetchRecord(
+              url,
+              this.getCache().getVolumes(),
+              volumeId,
+              ComicVineGetVolumeDetailsResponse.class,
+              ComicVineGetVolumeDetailsResponse::getResults);
+      this.doIndexVolume(String.valueOf(volumeId), result);
+      return result;
+    }
+
+    this.acquirePermit(url);
     final WebClient client = this.createWebClient(url);
 
     final Mono<ComicVineGetVolumeDetailsResponse> request =
-        client.get().uri(url).retrieve().bodyToMono(ComicVineGetVolumeDetailsResponse.class);
+        this.bodyToMono(client.get().uri(url).retrieve(), ComicVineGetVolumeDetailsResponse.class);
     ComicVineGetVolumeDetailsResponse response = null;
 
     try {
@@ -73,4 +110,14 @@ public class ComicVineGetVolumeDetailsAction
 
     return response.getResults();
   }
+
+  private void doIndexVolume(final String volumeId, final ComicVineVolume volume) {
+    if (volume == null) return;
+    final VolumeMetadata entry = new VolumeMetadata();
+    entry.setId(volumeId);
+    entry.setName(volume.getName());
+    entry.setStartYear(volume.getStartYear());
+    if (volume.getPublisher() != null) entry.setPublisher(volume.getPublisher().getName());
+    this.getCache().getVolumeIndex().addVolume(entry);
+  }
 }
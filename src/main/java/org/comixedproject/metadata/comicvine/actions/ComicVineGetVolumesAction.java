@@ -24,6 +24,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
 import org.comixedproject.metadata.comicvine.model.ComicVineVolumesQueryResponse;
 import org.comixedproject.metadata.model.VolumeMetadata;
 import org.springframework.util.StringUtils;
@@ -42,36 +43,61 @@ public class ComicVineGetVolumesAction
 
   @Getter @Setter private String series;
   @Getter @Setter private Integer maxRecords;
-  private int page;
+  @Getter @Setter private ComicVineFieldProfile profile = ComicVineFieldProfile.STANDARD;
 
   @Override
   public List<VolumeMetadata> execute() throws MetadataException {
     this.doCheckSetup();
 
-    this.addFilter(NAME_FILTER, this.series);
+    if (this.getDataDump() != null) {
+      final List<VolumeMetadata> local = new ArrayList<>();
+      this.getDataDump()
+          .searchVolumes(this.series, this.maxRecords)
+          .forEach(volume -> local.add(this.doCreateVolumeMetadata(volume)));
+      if (!local.isEmpty()) {
+        log.debug("Using volumes from data dump: series={}", this.series);
+        return local;
+      }
+    }
+
+    if (this.getCache() != null) {
+      final List<VolumeMetadata> indexed =
+          this.getCache().getVolumeIndex().search(this.series, this.maxRecords);
+      if (indexed != null) {
+        log.debug("Using indexed volumes: series={}", this.series);
+        return indexed;
+      }
+    }
 
-    this.addField("id");
-    this.addField("name");
-    this.addField("count_of_issues");
-    this.addField("publisher");
-    this.addField("start_year");
-    this.addField("image");
+    final ComicVineRequest.Builder query = this.newRequest();
+    query.addFilter(NAME_FILTER, this.series);
 
-    this.addParameter(RESOURCES_PARAMETER, "volume");
-    this.addParameter(QUERY_PARAMETER, this.series);
-    if (maxRecords > 0) this.addParameter(RESULT_LIMIT_PARAMETER, String.valueOf(this.maxRecords));
+    query.addField("id");
+    query.addField("name");
+    query.addField("count_of_issues");
+    query.addField("publisher");
+    query.addField("start_year");
+    if (this.profile != ComicVineFieldProfile.MINIMAL) query.addField("image");
+
+    query.addParameter(RESOURCES_PARAMETER, "volume");
+    query.addParameter(QUERY_PARAMETER, this.series);
+    if (maxRecords > 0) query.addParameter(RESULT_LIMIT_PARAMETER, String.valueOf(this.maxRecords));
 
     List<VolumeMetadata> result = new ArrayList<>();
     boolean done = false;
+    int page = 0;
 
     while (!done) {
-      this.doIncrementPage();
+      page++;
+      log.trace("Setting page: {}", page);
+      query.setPage(page);
 
       log.debug("Creating url for: API key=****{} series={}", this.getMaskedApiKey(), this.series);
-      final String url = this.createUrl(this.baseUrl, "search");
+      final String url = this.createUrl(query.build(), this.baseUrl, "search");
+      this.acquirePermit(url);
       final WebClient client = this.createWebClient(url);
       final Mono<ComicVineVolumesQueryResponse> request =
-          client.get().uri(url).retrieve().bodyToMono(ComicVineVolumesQueryResponse.class);
+          this.bodyToMono(client.get().uri(url).retrieve(), ComicVineVolumesQueryResponse.class);
       ComicVineVolumesQueryResponse response = null;
 
       try {
@@ -95,47 +121,38 @@ public class ComicVineGetVolumesAction
       response
           .getVolumes()
           .subList(0, totalRecords)
-          .forEach(
-              volume -> {
-                log.trace("Processing volume record: {} name={}", volume.getId(), volume.getName());
-                final VolumeMetadata entry = new VolumeMetadata();
-                entry.setId(volume.getId());
-                entry.setName(volume.getName());
-                entry.setIssueCount(volume.getIssueCount());
-                if (volume.getPublisher() != null
-                    && StringUtils.hasLength(volume.getPublisher().getName()))
-                  entry.setPublisher(volume.getPublisher().getName());
-                entry.setStartYear(volume.getStartYear());
-                entry.setImageURL(volume.getImage().getOriginalUrl());
-                result.add(entry);
-              });
+          .forEach(volume -> result.add(this.doCreateVolumeMetadata(volume)));
 
       done =
           (hitMaxRecordLimit(result))
               || (response.getOffset() + response.getNumberOfPageResults())
                   >= response.getNumberOfTotalResults();
+    }
 
-      if (!done) {
-        log.trace("Sleeping for {}s", this.getDelay());
-        try {
-          Thread.sleep(this.getDelay() * 1000L);
-        } catch (InterruptedException error) {
-          Thread.currentThread().interrupt();
-          throw new MetadataException("ComicVine get volumes action interrupted", error);
-        }
-      }
+    if (this.getCache() != null) {
+      // a search without images cannot answer later searches that need them
+      this.getCache()
+          .getVolumeIndex()
+          .addSearch(
+              this.series,
+              result,
+              !hitMaxRecordLimit(result) && this.profile != ComicVineFieldProfile.MINIMAL);
     }
 
     return result;
   }
 
-  private void doIncrementPage() {
-    log.trace("Incremented page value: {}", this.page);
-    this.page++;
-    if (this.page > 1) {
-      log.trace("Setting page: {}", this.page);
-      this.addParameter(PAGE_PARAMETER, String.valueOf(this.page));
-    }
+  private VolumeMetadata doCreateVolumeMetadata(final ComicVineVolume volume) {
+    log.trace("Processing volume record: {} name={}", volume.getId(), volume.getName());
+    final VolumeMetadata entry = new VolumeMetadata();
+    entry.setId(volume.getId());
+    entry.setName(volume.getName());
+    entry.setIssueCount(volume.getIssueCount());
+    if (volume.getPublisher() != null && StringUtils.hasLength(volume.getPublisher().getName()))
+      entry.setPublisher(volume.getPublisher().getName());
+    entry.setStartYear(volume.getStartYear());
+    if (volume.getImage() != null) entry.setImageURL(volume.getImage().getOriginalUrl());
+    return entry;
   }
 
   private void doCheckSetup() throws MetadataException {
@@ -0,0 +1,242 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineRequest</code> describes a single request to ComicVine: its filters, parameters
+ * and the fields to be returned. A request cannot be changed once built, so it can be shared
+ * between threads and the action that sent it keeps no state between calls.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+@Getter
+public class ComicVineRequest {
+  /*
+   * {0} is the server hostname (and port)
+   * {1} is the endpoint
+   * {2} the API key
+   * {3} the filters
+   * {4] the search parameters
+   * {5} the field list
+   */
+  private static final String COMICVINE_URL_PATTERN_1 =
+      "{0}/api/{1}/?api_key={2}&format=json{3}{4}{5}";
+  private static final String COMICVINE_URL_PATTERN_2 = "{0}?api_key={1}&format=json{2}{3}{4}";
+
+  private final Map<String, String> filters;
+  private final Map<String, String> parameters;
+  private final Set<String> fields;
+
+  private ComicVineRequest(final Builder builder) {
+    this.filters = Collections.unmodifiableMap(new HashMap<>(builder.filters));
+    this.parameters = Collections.unmodifiableMap(new HashMap<>(builder.parameters));
+    this.fields = Collections.unmodifiableSet(new LinkedHashSet<>(builder.fields));
+  }
+
+  /**
+   * Returns a new, empty request builder.
+   *
+   * @return the builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns a builder that starts with the content of this request.
+   *
+   * @return the builder
+   */
+  public Builder toBuilder() {
+    final Builder result = new Builder();
+    result.filters.putAll(this.filters);
+    result.parameters.putAll(this.parameters);
+    result.fields.addAll(this.fields);
+    return result;
+  }
+
+  /**
+   * Generates the URL for this request.
+   *
+   * @param baseUrl the url
+   * @param endpoint the endpoint, or null if the url is already the full endpoint
+   * @param apiKey the API key
+   * @return the URL
+   */
+  public String toUrl(final String baseUrl, final String endpoint, final String apiKey) {
+    String filterText = this.generateFilters();
+    String parameterText = this.generateParameters();
+    String fieldListText = this.generateFilterList();
+
+    log.debug("Generating the URL: endpoint={}", endpoint);
+    if (endpoint != null) {
+      return MessageFormat.format(
+          COMICVINE_URL_PATTERN_1,
+          baseUrl,
+          endpoint,
+          apiKey,
+          filterText,
+          parameterText,
+          fieldListText);
+    } else {
+      return MessageFormat.format(
+          COMICVINE_URL_PATTERN_2, baseUrl, apiKey, filterText, parameterText, fieldListText);
+    }
+  }
+
+  private String generateFilterList() {
+    String result = "";
+
+    if (!this.fields.isEmpty()) {
+      log.debug("Processing field list");
+      result = "&field_list=" + String.join(",", this.fields);
+    }
+
+    return result;
+  }
+
+  private String generateParameters() {
+    String result = "";
+
+    if (!this.parameters.isEmpty()) {
+      log.debug("Processing parameters");
+      StringBuilder builder = new StringBuilder();
+      for (Map.Entry<String, String> entry : this.parameters.entrySet()) {
+        log.debug("Adding parameter: {}={}", entry.getKey(), encode(entry.getValue()));
+        builder.append("&").append(entry.getKey()).append("=").append(encode(entry.getValue()));
+      }
+      result = builder.toString();
+    }
+
+    return result;
+  }
+
+  private String generateFilters() {
+    String result = "";
+
+    if (!this.filters.isEmpty()) {
+      log.debug("Processing filters");
+      StringBuilder builder = new StringBuilder("&filter=");
+      int filterCount = 0;
+      for (Map.Entry<String, String> entry : this.filters.entrySet()) {
+        if (filterCount++ > 0) builder.append(",");
+        log.debug("Adding filter: {}:{}", entry.getKey(), entry.getValue());
+        builder.append(entry.getKey() + ":" + encode(entry.getValue()));
+      }
+      result = builder.toString();
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns a URL encoded value.
+   *
+   * @param value the input
+   * @return the encoded value
+   */
+  private static String encode(final String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * <code>Builder</code> collects the content of a request. A builder is meant to be used by a
+   * single call and is not thread-safe.
+   */
+  public static class Builder {
+    private final Map<String, String> filters = new HashMap<>();
+    private final Map<String, String> parameters = new HashMap<>();
+    private final Set<String> fields = new LinkedHashSet<>();
+
+    private Builder() {}
+
+    /**
+     * Adds a new query filter.
+     *
+     * @param name the filter name
+     * @param value the filter value
+     * @return the builder
+     */
+    public Builder addFilter(final String name, final String value) {
+      log.debug("Adding request filter: {}={}", name, value);
+      this.filters.put(name, value);
+      return this;
+    }
+
+    /**
+     * Adds a new parameter.
+     *
+     * @param name the parameter name
+     * @param value the parameter value
+     * @return the builder
+     */
+    public Builder addParameter(final String name, final String value) {
+      this.parameters.put(name, value);
+      return this;
+    }
+
+    /**
+     * Adds a new field to be included in the result.
+     *
+     * @param name the field
+     * @return the builder
+     */
+    public Builder addField(final String name) {
+      log.debug("Adding result field: {}", name);
+      this.fields.add(name);
+      return this;
+    }
+
+    /**
+     * Sets the page to be returned in a multi-page response set.
+     *
+     * <p>At ComicVine, pages start with 1.
+     *
+     * @param page the page
+     * @return the builder
+     */
+    public Builder setPage(final Integer page) {
+      this.parameters.remove(AbstractComicVineScrapingAction.PAGE_PARAMETER);
+      if (page != null && page > 1)
+        this.parameters.put(AbstractComicVineScrapingAction.PAGE_PARAMETER, String.valueOf(page));
+      return this;
+    }
+
+    /**
+     * Creates the request.
+     *
+     * @return the request
+     */
+    public ComicVineRequest build() {
+      return new ComicVineRequest(this);
+    }
+  }
+}
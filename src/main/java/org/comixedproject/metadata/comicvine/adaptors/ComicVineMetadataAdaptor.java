@@ -20,17 +20,38 @@ package org.comixedproject.metadata.comicvine.adaptors;
 
 import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.adaptors.AbstractMetadataAdaptor;
 import org.comixedproject.metadata.adaptors.MetadataAdaptor;
 import org.comixedproject.metadata.comicvine.actions.*;
+import org.comixedproject.metadata.comicvine.cache.ComicVineMetadataCache;
+import org.comixedproject.metadata.comicvine.cache.ComicVineNegativeCache;
+import org.comixedproject.metadata.comicvine.cache.ComicVineSyncResult;
+import org.comixedproject.metadata.comicvine.dump.ComicVineDataDump;
+import org.comixedproject.metadata.comicvine.http.ComicVineHttpClient;
+import org.comixedproject.metadata.comicvine.http.ComicVineTimeouts;
+import org.comixedproject.metadata.comicvine.matching.ComicVineVolumeMatch;
+import org.comixedproject.metadata.comicvine.matching.ComicVineVolumeMatcher;
+import org.comixedproject.metadata.comicvine.prefetch.ComicVineVolumePrefetcher;
+import org.comixedproject.metadata.comicvine.ratelimit.ComicVineFileRateLimitBackend;
+import org.comixedproject.metadata.comicvine.ratelimit.ComicVineRateLimiter;
+import org.comixedproject.metadata.comicvine.ratelimit.ComicVineRequestPriority;
+import org.comixedproject.metadata.comicvine.recording.ComicVineTrafficRecorder;
 import org.comixedproject.metadata.model.*;
 import org.comixedproject.model.metadata.MetadataSource;
+import org.springframework.util.StringUtils;
 
 /**
  * <code>ComicVineMetadataAdaptor</code> provides an implementation of {@link MetadataAdaptor} for
@@ -46,10 +67,82 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
   public static final String BASE_URL = "https://comicvine.gamespot.com";
 
   public static final long MINIMUM_DELAY_VALUE = 1L;
+  public static final long DEFAULT_SCRAPE_TIMEOUT = 0L;
   public static final int REFERENCE_ID_POSITION = 2;
 
+  @Getter private final ComicVineMetadataCache cache;
+  @Getter private final ComicVineVolumePrefetcher prefetcher;
+
+  /** The priority given to this adaptor's requests. */
+  @Getter @Setter private ComicVineRequestPriority priority = ComicVineRequestPriority.INTERACTIVE;
+
+  /** The HTTP client shared by the actions, or null to use a default client per request. */
+  @Getter @Setter private ComicVineHttpClient httpClient;
+
+  /** The fields requested when searching for volumes and issues. */
+  @Getter @Setter private ComicVineFieldProfile searchProfile = ComicVineFieldProfile.STANDARD;
+
   public ComicVineMetadataAdaptor() {
+    this(new ComicVineMetadataCache());
+  }
+
+  /**
+   * Creates an adaptor that shares the given cache with other adaptor instances.
+   *
+   * @param cache the cache
+   */
+  public ComicVineMetadataAdaptor(final ComicVineMetadataCache cache) {
+    this(cache, null);
+  }
+
+  /**
+   * Creates an adaptor that shares the given cache and volume prefetcher with other adaptor
+   * instances.
+   *
+   * @param cache the cache
+   * @param prefetcher the prefetcher
+   */
+  public ComicVineMetadataAdaptor(
+      final ComicVineMetadataCache cache, final ComicVineVolumePrefetcher prefetcher) {
     super("ComiXed ComicVine Scraper", PROVIDER_NAME);
+    this.cache = cache;
+    this.prefetcher = prefetcher;
+  }
+
+  /**
+   * Creates an adaptor that shares this adaptor's cache, prefetcher and HTTP client, and starts
+   * with its priority and search profile. Callers that need different settings configure the copy
+   * instead of changing an adaptor others are using.
+   *
+   * @return the copy
+   */
+  public ComicVineMetadataAdaptor copy() {
+    final ComicVineMetadataAdaptor result =
+        new ComicVineMetadataAdaptor(this.cache, this.prefetcher);
+    result.setHttpClient(this.httpClient);
+    result.setPriority(this.priority);
+    result.setSearchProfile(this.searchProfile);
+    return result;
+  }
+
+  /**
+   * Prepares the state shared by every adaptor for the given metadata source, so the first lookup
+   * does not pay for it. The off-heap cache capacity is applied and a configured cache snapshot is
+   * loaded before this returns, and a configured data dump starts loading in the background.
+   * Calling this again with the same settings does nothing.
+   *
+   * @param metadataSource the metadata source
+   * @throws MetadataException if a property could not be read
+   */
+  public void start(final MetadataSource metadataSource) throws MetadataException {
+    log.debug("Starting ComicVine metadata adaptor");
+    if (this.cache != null) {
+      this.doApplyOffHeapCapacity(metadataSource);
+      this.doLoadSnapshot(metadataSource);
+    }
+    final String dataDump =
+        this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_DATA_DUMP, false);
+    if (StringUtils.hasText(dataDump)) ComicVineDataDump.load(Path.of(dataDump));
   }
 
   @Override
@@ -61,6 +154,7 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
     action.setBaseUrl(BASE_URL);
     action.setApiKey(
         this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
+    this.doShareSettings(action, metadataSource);
     action.setDelay(this.doGetDelayValue(metadataSource));
     action.setStoryName(storyName);
     action.setMaxRecords(maxRecords);
@@ -80,7 +174,10 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
     action.setBaseUrl(BASE_URL);
     action.setApiKey(
         this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
+    this.doShareSettings(action, metadataSource);
     action.setDelay(this.doGetDelayValue(metadataSource));
+    action.setCache(this.cache);
+    action.startDeadline(this.doGetScrapeTimeout(metadataSource));
     action.setReferenceId(referenceId);
 
     log.debug("Executing action");
@@ -94,8 +191,9 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
   public List<VolumeMetadata> getVolumes(
       final String seriesName, final Integer maxRecords, final MetadataSource metadataSource)
       throws MetadataException {
-    return this.doGetVolumes(
-        seriesName, maxRecords, metadataSource, new ComicVineGetVolumesAction());
+    final ComicVineGetVolumesAction action = new ComicVineGetVolumesAction();
+    action.setProfile(this.searchProfile);
+    return this.doGetVolumes(seriesName, maxRecords, metadataSource, action);
   }
 
   List<VolumeMetadata> doGetVolumes(
@@ -105,21 +203,61 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
       final ComicVineGetVolumesAction action)
       throws MetadataException {
     log.debug("Fetching volumes from ComicVine: seriesName={}", seriesName);
-
     action.setBaseUrl(BASE_URL);
     action.setApiKey(
         this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
+    this.doShareSettings(action, metadataSource);
     action.setDelay(this.doGetDelayValue(metadataSource));
+    action.setCache(this.cache);
     action.setSeries(seriesName);
     action.setMaxRecords(maxRecords);
 
+    // the data dump is consulted first, so a miss recorded against ComicVine cannot hide it
+    final String missKey = ComicVineNegativeCache.getSearchKey(seriesName);
+    final ComicVineDataDump dataDump = action.getDataDump();
+    if (this.cache != null
+        && this.cache.getEmptyResults().isKnownMiss(missKey)
+        && (dataDump == null || dataDump.searchVolumes(seriesName, 1).isEmpty())) {
+      log.debug("Volume search is known to have no results");
+      return new ArrayList<>();
+    }
+
     log.debug("Executing action");
     final List<VolumeMetadata> result = action.execute();
+    if (result.isEmpty() && this.cache != null) this.cache.getEmptyResults().recordMiss(missKey);
 
     log.debug("Returning {} volume{}", result.size(), result.size() == 1 ? "" : "s");
     return result;
   }
 
+  /**
+   * Searches for the series and returns the volume that best matches the comic, so that automated
+   * scraping can choose a volume without user input.
+   *
+   * @param seriesName the series name
+   * @param year the cover year, or null if unknown
+   * @param issueNumber the issue number, or null if unknown
+   * @param publisher the publisher name, or null if unknown
+   * @param metadataSource the metadata source
+   * @return the volume, or null if no candidate matched well enough
+   * @throws MetadataException if an error occurs
+   */
+  public VolumeMetadata findVolume(
+      final String seriesName,
+      final String year,
+      final String issueNumber,
+      final String publisher,
+      final MetadataSource metadataSource)
+      throws MetadataException {
+    final ComicVineGetVolumesAction action = new ComicVineGetVolumesAction();
+    action.setProfile(ComicVineFieldProfile.MINIMAL);
+    final List<VolumeMetadata> candidates =
+        this.doGetVolumes(seriesName, 0, metadataSource, action);
+    final ComicVineVolumeMatch match =
+        new ComicVineVolumeMatcher(seriesName, year, issueNumber, publisher).findBest(candidates);
+    return match != null ? match.getVolume() : null;
+  }
+
   @Override
   public List<IssueDetailsMetadata> getAllIssues(
       final String volume, final MetadataSource metadataSource) throws MetadataException {
@@ -136,8 +274,10 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
     action.setBaseUrl(BASE_URL);
     action.setApiKey(
         this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
+    this.doShareSettings(action, metadataSource);
     action.setDelay(this.doGetDelayValue(metadataSource));
     action.setVolumeId(volume);
+    action.setPagedIssues(this.doIsPagedIssuesEnabled(metadataSource));
 
     log.debug("Executing action");
     final List<IssueDetailsMetadata> result = action.execute();
@@ -150,7 +290,9 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
   public IssueMetadata doGetIssue(
       final String volume, final String issueNumber, final MetadataSource metadataSource)
       throws MetadataException {
-    return this.doGetIssue(volume, issueNumber, metadataSource, new ComicVineGetIssueAction());
+    final ComicVineGetIssueAction action = new ComicVineGetIssueAction();
+    action.setProfile(this.searchProfile);
+    return this.doGetIssue(volume, issueNumber, metadataSource, action);
   }
 
   IssueMetadata doGetIssue(
@@ -160,14 +302,24 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
       final ComicVineGetIssueAction action)
       throws MetadataException {
     log.debug("Fetching issue from ComicVine: volume={} issueNumber={}", volume, issueNumber);
-
     action.setBaseUrl(BASE_URL);
     action.setApiKey(
         this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
+    this.doShareSettings(action, metadataSource);
     action.setVolumeId(volume);
     action.setIssueNumber(issueNumber);
 
+    final String missKey = ComicVineNegativeCache.getIssueKey(volume, issueNumber);
+    final ComicVineDataDump dataDump = action.getDataDump();
+    if (this.cache != null
+        && this.cache.getEmptyResults().isKnownMiss(missKey)
+        && (dataDump == null || dataDump.findIssue(volume, issueNumber) == null)) {
+      log.debug("Issue is known to not exist");
+      return null;
+    }
+
     final List<IssueMetadata> result = action.execute();
+    if (result.isEmpty() && this.cache != null) this.cache.getEmptyResults().recordMiss(missKey);
 
     return result.isEmpty() ? null : result.get(0);
   }
@@ -188,11 +340,102 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
     action.setBaseUrl(BASE_URL);
     action.setApiKey(
         this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
+    this.doShareSettings(action, metadataSource);
+    action.setCache(this.cache);
+    if (this.prefetcher != null && this.doIsPrefetchEnabled(metadataSource))
+      action.setPrefetcher(this.prefetcher);
+    action.startDeadline(this.doGetScrapeTimeout(metadataSource));
     action.setIssueId(issueId);
 
     return action.execute();
   }
 
+  /**
+   * Asks ComicVine which volumes and issues changed since the last synchronization, and removes the
+   * changed volumes from the cache. The returned issue ids are the only issues that need to be
+   * scraped again.
+   *
+   * @param updatedSince the end date of the previous synchronization
+   * @param metadataSource the metadata source
+   * @return the changed records
+   * @throws MetadataException if an error occurs
+   */
+  public ComicVineSyncResult synchronize(
+      final Date updatedSince, final MetadataSource metadataSource) throws MetadataException {
+    return this.doSynchronize(
+        updatedSince,
+        new Date(),
+        metadataSource,
+        new ComicVineGetUpdatedRecordsAction(),
+        new ComicVineGetUpdatedRecordsAction());
+  }
+
+  ComicVineSyncResult doSynchronize(
+      final Date updatedSince,
+      final Date updatedUntil,
+      final MetadataSource metadataSource,
+      final ComicVineGetUpdatedRecordsAction volumesAction,
+      final ComicVineGetUpdatedRecordsAction issuesAction)
+      throws MetadataException {
+    log.debug("Synchronizing with ComicVine: since={} until={}", updatedSince, updatedUntil);
+    final List<String> volumeIds =
+        this.doGetUpdatedRecords(
+            ComicVineGetUpdatedRecordsAction.VOLUMES_RESOURCE,
+            updatedSince,
+            updatedUntil,
+            metadataSource,
+            volumesAction);
+    final List<String> issueIds =
+        this.doGetUpdatedRecords(
+            ComicVineGetUpdatedRecordsAction.ISSUES_RESOURCE,
+            updatedSince,
+            updatedUntil,
+            metadataSource,
+            issuesAction);
+
+    if (this.cache != null) {
+      log.debug(
+          "Invalidating {} updated volume{} and {} updated issue{}",
+          volumeIds.size(),
+          volumeIds.size() == 1 ? "" : "s",
+          issueIds.size(),
+          issueIds.size() == 1 ? "" : "s");
+      volumeIds.forEach(
+          id -> {
+            this.cache.getVolumes().invalidate(Long.parseLong(id));
+            this.cache.getVolumeIndex().invalidate(id);
+            this.cache.getEmptyResults().invalidateVolume(id);
+          });
+      if (!volumeIds.isEmpty()) this.cache.getEmptyResults().invalidateSearches();
+      issueIds.forEach(id -> this.cache.getIssues().invalidate(Long.parseLong(id)));
+      this.cache.getStoryArcs().forEach(storyArc -> storyArc.invalidateIssues(issueIds));
+    }
+
+    return new ComicVineSyncResult(updatedUntil, volumeIds, issueIds);
+  }
+
+  private List<String> doGetUpdatedRecords(
+      final String resource,
+      final Date updatedSince,
+      final Date updatedUntil,
+      final MetadataSource metadataSource,
+      final ComicVineGetUpdatedRecordsAction action)
+      throws MetadataException {
+    action.setBaseUrl(BASE_URL);
+    action.setApiKey(
+        this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
+    this.doShareSettings(action, metadataSource);
+    action.setDelay(this.doGetDelayValue(metadataSource));
+    action.setResource(resource);
+    action.setUpdatedSince(updatedSince);
+    action.setUpdatedUntil(updatedUntil);
+
+    final List<String> result = action.execute();
+
+    log.debug("Found {} updated {}", result.size(), resource);
+    return result;
+  }
+
   @Override
   public String getReferenceId(final String webAddress) {
     final Pattern pattern = Pattern.compile(REFERENCE_ID_PATTERN);
@@ -204,6 +447,166 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
     return referenceId;
   }
 
+  /**
+   * Returns the rate limiter shared by every caller using the source's API key, paced using the
+   * source's delay. If the source names a shared directory, the quota is also shared with the other
+   * nodes on this host.
+   *
+   * @param metadataSource the metadata source
+   * @return the rate limiter
+   * @throws MetadataException if the API key is not set
+   */
+  public ComicVineRateLimiter getRateLimiter(final MetadataSource metadataSource)
+      throws MetadataException {
+    final ComicVineRateLimiter result =
+        ComicVineRateLimiter.forApiKey(
+            this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
+    result.setDelay(this.doGetDelayValue(metadataSource));
+    result.setHedgeBudget(this.doGetHedgeBudget(metadataSource));
+    final String sharedDirectory =
+        this.getSourcePropertyByName(
+            metadataSource.getProperties(), PROPERTY_SHARED_RATE_LIMIT, false);
+    if (StringUtils.hasText(sharedDirectory))
+      result.setBackend(ComicVineFileRateLimitBackend.forDirectory(Path.of(sharedDirectory)));
+    return result;
+  }
+
+  private void doShareSettings(
+      final AbstractComicVineScrapingAction<?> action, final MetadataSource metadataSource)
+      throws MetadataException {
+    if (this.cache != null) this.doApplyOffHeapCapacity(metadataSource);
+    action.setRateLimiter(this.getRateLimiter(metadataSource));
+    action.setPriority(this.priority);
+    action.setHttpClient(this.httpClient);
+    action.setCompressionEnabled(this.doIsCompressionEnabled(metadataSource));
+    action.setHedgingEnabled(this.doIsHedgingEnabled(metadataSource));
+    final String recordFile =
+        this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_RECORD_FILE, false);
+    if (StringUtils.hasText(recordFile))
+      action.setRecorder(ComicVineTrafficRecorder.forArchive(Path.of(recordFile)));
+    final String dataDump =
+        this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_DATA_DUMP, false);
+    // while the dump is loading, or after it failed to load, lookups go to ComicVine
+    if (StringUtils.hasText(dataDump))
+      action.setDataDump(ComicVineDataDump.forDirectory(Path.of(dataDump)));
+    action.setTimeouts(
+        new ComicVineTimeouts(
+            this.doGetTimeoutValue(
+                metadataSource,
+                PROPERTY_CONNECT_TIMEOUT,
+                ComicVineTimeouts.DEFAULT_CONNECT_TIMEOUT),
+            this.doGetTimeoutValue(
+                metadataSource, PROPERTY_READ_TIMEOUT, ComicVineTimeouts.DEFAULT_READ_TIMEOUT),
+            this.doGetTimeoutValue(
+                metadataSource,
+                PROPERTY_REQUEST_TIMEOUT,
+                ComicVineTimeouts.DEFAULT_REQUEST_TIMEOUT)));
+  }
+
+  private long doGetScrapeTimeout(final MetadataSource metadataSource) {
+    return this.doGetTimeoutValue(metadataSource, PROPERTY_SCRAPE_TIMEOUT, DEFAULT_SCRAPE_TIMEOUT);
+  }
+
+  private long doGetTimeoutValue(
+      final MetadataSource metadataSource, final String property, final long defaultValue) {
+    try {
+      final String defined =
+          this.getSourcePropertyByName(metadataSource.getProperties(), property, false);
+      if (!Objects.isNull(defined) && !defined.isBlank()) {
+        final long result = Long.parseLong(defined.trim());
+        if (result > 0L) return result * 1000L;
+      }
+    } catch (MetadataException | NumberFormatException error) {
+      log.error("Failed to load property: " + property, error);
+    }
+    return defaultValue;
+  }
+
+  private void doLoadSnapshot(final MetadataSource metadataSource) throws MetadataException {
+    final String snapshot =
+        this.getSourcePropertyByName(
+            metadataSource.getProperties(), PROPERTY_CACHE_SNAPSHOT, false);
+    if (!StringUtils.hasText(snapshot) || !Files.isRegularFile(Path.of(snapshot))) return;
+    try {
+      this.cache.importSnapshot(Path.of(snapshot));
+    } catch (IOException error) {
+      log.error("Failed to load cache snapshot: " + snapshot, error);
+    }
+  }
+
+  private void doApplyOffHeapCapacity(final MetadataSource metadataSource) {
+    // compared without locking the cache, which is only locked when the property changes
+    final long capacity = this.doGetOffHeapCapacity(metadataSource);
+    if (capacity != this.cache.getOffHeapCapacity()) this.cache.setOffHeapCapacity(capacity);
+  }
+
+  private long doGetOffHeapCapacity(final MetadataSource metadataSource) {
+    try {
+      final String defined =
+          this.getSourcePropertyByName(
+              metadataSource.getProperties(), PROPERTY_OFF_HEAP_CACHE_SIZE, false);
+      if (!Objects.isNull(defined) && !defined.isBlank())
+        return Math.max(0L, Long.parseLong(defined.trim())) * 1024L * 1024L;
+    } catch (MetadataException | NumberFormatException error) {
+      log.error("Failed to load property: " + PROPERTY_OFF_HEAP_CACHE_SIZE, error);
+    }
+    return 0L;
+  }
+
+  private boolean doIsCompressionEnabled(final MetadataSource metadataSource) {
+    try {
+      final String defined =
+          this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_COMPRESSION, false);
+      return !"false".equalsIgnoreCase(defined);
+    } catch (MetadataException error) {
+      log.error("Failed to load property: " + PROPERTY_COMPRESSION, error);
+      return true;
+    }
+  }
+
+  private boolean doIsHedgingEnabled(final MetadataSource metadataSource) {
+    try {
+      return Boolean.parseBoolean(
+          this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_HEDGING, false));
+    } catch (MetadataException error) {
+      log.error("Failed to load property: " + PROPERTY_HEDGING, error);
+      return false;
+    }
+  }
+
+  private boolean doIsPagedIssuesEnabled(final MetadataSource metadataSource) {
+    try {
+      return Boolean.parseBoolean(
+          this.getSourcePropertyByName(
+              metadataSource.getProperties(), PROPERTY_PAGED_ISSUES, false));
+    } catch (MetadataException error) {
+      log.error("Failed to load property: " + PROPERTY_PAGED_ISSUES, error);
+      return false;
+    }
+  }
+
+  private double doGetHedgeBudget(final MetadataSource metadataSource) {
+    try {
+      final String defined =
+          this.getSourcePropertyByName(
+              metadataSource.getProperties(), PROPERTY_HEDGE_BUDGET, false);
+      if (!Objects.isNull(defined) && !defined.isBlank()) return Double.parseDouble(defined.trim());
+    } catch (MetadataException | NumberFormatException error) {
+      log.error("Failed to load property: " + PROPERTY_HEDGE_BUDGET, error);
+    }
+    return ComicVineRateLimiter.DEFAULT_HEDGE_BUDGET;
+  }
+
+  private boolean doIsPrefetchEnabled(final MetadataSource metadataSource) {
+    try {
+      return Boolean.parseBoolean(
+          this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_PREFETCH, false));
+    } catch (MetadataException error) {
+      log.error("Failed to load property: " + PROPERTY_PREFETCH, error);
+      return false;
+    }
+  }
+
   private long doGetDelayValue(final MetadataSource metadataSource) {
     long result = MINIMUM_DELAY_VALUE;
     try {
@@ -18,10 +18,16 @@
 
 package org.comixedproject.metadata.comicvine.adaptors;
 
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.metadata.AbstractMetadataAdaptorProvider;
 import org.comixedproject.metadata.MetadataAdaptorProvider;
+import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.adaptors.MetadataAdaptor;
+import org.comixedproject.metadata.comicvine.cache.ComicVineMetadataCache;
+import org.comixedproject.metadata.comicvine.http.ComicVineHttpClient;
+import org.comixedproject.metadata.comicvine.prefetch.ComicVineVolumePrefetcher;
+import org.comixedproject.model.metadata.MetadataSource;
 
 /**
  * <code>ComicVineMetadataAdaptorProvider</code> defines a {@link MetadataAdaptorProvider} for the
@@ -41,18 +47,100 @@ public class ComicVineMetadataAdaptorProvider extends AbstractMetadataAdaptorPro
   private static final String HOMEPAGE = "http://www.github.com/comixed/comixed-metadata-comicvine";
   static final String PROPERTY_DELAY = "comic-vine.delay";
 
+  /** Set to true to fill the cache with the rest of a volume after one issue is scraped. */
+  static final String PROPERTY_PREFETCH = "comic-vine.prefetch-volumes";
+
+  /** Set to false to stop asking ComicVine for compressed responses. */
+  static final String PROPERTY_COMPRESSION = "comic-vine.compression";
+
+  /** The time, in seconds, allowed to open a connection to ComicVine. */
+  static final String PROPERTY_CONNECT_TIMEOUT = "comic-vine.connect-timeout";
+
+  /** The time, in seconds, allowed between two reads of a response. */
+  static final String PROPERTY_READ_TIMEOUT = "comic-vine.read-timeout";
+
+  /** The time, in seconds, allowed for a single request. */
+  static final String PROPERTY_REQUEST_TIMEOUT = "comic-vine.request-timeout";
+
+  /** The time, in seconds, allowed for scraping an issue or a story, or 0 for no limit. */
+  static final String PROPERTY_SCRAPE_TIMEOUT = "comic-vine.scrape-timeout";
+
+  /** Set to true to send a duplicate request when a detail lookup is slow to answer. */
+  static final String PROPERTY_HEDGING = "comic-vine.hedge-requests";
+
+  /** The share of the request quota, from 0.0 to 1.0, that duplicate requests may use. */
+  static final String PROPERTY_HEDGE_BUDGET = "comic-vine.hedge-budget";
+
+  /** Set to true to list a volume's issues page by page, fetching several pages at once. */
+  static final String PROPERTY_PAGED_ISSUES = "comic-vine.paged-issue-list";
+
+  /**
+   * The size, in megabytes, of the off-heap store for cached records, or 0 to keep them on the
+   * heap.
+   */
+  static final String PROPERTY_OFF_HEAP_CACHE_SIZE = "comic-vine.off-heap-cache-size";
+
+  /** The fixture archive to which every ComicVine exchange is recorded, if set. */
+  static final String PROPERTY_RECORD_FILE = "comic-vine.record-file";
+
+  /** The directory of an offline ComicVine export to check before contacting ComicVine, if set. */
+  static final String PROPERTY_DATA_DUMP = "comic-vine.data-dump";
+
+  /**
+   * A directory shared by every node on this host, through which nodes using the same API key share
+   * its quota.
+   */
+  static final String PROPERTY_SHARED_RATE_LIMIT = "comic-vine.shared-rate-limit-directory";
+
+  /** A cache snapshot to load when the adaptor is started, if the file exists. */
+  static final String PROPERTY_CACHE_SNAPSHOT = "comic-vine.cache-snapshot";
+
+  @Getter private final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+  private final ComicVineVolumePrefetcher prefetcher =
+      new ComicVineVolumePrefetcher(this.cache, ComicVineMetadataAdaptor.BASE_URL);
+  @Getter private final ComicVineHttpClient httpClient = new ComicVineHttpClient();
+
   /** Creates a default instance. */
   public ComicVineMetadataAdaptorProvider() {
     super(PROVIDER_NAME, VERSION, HOMEPAGE);
 
     this.addProperty(PROPERTY_API_KEY);
     this.addProperty(PROPERTY_DELAY);
+    this.addProperty(PROPERTY_PREFETCH);
+    this.addProperty(PROPERTY_COMPRESSION);
+    this.addProperty(PROPERTY_CONNECT_TIMEOUT);
+    this.addProperty(PROPERTY_READ_TIMEOUT);
+    this.addProperty(PROPERTY_REQUEST_TIMEOUT);
+    this.addProperty(PROPERTY_SCRAPE_TIMEOUT);
+    this.addProperty(PROPERTY_HEDGING);
+    this.addProperty(PROPERTY_HEDGE_BUDGET);
+    this.addProperty(PROPERTY_PAGED_ISSUES);
+    this.addProperty(PROPERTY_OFF_HEAP_CACHE_SIZE);
+    this.addProperty(PROPERTY_RECORD_FILE);
+    this.addProperty(PROPERTY_DATA_DUMP);
+    this.addProperty(PROPERTY_SHARED_RATE_LIMIT);
+    this.addProperty(PROPERTY_CACHE_SNAPSHOT);
   }
 
   @Override
   public MetadataAdaptor create() {
     log.debug("Creating an instance of the ComicVine metadata adaptor");
-    return new ComicVineMetadataAdaptor();
+    final ComicVineMetadataAdaptor result =
+        new ComicVineMetadataAdaptor(this.cache, this.prefetcher);
+    result.setHttpClient(this.httpClient);
+    return result;
+  }
+
+  /**
+   * Applies the off-heap cache capacity, loads the cache snapshot and starts loading the data dump
+   * for the given metadata source. The host calls this once the source is configured, before it
+   * takes traffic.
+   *
+   * @param metadataSource the metadata source
+   * @throws MetadataException if a property could not be read
+   */
+  public void start(final MetadataSource metadataSource) throws MetadataException {
+    ((ComicVineMetadataAdaptor) this.create()).start(metadataSource);
   }
 
   @Override
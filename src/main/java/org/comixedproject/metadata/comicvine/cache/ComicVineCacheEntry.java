@@ -0,0 +1,66 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <code>ComicVineCacheEntry</code> holds a single cached record along with the time it expires and
+ * the validators ComicVine sent with it, if any.
+ *
+ * @param <T> the record type
+ * @author Darryl L. Pierce
+ */
+@AllArgsConstructor
+public class ComicVineCacheEntry<T> {
+  @Getter private final T value;
+  @Getter private final long expires;
+  @Getter private final String etag;
+  @Getter private final String lastModified;
+
+  /**
+   * Creates an entry without validators.
+   *
+   * @param value the record
+   * @param expires the time the entry expires
+   */
+  public ComicVineCacheEntry(final T value, final long expires) {
+    this(value, expires, null, null);
+  }
+
+  /**
+   * Returns if the entry has expired.
+   *
+   * @param now the current time
+   * @return true if expired
+   */
+  public boolean isExpired(final long now) {
+    return now >= this.expires;
+  }
+
+  /**
+   * Returns if the entry can be revalidated with a conditional request.
+   *
+   * @return true if the entry has a validator
+   */
+  public boolean hasValidator() {
+    return this.etag != null || this.lastModified != null;
+  }
+}
@@ -0,0 +1,488 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.comicvine.http.ComicVineObjectMapper;
+
+/**
+ * <code>ComicVineCacheRegion</code> caches one type of ComicVine record by its numeric id. Entries
+ * expire after a fixed time to live and the least recently used entry is evicted once the region is
+ * full. A region whose time to live is {@link Long#MAX_VALUE} never expires its entries.
+ *
+ * <p>Expired entries are kept until they are evicted, so that a record stored with validators can
+ * be revalidated with a conditional request instead of being downloaded again.
+ *
+ * <p>A region can be backed by an off-heap store. Every record is then also written, serialized, to
+ * the store, and the entries kept on the heap act as a small hot tier in front of it. A record that
+ * is no longer on the heap is read back from the store and moved to the hot tier.
+ *
+ * <p>A region can also sit in front of a {@link ComicVineSharedCache} shared by every node. Records
+ * are written through to it, and a record this node does not hold, or holds only a stale copy of,
+ * is read from it. Invalidating a record removes it from every node.
+ *
+ * @param <T> the record type
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineCacheRegion<T> {
+  @Getter private final String name;
+  private final Map<Long, ComicVineCacheEntry<T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong revalidations = new AtomicLong();
+  private final AtomicLong revalidationHits = new AtomicLong();
+
+  @Getter @Setter private int maximumEntries;
+  @Getter @Setter private long timeToLive;
+  @Getter private ComicVineOffHeapStore offHeapStore;
+  @Getter private volatile ComicVineSharedCache sharedCache;
+  private Class<T> recordType;
+  private final ComicVineInvalidationListener invalidationListener = this::doInvalidated;
+
+  /**
+   * Creates a region.
+   *
+   * @param name the region name
+   * @param maximumEntries the maximum number of entries
+   * @param timeToLive the time to live, in milliseconds
+   */
+  public ComicVineCacheRegion(final String name, final int maximumEntries, final long timeToLive) {
+    this(name, maximumEntries, timeToLive, null);
+  }
+
+  /**
+   * Creates a region whose records can be read back from their serialized form.
+   *
+   * @param name the region name
+   * @param maximumEntries the maximum number of entries
+   * @param timeToLive the time to live, in milliseconds
+   * @param recordType the record type
+   */
+  public ComicVineCacheRegion(
+      final String name,
+      final int maximumEntries,
+      final long timeToLive,
+      final Class<T> recordType) {
+    this.name = name;
+    this.maximumEntries = maximumEntries;
+    this.timeToLive = timeToLive;
+    this.recordType = recordType;
+  }
+
+  /**
+   * Returns the cached record with the given id.
+   *
+   * @param id the record id
+   * @return the record, or null if it is not cached or has expired
+   */
+  public T get(final long id) {
+    final long now = System.currentTimeMillis();
+    ComicVineCacheEntry<T> entry;
+    synchronized (this) {
+      entry = this.doGetLocalEntry(id);
+    }
+    if (entry == null || entry.isExpired(now)) {
+      // another node may have fetched the record since
+      final ComicVineCacheEntry<T> shared = this.doReadShared(id);
+      if (shared != null) entry = shared;
+    }
+    if (entry == null || entry.isExpired(now)) {
+      log.trace("Cache miss: region={} id={}", this.name, id);
+      this.misses.incrementAndGet();
+      return null;
+    }
+    log.trace("Cache hit: region={} id={}", this.name, id);
+    this.hits.incrementAndGet();
+    return entry.getValue();
+  }
+
+  /**
+   * Returns the entry for the given id, even if it has expired. The lookup is not counted as a hit
+   * or a miss.
+   *
+   * @param id the record id
+   * @return the entry, or null if none is held
+   */
+  public ComicVineCacheEntry<T> getEntry(final long id) {
+    final ComicVineCacheEntry<T> result;
+    synchronized (this) {
+      result = this.doGetLocalEntry(id);
+    }
+    return result != null ? result : this.doReadShared(id);
+  }
+
+  /**
+   * Stores a record.
+   *
+   * @param id the record id
+   * @param value the record
+   */
+  public void put(final long id, final T value) {
+    this.put(id, value, null, null);
+  }
+
+  /**
+   * Stores a record along with its validators.
+   *
+   * @param id the record id
+   * @param value the record
+   * @param etag the entity tag, or null
+   * @param lastModified the last modified date, or null
+   */
+  public void put(final long id, final T value, final String etag, final String lastModified) {
+    final ComicVineCacheEntry<T> entry =
+        new ComicVineCacheEntry<>(value, this.doGetExpires(), etag, lastModified);
+    synchronized (this) {
+      log.trace("Caching record: region={} id={}", this.name, id);
+      this.doPutEntry(id, entry, true);
+    }
+    this.doWriteShared(id, entry);
+  }
+
+  /**
+   * Records the outcome of a conditional request for a stale record. A record that was not modified
+   * lives for another time to live.
+   *
+   * @param id the record id
+   * @param notModified true if ComicVine answered that the record was not modified
+   * @return the record, if it was not modified, or null
+   */
+  public T revalidated(final long id, final boolean notModified) {
+    this.revalidations.incrementAndGet();
+    if (!notModified) return null;
+    final ComicVineCacheEntry<T> entry = this.getEntry(id);
+    if (entry == null) return null;
+    final ComicVineCacheEntry<T> result;
+    synchronized (this) {
+      log.trace("Record not modified: region={} id={}", this.name, id);
+      this.revalidationHits.incrementAndGet();
+      result =
+          new ComicVineCacheEntry<>(
+              entry.getValue(), this.doGetExpires(), entry.getEtag(), entry.getLastModified());
+      this.doPutEntry(id, result, true);
+    }
+    this.doWriteShared(id, result);
+    return result.getValue();
+  }
+
+  /**
+   * Removes a record, from every node if the region has a shared cache.
+   *
+   * @param id the record id
+   */
+  public void invalidate(final long id) {
+    synchronized (this) {
+      this.doRemove(id);
+    }
+    // sent outside the lock, since the message comes back to this node's listener
+    final ComicVineSharedCache shared = this.sharedCache;
+    if (shared != null) shared.invalidate(this.name, id);
+  }
+
+  /**
+   * Passes every record that has not expired to the given consumer.
+   *
+   * @param consumer the consumer
+   */
+  public synchronized void forEach(final Consumer<T> consumer) {
+    final long now = System.currentTimeMillis();
+    if (this.offHeapStore != null) {
+      this.offHeapStore.forEach(
+          (id, data) -> {
+            final ComicVineCacheEntry<T> entry =
+                this.entries.containsKey(id) ? this.entries.get(id) : this.doDecode(id, data);
+            if (entry != null && !entry.isExpired(now)) consumer.accept(entry.getValue());
+          });
+      return;
+    }
+    this.entries.values().stream()
+        .filter(entry -> !entry.isExpired(now))
+        .forEach(entry -> consumer.accept(entry.getValue()));
+  }
+
+  /**
+   * Passes every record, serialized along with its expiry time and validators, to the given
+   * consumer. Expired records are included, since their validators can still be used.
+   *
+   * <p>The records are copied while the region is locked and passed on after it is released, so a
+   * slow consumer does not hold up the region and still sees a consistent view of it.
+   *
+   * @param consumer the consumer
+   */
+  public void forEachSerialized(final BiConsumer<Long, byte[]> consumer) {
+    final Map<Long, byte[]> stored = new LinkedHashMap<>();
+    final Map<Long, ComicVineCacheEntry<T>> held;
+    synchronized (this) {
+      if (this.offHeapStore != null) {
+        this.offHeapStore.forEach(stored::put);
+        held = Map.of();
+      } else {
+        held = new LinkedHashMap<>(this.entries);
+      }
+    }
+    stored.forEach(consumer);
+    held.forEach((id, entry) -> consumer.accept(id, this.doEncode(entry)));
+  }
+
+  /**
+   * Stores a record written by {@link #forEachSerialized(BiConsumer)}, keeping its expiry time and
+   * validators.
+   *
+   * @param id the record id
+   * @param data the serialized record
+   * @return false if the record could not be read
+   */
+  public boolean putSerialized(final long id, final byte[] data) {
+    final ComicVineCacheEntry<T> entry = this.doDecode(id, data);
+    if (entry == null) return false;
+    synchronized (this) {
+      this.doPutEntry(id, entry, true);
+    }
+    return true;
+  }
+
+  /** Removes every record held by this node. */
+  public synchronized void clear() {
+    log.debug("Clearing cache region: {}", this.name);
+    this.entries.clear();
+    if (this.offHeapStore != null) this.offHeapStore.clear();
+  }
+
+  /**
+   * Returns the number of records held.
+   *
+   * @return the size
+   */
+  public synchronized int size() {
+    return this.offHeapStore != null ? this.offHeapStore.size() : this.entries.size();
+  }
+
+  /**
+   * Backs the region with an off-heap store, or removes the store. The records already held, both
+   * on the heap and in the previous store, are moved to the new store, or back to the heap when the
+   * store is removed.
+   *
+   * @param store the store, or null
+   * @param type the record type, used to read records back from the store
+   */
+  public synchronized void setOffHeapStore(final ComicVineOffHeapStore store, final Class<T> type) {
+    log.debug("Setting off-heap store: region={} enabled={}", this.name, store != null);
+    final ComicVineOffHeapStore previous = this.offHeapStore;
+    this.offHeapStore = store;
+    this.recordType = type;
+    if (previous != null && previous != store) {
+      if (store != null) previous.forEach(store::put);
+      else
+        previous.forEach(
+            (id, data) -> {
+              final ComicVineCacheEntry<T> entry = this.doDecode(id, data);
+              if (entry != null) this.entries.putIfAbsent(id, entry);
+            });
+      previous.clear();
+    }
+    if (store != null) this.entries.forEach((id, entry) -> store.put(id, this.doEncode(entry)));
+    this.doEvictOverflow();
+  }
+
+  /**
+   * Places the region in front of a shared cache, or removes the shared cache.
+   *
+   * @param shared the shared cache, or null
+   * @param type the record type, used to read records back from the shared cache
+   */
+  public synchronized void setSharedCache(final ComicVineSharedCache shared, final Class<T> type) {
+    log.debug("Setting shared cache: region={} enabled={}", this.name, shared != null);
+    if (this.sharedCache != null) this.sharedCache.removeListener(this.invalidationListener);
+    this.sharedCache = shared;
+    this.recordType = type;
+    if (shared != null) shared.addListener(this.invalidationListener);
+  }
+
+  private ComicVineCacheEntry<T> doGetLocalEntry(final long id) {
+    final ComicVineCacheEntry<T> entry = this.entries.get(id);
+    if (entry != null || this.offHeapStore == null) return entry;
+    final byte[] data = this.offHeapStore.get(id);
+    if (data == null) return null;
+    final ComicVineCacheEntry<T> result = this.doDecode(id, data);
+    if (result == null) {
+      this.offHeapStore.remove(id);
+      return null;
+    }
+    log.trace("Moving record to hot tier: region={} id={}", this.name, id);
+    this.doPutEntry(id, result, false);
+    return result;
+  }
+
+  private ComicVineCacheEntry<T> doReadShared(final long id) {
+    // read without holding the region, since the shared cache may be remote
+    final ComicVineSharedCache shared = this.sharedCache;
+    if (shared == null) return null;
+    final byte[] data = shared.get(this.name, id);
+    if (data == null) return null;
+    final ComicVineCacheEntry<T> result = this.doDecode(id, data);
+    if (result == null) return null;
+    synchronized (this) {
+      // keep a copy written while the shared cache was being read if it is newer
+      final ComicVineCacheEntry<T> current = this.entries.get(id);
+      if (current != null && current.getExpires() >= result.getExpires()) return current;
+      log.trace("Read record from shared cache: region={} id={}", this.name, id);
+      this.doPutEntry(id, result, true);
+    }
+    return result;
+  }
+
+  private void doWriteShared(final long id, final ComicVineCacheEntry<T> entry) {
+    final ComicVineSharedCache shared = this.sharedCache;
+    if (shared != null) shared.put(this.name, id, this.doEncode(entry));
+  }
+
+  private void doInvalidated(final String region, final long id) {
+    if (!this.name.equals(region)) return;
+    synchronized (this) {
+      this.doRemove(id);
+    }
+  }
+
+  private void doRemove(final long id) {
+    log.trace("Invalidating record: region={} id={}", this.name, id);
+    this.entries.remove(id);
+    if (this.offHeapStore != null) this.offHeapStore.remove(id);
+  }
+
+  private void doPutEntry(
+      final long id, final ComicVineCacheEntry<T> entry, final boolean writeThrough) {
+    this.entries.put(id, entry);
+    if (writeThrough && this.offHeapStore != null) this.offHeapStore.put(id, this.doEncode(entry));
+    this.doEvictOverflow();
+  }
+
+  private long doGetExpires() {
+    final long now = System.currentTimeMillis();
+    return this.timeToLive < Long.MAX_VALUE - now ? now + this.timeToLive : Long.MAX_VALUE;
+  }
+
+  private void doEvictOverflow() {
+    final Iterator<Long> oldest = this.entries.keySet().iterator();
+    while (this.entries.size() > this.maximumEntries && oldest.hasNext()) {
+      final Long evicted = oldest.next();
+      log.trace("Evicting record: region={} id={}", this.name, evicted);
+      oldest.remove();
+    }
+  }
+
+  private byte[] doEncode(final ComicVineCacheEntry<T> entry) {
+    final ByteArrayOutputStream result = new ByteArrayOutputStream();
+    try (DataOutputStream output = new DataOutputStream(result)) {
+      output.writeLong(entry.getExpires());
+      doWriteOptional(output, entry.getEtag());
+      doWriteOptional(output, entry.getLastModified());
+      output.write(ComicVineObjectMapper.getMapper().writeValueAsBytes(entry.getValue()));
+    } catch (IOException error) {
+      throw new IllegalStateException("Failed to serialize cached record", error);
+    }
+    return result.toByteArray();
+  }
+
+  private ComicVineCacheEntry<T> doDecode(final long id, final byte[] data) {
+    final ByteArrayInputStream bytes = new ByteArrayInputStream(data);
+    try (DataInputStream input = new DataInputStream(bytes)) {
+      final long expires = input.readLong();
+      final String etag = doReadOptional(input);
+      final String lastModified = doReadOptional(input);
+      final int offset = data.length - bytes.available();
+      final T value =
+          ComicVineObjectMapper.getReader(this.recordType)
+              .readValue(data, offset, data.length - offset);
+      return new ComicVineCacheEntry<>(value, expires, etag, lastModified);
+    } catch (IOException error) {
+      log.error("Failed to read cached record: region=" + this.name + " id=" + id, error);
+      return null;
+    }
+  }
+
+  private static void doWriteOptional(final DataOutputStream output, final String value)
+      throws IOException {
+    output.writeBoolean(value != null);
+    if (value != null) output.writeUTF(value);
+  }
+
+  private static String doReadOptional(final DataInputStream input) throws IOException {
+    return input.readBoolean() ? input.readUTF() : null;
+  }
+
+  /**
+   * Returns the number of lookups that found a record.
+   *
+   * @return the hit count
+   */
+  public long getHits() {
+    return this.hits.get();
+  }
+
+  /**
+   * Returns the number of lookups that did not find a record.
+   *
+   * @return the miss count
+   */
+  public long getMisses() {
+    return this.misses.get();
+  }
+
+  /**
+   * Returns the number of conditional requests sent for stale records.
+   *
+   * @return the revalidation count
+   */
+  public long getRevalidations() {
+    return this.revalidations.get();
+  }
+
+  /**
+   * Returns the number of stale records that ComicVine reported as not modified.
+   *
+   * @return the revalidation hit count
+   */
+  public long getRevalidationHits() {
+    return this.revalidationHits.get();
+  }
+
+  /**
+   * Returns the share of conditional requests that did not need to download the record again.
+   *
+   * @return the revalidation hit rate, from 0.0 to 1.0
+   */
+  public double getRevalidationHitRate() {
+    final long total = this.revalidations.get();
+    return total == 0L ? 0.0 : (double) this.revalidationHits.get() / total;
+  }
+}
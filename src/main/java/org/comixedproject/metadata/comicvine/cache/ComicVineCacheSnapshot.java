@@ -0,0 +1,229 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineCacheSnapshot</code> writes the issue, volume and publisher records held by a
+ * {@link ComicVineMetadataCache} to a snapshot file, and loads them back, so that a new node starts
+ * with a warm cache.
+ *
+ * <p>The snapshot is a zip file. A manifest entry holds the format version, and each region's
+ * records are split into compressed shards of at most {@link #SHARD_SIZE} records. Records are
+ * written and read one at a time, so a snapshot never has to fit in the heap, and the shards are
+ * loaded in parallel. Each record keeps its expiry time and validators.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineCacheSnapshot {
+  /** The snapshot format version. */
+  public static final int FORMAT_VERSION = 1;
+
+  /** The maximum number of records in a shard. */
+  public static final int SHARD_SIZE = 5000;
+
+  static final String MANIFEST_ENTRY = "manifest";
+  static final int MAGIC = 0x43565348;
+
+  /**
+   * Writes a snapshot. The file is only replaced once the snapshot is complete.
+   *
+   * @param cache the cache
+   * @param file the snapshot file
+   * @return the number of records written
+   * @throws IOException if the snapshot could not be written
+   */
+  public int write(final ComicVineMetadataCache cache, final Path file) throws IOException {
+    log.info("Writing ComicVine cache snapshot: {}", file);
+    final long started = System.currentTimeMillis();
+    final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    int result = 0;
+    try (ZipOutputStream output =
+        new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+      final DataOutputStream data = new DataOutputStream(output);
+      output.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+      data.writeInt(MAGIC);
+      data.writeInt(FORMAT_VERSION);
+      data.writeLong(System.currentTimeMillis());
+      output.closeEntry();
+      for (ComicVineCacheRegion<?> region : doGetRegions(cache))
+        result += doWriteRegion(output, data, region);
+    } catch (IOException | UncheckedIOException error) {
+      Files.deleteIfExists(temporary);
+      if (error instanceof UncheckedIOException unchecked) throw unchecked.getCause();
+      throw error;
+    }
+    Files.move(
+        temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    log.info(
+        "Wrote {} records to ComicVine cache snapshot in {}ms",
+        result,
+        System.currentTimeMillis() - started);
+    return result;
+  }
+
+  /**
+   * Loads a snapshot into the cache.
+   *
+   * @param cache the cache
+   * @param file the snapshot file
+   * @return the number of records loaded
+   * @throws IOException if the snapshot could not be read
+   */
+  public int read(final ComicVineMetadataCache cache, final Path file) throws IOException {
+    log.info("Loading ComicVine cache snapshot: {}", file);
+    final long started = System.currentTimeMillis();
+    int result = 0;
+    try (ZipFile zip = new ZipFile(file.toFile())) {
+      doReadManifest(zip, file);
+      final List<Callable<Integer>> tasks = new ArrayList<>();
+      final Enumeration<? extends ZipEntry> entries = zip.entries();
+      while (entries.hasMoreElements()) {
+        final ZipEntry entry = entries.nextElement();
+        final ComicVineCacheRegion<?> region = doFindRegion(cache, entry.getName());
+        if (region != null) tasks.add(() -> doReadShard(zip, entry, region));
+      }
+
+      final int threads =
+          Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+      final ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        for (Future<Integer> task : executor.invokeAll(tasks)) result += task.get();
+      } catch (InterruptedException error) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while loading ComicVine cache snapshot", error);
+      } catch (ExecutionException error) {
+        if (error.getCause() instanceof IOException ioError) throw ioError;
+        throw new IOException("Failed to load ComicVine cache snapshot", error.getCause());
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+    log.info(
+        "Loaded {} records from ComicVine cache snapshot in {}ms",
+        result,
+        System.currentTimeMillis() - started);
+    return result;
+  }
+
+  private static List<ComicVineCacheRegion<?>> doGetRegions(final ComicVineMetadataCache cache) {
+    return List.of(cache.getIssues(), cache.getVolumes(), cache.getPublishers());
+  }
+
+  private static ComicVineCacheRegion<?> doFindRegion(
+      final ComicVineMetadataCache cache, final String entryName) {
+    final int separator = entryName.indexOf('/');
+    if (separator < 0) return null;
+    final String name = entryName.substring(0, separator);
+    for (ComicVineCacheRegion<?> region : doGetRegions(cache))
+      if (region.getName().equals(name)) return region;
+    log.debug("Ignoring snapshot entry: {}", entryName);
+    return null;
+  }
+
+  private static int doWriteRegion(
+      final ZipOutputStream output,
+      final DataOutputStream data,
+      final ComicVineCacheRegion<?> region) {
+    final AtomicInteger count = new AtomicInteger();
+    region.forEachSerialized(
+        (id, record) -> {
+          try {
+            if (count.get() % SHARD_SIZE == 0) {
+              if (count.get() > 0) doCloseShard(output, data);
+              output.putNextEntry(
+                  new ZipEntry(
+                      String.format("%s/%05d", region.getName(), count.get() / SHARD_SIZE)));
+            }
+            data.writeBoolean(true);
+            data.writeLong(id);
+            data.writeInt(record.length);
+            data.write(record);
+            count.incrementAndGet();
+          } catch (IOException error) {
+            throw new UncheckedIOException(error);
+          }
+        });
+    try {
+      if (count.get() > 0) doCloseShard(output, data);
+    } catch (IOException error) {
+      throw new UncheckedIOException(error);
+    }
+    log.debug("Wrote {} records: region={}", count.get(), region.getName());
+    return count.get();
+  }
+
+  private static void doCloseShard(final ZipOutputStream output, final DataOutputStream data)
+      throws IOException {
+    data.writeBoolean(false);
+    output.closeEntry();
+  }
+
+  private static void doReadManifest(final ZipFile zip, final Path file) throws IOException {
+    final ZipEntry entry = zip.getEntry(MANIFEST_ENTRY);
+    if (entry == null) throw new IOException("Not a ComicVine cache snapshot: " + file);
+    try (DataInputStream input = new DataInputStream(zip.getInputStream(entry))) {
+      if (input.readInt() != MAGIC)
+        throw new IOException("Not a ComicVine cache snapshot: " + file);
+      final int version = input.readInt();
+      if (version != FORMAT_VERSION)
+        throw new IOException("Unsupported ComicVine cache snapshot version: " + version);
+      log.debug("Snapshot written at {}", input.readLong());
+    }
+  }
+
+  private static int doReadShard(
+      final ZipFile zip, final ZipEntry entry, final ComicVineCacheRegion<?> region)
+      throws IOException {
+    int result = 0;
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(zip.getInputStream(entry)))) {
+      while (input.readBoolean()) {
+        final long id = input.readLong();
+        final byte[] record = new byte[input.readInt()];
+        input.readFully(record);
+        if (region.putSerialized(id, record)) result++;
+      }
+    }
+    log.debug("Loaded {} records: entry={}", result, entry.getName());
+    return result;
+  }
+}
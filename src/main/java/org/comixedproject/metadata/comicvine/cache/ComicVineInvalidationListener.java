@@ -0,0 +1,35 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.cache;
+
+/**
+ * <code>ComicVineInvalidationListener</code> is told when a record is removed from a {@link
+ * ComicVineSharedCache}.
+ *
+ * @author Darryl L. Pierce
+ */
+@FunctionalInterface
+public interface ComicVineInvalidationListener {
+  /**
+   * Called when a record is invalidated.
+   *
+   * @param region the region name
+   * @param id the record id
+   */
+  void invalidated(String region, long id);
+}
@@ -0,0 +1,77 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineLocalSharedCache</code> holds the shared records in memory and delivers
+ * invalidation messages directly to its listeners. It stands in for a network cache when every node
+ * runs in the same process, such as in tests.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineLocalSharedCache implements ComicVineSharedCache {
+  private final Map<String, byte[]> records = new ConcurrentHashMap<>();
+  private final List<ComicVineInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+  @Override
+  public byte[] get(final String region, final long id) {
+    return this.records.get(doGetKey(region, id));
+  }
+
+  @Override
+  public void put(final String region, final long id, final byte[] record) {
+    this.records.put(doGetKey(region, id), record);
+  }
+
+  @Override
+  public void invalidate(final String region, final long id) {
+    log.trace("Broadcasting invalidation: region={} id={}", region, id);
+    this.records.remove(doGetKey(region, id));
+    this.listeners.forEach(listener -> listener.invalidated(region, id));
+  }
+
+  @Override
+  public void addListener(final ComicVineInvalidationListener listener) {
+    this.listeners.add(listener);
+  }
+
+  @Override
+  public void removeListener(final ComicVineInvalidationListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * Returns the number of records held.
+   *
+   * @return the size
+   */
+  public int size() {
+    return this.records.size();
+  }
+
+  private static String doGetKey(final String region, final long id) {
+    return region + ":" + id;
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.cache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVinePublisher;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+
+/**
+ * <code>ComicVineMetadataCache</code> holds the ComicVine records that are shared between many
+ * scrapes, so they are only fetched once while they remain fresh.
+ *
+ * <p>The issue, volume and publisher records can be kept in off-heap stores, so a large cache adds
+ * little to the heap, and can share a second level cache with other nodes.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineMetadataCache {
+  static final Pattern DETAIL_URL_PATTERN = Pattern.compile("^.*/\\d+-(\\d+)/?$");
+
+  /** The default time to live for cached records. */
+  public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.HOURS.toMillis(24L);
+
+  /** The default maximum number of cached volumes. */
+  public static final int DEFAULT_MAXIMUM_VOLUMES = 5000;
+
+  /** The default maximum number of cached publishers. */
+  public static final int DEFAULT_MAXIMUM_PUBLISHERS = 1000;
+
+  /** The default maximum number of cached issues. */
+  public static final int DEFAULT_MAXIMUM_ISSUES = 10000;
+
+  /** The default maximum number of volumes in the search index. */
+  public static final int DEFAULT_MAXIMUM_INDEXED_VOLUMES = 50000;
+
+  /** The default maximum number of cached story arcs. */
+  public static final int DEFAULT_MAXIMUM_STORY_ARCS = 500;
+
+  /** The default time to live for lookups that found nothing. */
+  public static final long DEFAULT_NEGATIVE_TIME_TO_LIVE = TimeUnit.HOURS.toMillis(1L);
+
+  /** The default maximum number of lookups that found nothing. */
+  public static final int DEFAULT_MAXIMUM_NEGATIVE_ENTRIES = 10000;
+
+  /** The number of issues kept on the heap when the cache has an off-heap store. */
+  public static final int DEFAULT_HOT_ISSUES = 1000;
+
+  /** The number of volumes kept on the heap when the cache has an off-heap store. */
+  public static final int DEFAULT_HOT_VOLUMES = 500;
+
+  /** The number of publishers kept on the heap when the cache has an off-heap store. */
+  public static final int DEFAULT_HOT_PUBLISHERS = 100;
+
+  @Getter
+  private final ComicVineCacheRegion<ComicVineVolume> volumes =
+      new ComicVineCacheRegion<>(
+          "volumes", DEFAULT_MAXIMUM_VOLUMES, DEFAULT_TIME_TO_LIVE, ComicVineVolume.class);
+
+  @Getter
+  private final ComicVineCacheRegion<ComicVineIssue> issues =
+      new ComicVineCacheRegion<>(
+          "issues", DEFAULT_MAXIMUM_ISSUES, DEFAULT_TIME_TO_LIVE, ComicVineIssue.class);
+
+  @Getter
+  private final ComicVineCacheRegion<ComicVinePublisher> publishers =
+      new ComicVineCacheRegion<>(
+          "publishers", DEFAULT_MAXIMUM_PUBLISHERS, DEFAULT_TIME_TO_LIVE, ComicVinePublisher.class);
+
+  // story arcs are only a baseline for finding changed issues, so they never expire
+  @Getter
+  private final ComicVineCacheRegion<ComicVineStoryArc> storyArcs =
+      new ComicVineCacheRegion<>("story-arcs", DEFAULT_MAXIMUM_STORY_ARCS, Long.MAX_VALUE);
+
+  @Getter
+  private final ComicVineVolumeIndex volumeIndex =
+      new ComicVineVolumeIndex(DEFAULT_MAXIMUM_INDEXED_VOLUMES, DEFAULT_TIME_TO_LIVE);
+
+  @Getter
+  private final ComicVineNegativeCache emptyResults =
+      new ComicVineNegativeCache(DEFAULT_MAXIMUM_NEGATIVE_ENTRIES, DEFAULT_NEGATIVE_TIME_TO_LIVE);
+
+  @Getter private volatile long offHeapCapacity = 0L;
+  @Getter private Path snapshotFile;
+
+  /**
+   * Returns the record id embedded in a ComicVine API detail URL, such as <code>
+   * https://comicvine.gamespot.com/api/volume/4050-18005/</code>.
+   *
+   * @param detailUrl the detail URL
+   * @return the record id, or null if the URL does not contain one
+   */
+  public static Long getDetailId(final String detailUrl) {
+    if (detailUrl == null) return null;
+    final Matcher matcher = DETAIL_URL_PATTERN.matcher(detailUrl);
+    return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+  }
+
+  /**
+   * Moves the issue, volume and publisher records to off-heap stores of the given total size,
+   * keeping only the most recently used records on the heap. A size of 0 keeps every record on the
+   * heap. Changing the size moves the records already held to the new stores.
+   *
+   * @param capacity the total size, in bytes
+   */
+  public synchronized void setOffHeapCapacity(final long capacity) {
+    if (capacity == this.offHeapCapacity) return;
+    log.debug("Setting off-heap cache capacity: {} bytes", capacity);
+    this.offHeapCapacity = capacity;
+    if (capacity <= 0L) {
+      // grow the heap before the stores move their records back onto it
+      this.issues.setMaximumEntries(DEFAULT_MAXIMUM_ISSUES);
+      this.issues.setOffHeapStore(null, ComicVineIssue.class);
+      this.volumes.setMaximumEntries(DEFAULT_MAXIMUM_VOLUMES);
+      this.volumes.setOffHeapStore(null, ComicVineVolume.class);
+      this.publishers.setMaximumEntries(DEFAULT_MAXIMUM_PUBLISHERS);
+      this.publishers.setOffHeapStore(null, ComicVinePublisher.class);
+      return;
+    }
+    // issues are the most numerous records, publishers the fewest; the stores take the records
+    // before the heap shrinks
+    this.issues.setOffHeapStore(doCreateStore(capacity * 6 / 10), ComicVineIssue.class);
+    this.issues.setMaximumEntries(DEFAULT_HOT_ISSUES);
+    this.volumes.setOffHeapStore(doCreateStore(capacity * 3 / 10), ComicVineVolume.class);
+    this.volumes.setMaximumEntries(DEFAULT_HOT_VOLUMES);
+    this.publishers.setOffHeapStore(doCreateStore(capacity / 10), ComicVinePublisher.class);
+    this.publishers.setMaximumEntries(DEFAULT_HOT_PUBLISHERS);
+  }
+
+  /**
+   * Places the issue, volume and publisher records in front of a cache shared with other nodes, or
+   * removes the shared cache.
+   *
+   * @param sharedCache the shared cache, or null
+   */
+  public void setSharedCache(final ComicVineSharedCache sharedCache) {
+    this.issues.setSharedCache(sharedCache, ComicVineIssue.class);
+    this.volumes.setSharedCache(sharedCache, ComicVineVolume.class);
+    this.publishers.setSharedCache(sharedCache, ComicVinePublisher.class);
+  }
+
+  /**
+   * Writes the issue, volume and publisher records to a snapshot file.
+   *
+   * @param file the snapshot file
+   * @return the number of records written
+   * @throws IOException if the snapshot could not be written
+   */
+  public int exportSnapshot(final Path file) throws IOException {
+    return new ComicVineCacheSnapshot().write(this, file);
+  }
+
+  /**
+   * Loads a snapshot file, unless it has already been loaded. A snapshot that fails to load is not
+   * tried again.
+   *
+   * @param file the snapshot file
+   * @return the number of records loaded
+   * @throws IOException if the snapshot could not be read
+   */
+  public synchronized int importSnapshot(final Path file) throws IOException {
+    final Path key = file.toAbsolutePath().normalize();
+    if (key.equals(this.snapshotFile)) return 0;
+    this.snapshotFile = key;
+    return new ComicVineCacheSnapshot().read(this, key);
+  }
+
+  private static ComicVineOffHeapStore doCreateStore(final long capacity) {
+    return new ComicVineOffHeapStore((int) Math.min(capacity, Integer.MAX_VALUE));
+  }
+
+  /** Removes every cached record. */
+  public void clear() {
+    this.volumes.clear();
+    this.issues.clear();
+    this.publishers.clear();
+    this.storyArcs.clear();
+    this.volumeIndex.clear();
+    this.emptyResults.clear();
+  }
+}
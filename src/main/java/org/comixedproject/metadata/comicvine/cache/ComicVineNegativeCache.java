@@ -0,0 +1,176 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineNegativeCache</code> remembers lookups that ComicVine answered with no results, so
+ * they are not repeated until the entry expires. Entries live for a much shorter time than cached
+ * records, since a missing issue may be added to ComicVine at any time.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineNegativeCache {
+  private static final String ISSUE_PREFIX = "issue:";
+  private static final String SEARCH_PREFIX = "search:";
+
+  private final Map<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong recorded = new AtomicLong();
+
+  @Getter @Setter private int maximumEntries;
+  @Getter @Setter private long timeToLive;
+
+  /**
+   * Creates a cache.
+   *
+   * @param maximumEntries the maximum number of entries
+   * @param timeToLive the time to live, in milliseconds
+   */
+  public ComicVineNegativeCache(final int maximumEntries, final long timeToLive) {
+    this.maximumEntries = maximumEntries;
+    this.timeToLive = timeToLive;
+  }
+
+  /**
+   * Returns the key for an issue lookup.
+   *
+   * @param volumeId the volume id
+   * @param issueNumber the issue number
+   * @return the key
+   */
+  public static String getIssueKey(final String volumeId, final String issueNumber) {
+    return ISSUE_PREFIX
+        + volumeId
+        + ":"
+        + String.valueOf(issueNumber).trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Returns the key for a volume search.
+   *
+   * @param seriesName the search term
+   * @return the key
+   */
+  public static String getSearchKey(final String seriesName) {
+    return SEARCH_PREFIX
+        + String.valueOf(seriesName).trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Returns if the lookup is already known to have no results.
+   *
+   * @param key the lookup key
+   * @return true if the lookup can be skipped
+   */
+  public synchronized boolean isKnownMiss(final String key) {
+    final Long expires = this.entries.get(key);
+    if (expires == null || System.currentTimeMillis() >= expires) {
+      if (expires != null) this.entries.remove(key);
+      this.misses.incrementAndGet();
+      return false;
+    }
+    log.trace("Skipping lookup known to have no results: {}", key);
+    this.hits.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Records a lookup that returned no results.
+   *
+   * @param key the lookup key
+   */
+  public synchronized void recordMiss(final String key) {
+    log.trace("Recording lookup with no results: {}", key);
+    this.recorded.incrementAndGet();
+    this.entries.put(key, System.currentTimeMillis() + this.timeToLive);
+    final Iterator<String> oldest = this.entries.keySet().iterator();
+    while (this.entries.size() > this.maximumEntries && oldest.hasNext()) {
+      oldest.next();
+      oldest.remove();
+    }
+  }
+
+  /**
+   * Forgets the issue lookups for a volume.
+   *
+   * @param volumeId the volume id
+   */
+  public synchronized void invalidateVolume(final String volumeId) {
+    final String prefix = ISSUE_PREFIX + volumeId + ":";
+    this.entries.keySet().removeIf(key -> key.startsWith(prefix));
+  }
+
+  /** Forgets every volume search. */
+  public synchronized void invalidateSearches() {
+    this.entries.keySet().removeIf(key -> key.startsWith(SEARCH_PREFIX));
+  }
+
+  /** Removes every entry. */
+  public synchronized void clear() {
+    log.debug("Clearing negative cache");
+    this.entries.clear();
+  }
+
+  /**
+   * Returns the number of entries held.
+   *
+   * @return the size
+   */
+  public synchronized int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * Returns the number of lookups skipped because they were known to have no results.
+   *
+   * @return the hit count
+   */
+  public long getHits() {
+    return this.hits.get();
+  }
+
+  /**
+   * Returns the number of lookups that had to be sent to ComicVine.
+   *
+   * @return the miss count
+   */
+  public long getMisses() {
+    return this.misses.get();
+  }
+
+  /**
+   * Returns the number of lookups recorded as having no results.
+   *
+   * @return the recorded count
+   */
+  public long getRecorded() {
+    return this.recorded.get();
+  }
+}
@@ -0,0 +1,237 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineOffHeapStore</code> keeps serialized records, keyed by their numeric id, in a
+ * direct buffer outside of the Java heap.
+ *
+ * <p>Records are appended to the buffer as a circular log. When there is no room for a new record
+ * the oldest records are dropped, so the store never grows past its capacity. The index from id to
+ * position uses primitive arrays, so the heap cost is a few bytes per record no matter how large
+ * the records are.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineOffHeapStore {
+  private static final int HEADER_SIZE = Long.BYTES + Integer.BYTES;
+  private static final int INITIAL_INDEX_SIZE = 1024;
+  private static final int EMPTY = -1;
+
+  private final ByteBuffer buffer;
+  @Getter private final int capacity;
+
+  private long[] keys = new long[INITIAL_INDEX_SIZE];
+  private int[] positions = new int[INITIAL_INDEX_SIZE];
+  private int size = 0;
+
+  private int head = 0;
+  private int tail = 0;
+  private int limit;
+  private int records = 0;
+
+  /**
+   * Creates a store.
+   *
+   * @param capacity the size of the buffer, in bytes
+   */
+  public ComicVineOffHeapStore(final int capacity) {
+    this.capacity = capacity;
+    this.limit = capacity;
+    this.buffer = ByteBuffer.allocateDirect(capacity);
+    Arrays.fill(this.positions, EMPTY);
+  }
+
+  /**
+   * Returns the record with the given id.
+   *
+   * @param id the record id
+   * @return the serialized record, or null if it is not held
+   */
+  public synchronized byte[] get(final long id) {
+    final int slot = this.doFindSlot(id);
+    if (this.positions[slot] == EMPTY) return null;
+    final int position = this.positions[slot];
+    final byte[] result = new byte[this.buffer.getInt(position + Long.BYTES)];
+    this.buffer.get(position + HEADER_SIZE, result);
+    return result;
+  }
+
+  /**
+   * Stores a record, dropping the oldest records if there is no room for it.
+   *
+   * @param id the record id
+   * @param record the serialized record
+   * @return false if the record is larger than the store
+   */
+  public synchronized boolean put(final long id, final byte[] record) {
+    final int needed = HEADER_SIZE + record.length;
+    if (needed > this.capacity) {
+      log.debug("Record too large for off-heap store: id={} size={}", id, record.length);
+      this.remove(id);
+      return false;
+    }
+
+    this.doMakeRoom(needed);
+    final int position = this.head;
+    this.buffer.putLong(position, id);
+    this.buffer.putInt(position + Long.BYTES, record.length);
+    this.buffer.put(position + HEADER_SIZE, record);
+    this.head += needed;
+    this.records++;
+
+    final int slot = this.doFindSlot(id);
+    if (this.positions[slot] == EMPTY) {
+      this.keys[slot] = id;
+      this.size++;
+    }
+    this.positions[slot] = position;
+    if (this.size * 2 > this.keys.length) this.doResizeIndex();
+    return true;
+  }
+
+  /**
+   * Removes a record. Its space is reclaimed once the log wraps around to it.
+   *
+   * @param id the record id
+   */
+  public synchronized void remove(final long id) {
+    final int slot = this.doFindSlot(id);
+    if (this.positions[slot] != EMPTY) this.doDeleteSlot(slot);
+  }
+
+  /**
+   * Passes every record to the given consumer.
+   *
+   * @param consumer the consumer
+   */
+  public synchronized void forEach(final BiConsumer<Long, byte[]> consumer) {
+    for (int slot = 0; slot < this.keys.length; slot++) {
+      if (this.positions[slot] != EMPTY)
+        consumer.accept(this.keys[slot], this.get(this.keys[slot]));
+    }
+  }
+
+  /** Removes every record. */
+  public synchronized void clear() {
+    Arrays.fill(this.positions, EMPTY);
+    this.size = 0;
+    this.head = 0;
+    this.tail = 0;
+    this.limit = this.capacity;
+    this.records = 0;
+  }
+
+  /**
+   * Returns the number of records held.
+   *
+   * @return the size
+   */
+  public synchronized int size() {
+    return this.size;
+  }
+
+  private void doMakeRoom(final int needed) {
+    while (true) {
+      if (this.records == 0) {
+        this.head = 0;
+        this.tail = 0;
+        this.limit = this.capacity;
+        return;
+      }
+      if (this.tail < this.head) {
+        if (this.capacity - this.head >= needed) return;
+        // no room at the end, so the log continues from the start of the buffer
+        this.limit = this.head;
+        this.head = 0;
+      } else {
+        if (this.tail - this.head >= needed) return;
+        this.doDropOldest();
+      }
+    }
+  }
+
+  private void doDropOldest() {
+    final long id = this.buffer.getLong(this.tail);
+    final int length = this.buffer.getInt(this.tail + Long.BYTES);
+    final int slot = this.doFindSlot(id);
+    if (this.positions[slot] == this.tail) {
+      log.trace("Evicting off-heap record: id={}", id);
+      this.doDeleteSlot(slot);
+    }
+    this.tail += HEADER_SIZE + length;
+    this.records--;
+    if (this.tail >= this.limit) {
+      this.tail = 0;
+      this.limit = this.capacity;
+    }
+  }
+
+  private int doFindSlot(final long id) {
+    final int mask = this.keys.length - 1;
+    int slot = doHash(id) & mask;
+    while (this.positions[slot] != EMPTY && this.keys[slot] != id) slot = (slot + 1) & mask;
+    return slot;
+  }
+
+  private void doDeleteSlot(final int slot) {
+    // shift the following entries back so that lookups never stop at the emptied slot
+    final int mask = this.keys.length - 1;
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (this.positions[next] != EMPTY) {
+      final int home = doHash(this.keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        this.keys[hole] = this.keys[next];
+        this.positions[hole] = this.positions[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    this.positions[hole] = EMPTY;
+    this.size--;
+  }
+
+  private void doResizeIndex() {
+    final long[] oldKeys = this.keys;
+    final int[] oldPositions = this.positions;
+    this.keys = new long[oldKeys.length * 2];
+    this.positions = new int[oldPositions.length * 2];
+    Arrays.fill(this.positions, EMPTY);
+    for (int index = 0; index < oldKeys.length; index++) {
+      if (oldPositions[index] != EMPTY) {
+        final int slot = this.doFindSlot(oldKeys[index]);
+        this.keys[slot] = oldKeys[index];
+        this.positions[slot] = oldPositions[index];
+      }
+    }
+  }
+
+  private static int doHash(final long id) {
+    final long mixed = id * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+}
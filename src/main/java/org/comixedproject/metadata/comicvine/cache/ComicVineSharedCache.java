@@ -0,0 +1,69 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.cache;
+
+/**
+ * <code>ComicVineSharedCache</code> defines a second level cache shared by every node, so a record
+ * fetched by one node can be served to all of them.
+ *
+ * <p>Records are stored serialized, by region and id. Removing a record sends an invalidation
+ * message to every node, so that each one drops its own copy.
+ *
+ * @author Darryl L. Pierce
+ */
+public interface ComicVineSharedCache {
+  /**
+   * Returns a record.
+   *
+   * @param region the region name
+   * @param id the record id
+   * @return the serialized record, or null if it is not held
+   */
+  byte[] get(String region, long id);
+
+  /**
+   * Stores a record.
+   *
+   * @param region the region name
+   * @param id the record id
+   * @param record the serialized record
+   */
+  void put(String region, long id, byte[] record);
+
+  /**
+   * Removes a record and tells every node to drop its copy.
+   *
+   * @param region the region name
+   * @param id the record id
+   */
+  void invalidate(String region, long id);
+
+  /**
+   * Registers a listener for invalidation messages.
+   *
+   * @param listener the listener
+   */
+  void addListener(ComicVineInvalidationListener listener);
+
+  /**
+   * Removes a listener.
+   *
+   * @param listener the listener
+   */
+  void removeListener(ComicVineInvalidationListener listener);
+}
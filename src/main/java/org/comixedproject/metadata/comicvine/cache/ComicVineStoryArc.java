@@ -0,0 +1,106 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.comixedproject.metadata.model.StoryIssueMetadata;
+
+/**
+ * <code>ComicVineStoryArc</code> holds the issues of a story arc that were already scraped, so that
+ * refreshing the arc only scrapes the issues that were added or changed since.
+ *
+ * <p>Each issue is kept with the name it had in the arc's issue list and the version of its cached
+ * record, which is the time that record expires. An issue whose listed name no longer matches, or
+ * whose record was stored again since, is treated as changed.
+ *
+ * @author Darryl L. Pierce
+ */
+public class ComicVineStoryArc {
+  private final Map<String, Entry> issues = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the scraped issue, if it has not changed.
+   *
+   * @param issueId the issue id
+   * @param listedName the issue name in the arc's issue list
+   * @param recordVersion the version of the issue's cached record, or 0 if none is cached
+   * @return the issue, or null if it needs to be scraped
+   */
+  public StoryIssueMetadata getIssue(
+      final String issueId, final String listedName, final long recordVersion) {
+    final Entry entry = this.issues.get(issueId);
+    if (entry == null || !Objects.equals(entry.listedName, listedName)) return null;
+    if (recordVersion > entry.recordVersion) return null;
+    return entry.issue;
+  }
+
+  /**
+   * Stores a scraped issue.
+   *
+   * @param issueId the issue id
+   * @param listedName the issue name in the arc's issue list
+   * @param recordVersion the version of the issue's cached record, or 0 if none is cached
+   * @param issue the issue
+   */
+  public void putIssue(
+      final String issueId,
+      final String listedName,
+      final long recordVersion,
+      final StoryIssueMetadata issue) {
+    this.issues.put(issueId, new Entry(listedName, recordVersion, issue));
+  }
+
+  /**
+   * Forgets the given issues, so they are scraped again on the next refresh.
+   *
+   * @param issueIds the issue ids
+   */
+  public void invalidateIssues(final Collection<String> issueIds) {
+    this.issues.keySet().removeAll(issueIds);
+  }
+
+  /**
+   * Forgets every issue that is no longer part of the arc.
+   *
+   * @param issueIds the ids of the issues in the arc
+   */
+  public void retainIssues(final Collection<String> issueIds) {
+    this.issues.keySet().retainAll(issueIds);
+  }
+
+  /**
+   * Returns the number of issues held.
+   *
+   * @return the size
+   */
+  public int size() {
+    return this.issues.size();
+  }
+
+  @RequiredArgsConstructor
+  private static class Entry {
+    private final String listedName;
+    private final long recordVersion;
+    private final StoryIssueMetadata issue;
+  }
+}
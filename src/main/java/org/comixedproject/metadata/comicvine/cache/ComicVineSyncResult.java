@@ -0,0 +1,37 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.cache;
+
+import java.util.Date;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <code>ComicVineSyncResult</code> describes the records that changed at ComicVine since the last
+ * synchronization. The <code>updatedUntil</code> date is the starting point for the next one.
+ *
+ * @author Darryl L. Pierce
+ */
+@AllArgsConstructor
+public class ComicVineSyncResult {
+  @Getter private final Date updatedUntil;
+  @Getter private final List<String> volumeIds;
+  @Getter private final List<String> issueIds;
+}
@@ -0,0 +1,278 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.model.VolumeMetadata;
+import org.springframework.util.StringUtils;
+
+/**
+ * <code>ComicVineVolumeIndex</code> is a local index of the volumes returned by ComicVine. Each
+ * complete search is recorded with the ids it returned, in the order ComicVine returned them.
+ * Queries are compared by their letters and digits alone, so "Spider-Man", "spider man" and
+ * "spiderman" are the same query.
+ *
+ * <p>A query identical to a recorded search is answered with that search's results. A longer query
+ * starting with a recorded search is answered with the recorded volumes whose names contain it, but
+ * only when there are any, since ComicVine's own matching is looser than a name check and an empty
+ * answer would otherwise be a false miss. The recorded search must also have returned less than a
+ * page of volumes, since ComicVine tokenizes the longer query differently and caps its results, so
+ * a larger result set may leave out volumes it would return for the longer query. Anything else is
+ * left for the caller to search ComicVine and add the results to the index.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineVolumeIndex {
+  /** The number of volumes in a page of ComicVine search results. */
+  public static final int SEARCH_PAGE_SIZE = 100;
+
+  private final Map<String, IndexedVolume> volumes = new LinkedHashMap<>();
+  private final Map<String, RecordedSearch> searches = new HashMap<>();
+
+  @Getter @Setter private int maximumEntries;
+  @Getter @Setter private long timeToLive;
+
+  /**
+   * Creates an index.
+   *
+   * @param maximumEntries the maximum number of volumes
+   * @param timeToLive the time to live, in milliseconds
+   */
+  public ComicVineVolumeIndex(final int maximumEntries, final long timeToLive) {
+    this.maximumEntries = maximumEntries;
+    this.timeToLive = timeToLive;
+  }
+
+  /**
+   * Splits text into lower-case alphanumeric tokens.
+   *
+   * @param text the text
+   * @return the tokens
+   */
+  public static List<String> tokenize(final String text) {
+    if (!StringUtils.hasText(text)) return List.of();
+    return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+        .filter(token -> !token.isEmpty())
+        .toList();
+  }
+
+  /**
+   * Returns the volumes matching the series name, if the index can answer for it.
+   *
+   * @param series the series name
+   * @param maxRecords the maximum number of records, or 0 for all
+   * @return the volumes, or null if ComicVine must be searched
+   */
+  public synchronized List<VolumeMetadata> search(final String series, final int maxRecords) {
+    final String query = doNormalize(series);
+    if (query.isEmpty()) return null;
+
+    final long now = System.currentTimeMillis();
+    this.searches.values().removeIf(search -> search.isExpired(now));
+
+    List<String> ids = null;
+    final RecordedSearch recorded = this.searches.get(query);
+    if (recorded != null) {
+      log.trace("Volume index has search: series={}", series);
+      ids = recorded.getIds();
+    } else {
+      final Entry<String, RecordedSearch> broader =
+          this.searches.entrySet().stream()
+              .filter(entry -> query.startsWith(entry.getKey()))
+              .filter(entry -> entry.getValue().getIds().size() < SEARCH_PAGE_SIZE)
+              .max(Entry.comparingByKey())
+              .orElse(null);
+      if (broader != null) {
+        log.trace("Volume index narrowing search: series={} from={}", series, broader.getKey());
+        ids =
+            broader.getValue().getIds().stream()
+                .filter(id -> this.volumes.get(id).getKey().contains(query))
+                .toList();
+        if (ids.isEmpty()) ids = null;
+      }
+    }
+    if (ids == null) {
+      log.trace("Volume index miss: series={}", series);
+      return null;
+    }
+
+    final List<VolumeMetadata> result = new ArrayList<>();
+    for (String id : ids) {
+      if (maxRecords > 0 && result.size() == maxRecords) break;
+      final IndexedVolume entry = this.volumes.get(id);
+      if (entry.isExpired(now)) {
+        log.trace("Volume index entry is stale: id={}", id);
+        return null;
+      }
+      result.add(doCopy(entry.getVolume()));
+    }
+    log.debug("Volume index hit: series={} volumes={}", series, result.size());
+    return result;
+  }
+
+  /**
+   * Adds the results of a ComicVine search.
+   *
+   * @param series the series name
+   * @param results the volumes returned
+   * @param complete true if every matching volume was returned
+   */
+  public synchronized void addSearch(
+      final String series, final List<VolumeMetadata> results, final boolean complete) {
+    results.forEach(this::doAddVolume);
+    final String query = doNormalize(series);
+    if (complete && !query.isEmpty()) {
+      log.trace("Recording complete volume search: series={}", series);
+      this.searches.put(
+          query,
+          new RecordedSearch(
+              results.stream()
+                  .filter(volume -> volume != null && StringUtils.hasLength(volume.getId()))
+                  .map(VolumeMetadata::getId)
+                  .distinct()
+                  .toList(),
+              System.currentTimeMillis() + this.timeToLive));
+    }
+    this.doTrim();
+  }
+
+  /**
+   * Adds or refreshes a single volume. Values not provided by the volume are kept from any earlier
+   * entry.
+   *
+   * @param volume the volume
+   */
+  public synchronized void addVolume(final VolumeMetadata volume) {
+    this.doAddVolume(volume);
+    this.doTrim();
+  }
+
+  /**
+   * Removes a volume, along with any search whose results included it.
+   *
+   * @param id the volume id
+   */
+  public synchronized void invalidate(final String id) {
+    final IndexedVolume removed = this.volumes.remove(id);
+    if (removed != null) {
+      log.trace("Invalidated indexed volume: id={}", id);
+      this.doForgetSearches(id);
+    }
+  }
+
+  /** Removes every volume and search. */
+  public synchronized void clear() {
+    log.debug("Clearing volume index");
+    this.volumes.clear();
+    this.searches.clear();
+  }
+
+  /**
+   * Returns the number of volumes held.
+   *
+   * @return the size
+   */
+  public synchronized int size() {
+    return this.volumes.size();
+  }
+
+  private static String doNormalize(final String text) {
+    return String.join("", tokenize(text));
+  }
+
+  private void doAddVolume(final VolumeMetadata volume) {
+    if (volume == null || !StringUtils.hasLength(volume.getId())) return;
+    final VolumeMetadata entry = doCopy(volume);
+    final IndexedVolume existing = this.volumes.remove(volume.getId());
+    if (existing != null) {
+      final VolumeMetadata previous = existing.getVolume();
+      if (!StringUtils.hasLength(entry.getName())) entry.setName(previous.getName());
+      if (!StringUtils.hasLength(entry.getPublisher())) entry.setPublisher(previous.getPublisher());
+      if (!StringUtils.hasLength(entry.getStartYear())) entry.setStartYear(previous.getStartYear());
+      if (!StringUtils.hasLength(entry.getImageURL())) entry.setImageURL(previous.getImageURL());
+      if (entry.getIssueCount() == 0) entry.setIssueCount(previous.getIssueCount());
+    }
+    log.trace("Indexing volume: id={} name={}", entry.getId(), entry.getName());
+    this.volumes.put(
+        entry.getId(),
+        new IndexedVolume(
+            entry, doNormalize(entry.getName()), System.currentTimeMillis() + this.timeToLive));
+  }
+
+  private void doTrim() {
+    final Iterator<String> oldest = new ArrayList<>(this.volumes.keySet()).iterator();
+    while (this.volumes.size() > this.maximumEntries && oldest.hasNext()) {
+      final String id = oldest.next();
+      log.trace("Evicting indexed volume: id={}", id);
+      this.volumes.remove(id);
+      this.doForgetSearches(id);
+    }
+  }
+
+  private void doForgetSearches(final String id) {
+    this.searches.values().removeIf(search -> search.getIds().contains(id));
+  }
+
+  private static VolumeMetadata doCopy(final VolumeMetadata source) {
+    final VolumeMetadata result = new VolumeMetadata();
+    result.setId(source.getId());
+    result.setName(source.getName());
+    result.setPublisher(source.getPublisher());
+    result.setStartYear(source.getStartYear());
+    result.setIssueCount(source.getIssueCount());
+    result.setImageURL(source.getImageURL());
+    return result;
+  }
+
+  @AllArgsConstructor
+  @Getter
+  private static class RecordedSearch {
+    private final List<String> ids;
+    private final long expires;
+
+    boolean isExpired(final long now) {
+      return now >= this.expires;
+    }
+  }
+
+  @AllArgsConstructor
+  @Getter
+  private static class IndexedVolume {
+    private final VolumeMetadata volume;
+    private final String key;
+    private final long expires;
+
+    boolean isExpired(final long now) {
+      return now >= this.expires;
+    }
+  }
+}
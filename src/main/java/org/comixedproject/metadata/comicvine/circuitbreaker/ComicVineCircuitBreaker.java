@@ -0,0 +1,176 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.circuitbreaker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineCircuitBreaker</code> stops requests to a ComicVine endpoint family while that
+ * endpoint is failing, so callers fail fast instead of each waiting out a timeout.
+ *
+ * <p>The outcomes of the most recent requests are kept in a sliding window. Once enough requests
+ * have been made, the breaker opens when too many of them failed or were slow. After the open
+ * duration a single probe is let through; if it succeeds the breaker closes, otherwise it opens
+ * again.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineCircuitBreaker {
+  /** The default number of recent requests considered. */
+  public static final int DEFAULT_WINDOW_SIZE = 20;
+
+  /** The default number of requests needed before the breaker can open. */
+  public static final int DEFAULT_MINIMUM_CALLS = 10;
+
+  /** The default share of failed requests that opens the breaker. */
+  public static final double DEFAULT_FAILURE_THRESHOLD = 0.5;
+
+  /** The default share of slow requests that opens the breaker. */
+  public static final double DEFAULT_SLOW_CALL_THRESHOLD = 0.5;
+
+  /** The default duration, in milliseconds, after which a request counts as slow. */
+  public static final long DEFAULT_SLOW_CALL_DURATION = 10000L;
+
+  /** The default time, in milliseconds, the breaker stays open before probing. */
+  public static final long DEFAULT_OPEN_DURATION = 30000L;
+
+  private static final Map<String, ComicVineCircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+  @Getter private final String endpoint;
+  private final boolean[] failed = new boolean[DEFAULT_WINDOW_SIZE];
+  private final boolean[] slow = new boolean[DEFAULT_WINDOW_SIZE];
+  private int recorded = 0;
+  private int next = 0;
+
+  @Getter private ComicVineCircuitState state = ComicVineCircuitState.CLOSED;
+  private long openedAt = 0L;
+  private long probeStartedAt = 0L;
+
+  @Getter @Setter private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+  @Getter @Setter private double failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+  @Getter @Setter private double slowCallThreshold = DEFAULT_SLOW_CALL_THRESHOLD;
+  @Getter @Setter private long slowCallDuration = DEFAULT_SLOW_CALL_DURATION;
+  @Getter @Setter private long openDuration = DEFAULT_OPEN_DURATION;
+
+  /**
+   * Creates a breaker.
+   *
+   * @param endpoint the endpoint family
+   */
+  public ComicVineCircuitBreaker(final String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  /**
+   * Returns the breaker shared by all requests to the given endpoint family.
+   *
+   * @param endpoint the endpoint family
+   * @return the breaker
+   */
+  public static ComicVineCircuitBreaker forEndpoint(final String endpoint) {
+    return BREAKERS.computeIfAbsent(endpoint, ComicVineCircuitBreaker::new);
+  }
+
+  /**
+   * Checks whether a request may be sent. While half-open only one probe is allowed at a time.
+   *
+   * @throws ComicVineCircuitOpenException if the request must not be sent
+   */
+  public synchronized void checkPermitted() throws ComicVineCircuitOpenException {
+    final long now = System.currentTimeMillis();
+    if (this.state == ComicVineCircuitState.OPEN) {
+      final long waited = now - this.openedAt;
+      if (waited < this.openDuration)
+        throw new ComicVineCircuitOpenException(this.endpoint, this.openDuration - waited);
+      log.debug("Probing ComicVine endpoint: {}", this.endpoint);
+      this.state = ComicVineCircuitState.HALF_OPEN;
+      this.probeStartedAt = now;
+    } else if (this.state == ComicVineCircuitState.HALF_OPEN) {
+      // a probe that never reported back no longer blocks the next one
+      final long probing = now - this.probeStartedAt;
+      if (probing < this.openDuration)
+        throw new ComicVineCircuitOpenException(this.endpoint, this.openDuration - probing);
+      this.probeStartedAt = now;
+    }
+  }
+
+  /**
+   * Records a request that completed.
+   *
+   * @param elapsed the request duration, in milliseconds
+   */
+  public synchronized void recordSuccess(final long elapsed) {
+    this.doRecord(false, elapsed);
+  }
+
+  /**
+   * Records a request that failed.
+   *
+   * @param elapsed the request duration, in milliseconds
+   */
+  public synchronized void recordFailure(final long elapsed) {
+    this.doRecord(true, elapsed);
+  }
+
+  /** Closes the breaker and forgets every recorded request. */
+  public synchronized void reset() {
+    this.state = ComicVineCircuitState.CLOSED;
+    this.recorded = 0;
+    this.next = 0;
+  }
+
+  private void doRecord(final boolean failure, final long elapsed) {
+    final boolean slowCall = elapsed >= this.slowCallDuration;
+    if (this.state == ComicVineCircuitState.HALF_OPEN) {
+      if (failure || slowCall) {
+        this.doOpen();
+      } else {
+        log.debug("ComicVine endpoint recovered: {}", this.endpoint);
+        this.reset();
+      }
+    } else if (this.state == ComicVineCircuitState.CLOSED) {
+      this.failed[this.next] = failure;
+      this.slow[this.next] = slowCall;
+      this.next = (this.next + 1) % this.failed.length;
+      this.recorded = Math.min(this.recorded + 1, this.failed.length);
+      if (this.recorded >= this.minimumCalls
+          && (this.doGetRate(this.failed) >= this.failureThreshold
+              || this.doGetRate(this.slow) >= this.slowCallThreshold)) this.doOpen();
+    }
+  }
+
+  private double doGetRate(final boolean[] outcomes) {
+    int count = 0;
+    for (int index = 0; index < this.recorded; index++) {
+      if (outcomes[index]) count++;
+    }
+    return (double) count / this.recorded;
+  }
+
+  private void doOpen() {
+    log.warn("Opening circuit breaker for ComicVine endpoint: {}", this.endpoint);
+    this.state = ComicVineCircuitState.OPEN;
+    this.openedAt = System.currentTimeMillis();
+  }
+}
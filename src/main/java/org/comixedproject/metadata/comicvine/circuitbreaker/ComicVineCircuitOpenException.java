@@ -0,0 +1,48 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.circuitbreaker;
+
+import lombok.Getter;
+import org.comixedproject.metadata.MetadataException;
+
+/**
+ * <code>ComicVineCircuitOpenException</code> is thrown, without contacting ComicVine, when the
+ * circuit breaker for an endpoint is open.
+ *
+ * @author Darryl L. Pierce
+ */
+public class ComicVineCircuitOpenException extends MetadataException {
+  @Getter private final String endpoint;
+  @Getter private final long retryAfter;
+
+  /**
+   * Creates an exception.
+   *
+   * @param endpoint the endpoint
+   * @param retryAfter the time, in milliseconds, until the breaker lets a probe through
+   */
+  public ComicVineCircuitOpenException(final String endpoint, final long retryAfter) {
+    super(
+        String.format(
+            "ComicVine %s requests are failing, retry in %ds",
+            endpoint, (retryAfter + 999) / 1000));
+    this.endpoint = endpoint;
+    this.retryAfter = retryAfter;
+  }
+}
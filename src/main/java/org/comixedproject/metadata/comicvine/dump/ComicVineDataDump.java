@@ -0,0 +1,292 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.dump;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.comicvine.cache.ComicVineVolumeIndex;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVinePublisher;
+import org.comixedproject.metadata.comicvine.model.ComicVineStoryDetailResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+
+/**
+ * <code>ComicVineDataDump</code> holds the records loaded from an offline ComicVine export, so
+ * lookups can be answered without contacting ComicVine.
+ *
+ * <p>Records are kept by their numeric id. Issues are also indexed by volume and issue number, and
+ * volumes by the words in their names. Every index can be updated from many threads at once.
+ *
+ * <p>Exports are imported on a background thread, so lookups made while an export is loading, or
+ * after it failed to load, go to ComicVine.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineDataDump {
+  private static final Map<Path, CompletableFuture<ComicVineDataDump>> DUMPS =
+      new ConcurrentHashMap<>();
+  private static final ExecutorService LOADER =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "comicvine-data-dump");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final Map<Long, ComicVineVolume> volumes = new ConcurrentHashMap<>();
+  private final Map<Long, ComicVineIssue> issues = new ConcurrentHashMap<>();
+  private final Map<Long, ComicVinePublisher> publishers = new ConcurrentHashMap<>();
+  private final Map<Long, ComicVineStoryDetailResponse> storyArcs = new ConcurrentHashMap<>();
+  private final Map<String, Long> issuesByNumber = new ConcurrentHashMap<>();
+  private final Map<String, Set<Long>> volumesByWord = new ConcurrentHashMap<>();
+
+  /**
+   * Starts importing the dump in the given directory on a background thread, unless it has already
+   * been imported or is being imported. A dump that fails to import is not tried again.
+   *
+   * @param directory the export directory
+   * @return the import
+   */
+  public static CompletableFuture<ComicVineDataDump> load(final Path directory) {
+    return DUMPS.computeIfAbsent(
+        directory.toAbsolutePath().normalize(),
+        key ->
+            CompletableFuture.supplyAsync(
+                () -> {
+                  try {
+                    return new ComicVineDataDumpImporter().load(key);
+                  } catch (IOException error) {
+                    log.warn(
+                        "Failed to load ComicVine data dump, lookups will use ComicVine: " + key,
+                        error);
+                    throw new UncheckedIOException(error);
+                  }
+                },
+                LOADER));
+  }
+
+  /**
+   * Returns the dump imported from the given directory, starting the import if needed. Returns null
+   * while the import is running or if it failed, so the lookup is made against ComicVine instead.
+   *
+   * @param directory the export directory
+   * @return the dump, or null
+   */
+  public static ComicVineDataDump forDirectory(final Path directory) {
+    final CompletableFuture<ComicVineDataDump> result = load(directory);
+    if (!result.isDone()) {
+      log.debug("ComicVine data dump is still loading: {}", directory);
+      return null;
+    }
+    return result.isCompletedExceptionally() ? null : result.join();
+  }
+
+  /**
+   * Returns the key for an issue number within a volume.
+   *
+   * @param volumeId the volume id
+   * @param issueNumber the issue number
+   * @return the key
+   */
+  static String getIssueKey(final String volumeId, final String issueNumber) {
+    return volumeId + ":" + String.valueOf(issueNumber).trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Adds a volume.
+   *
+   * @param volume the volume
+   */
+  public void addVolume(final ComicVineVolume volume) {
+    final Long id = doGetId(volume.getId());
+    if (id == null) return;
+    this.volumes.put(id, volume);
+    for (String word : ComicVineVolumeIndex.tokenize(volume.getName()))
+      this.volumesByWord.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet()).add(id);
+  }
+
+  /**
+   * Adds an issue.
+   *
+   * @param issue the issue
+   */
+  public void addIssue(final ComicVineIssue issue) {
+    final Long id = doGetId(issue.getId());
+    if (id == null) return;
+    this.issues.put(id, issue);
+    if (issue.getVolume() != null && issue.getVolume().getId() != null)
+      this.issuesByNumber.put(getIssueKey(issue.getVolume().getId(), issue.getIssueNumber()), id);
+  }
+
+  /**
+   * Adds a publisher.
+   *
+   * @param publisher the publisher
+   */
+  public void addPublisher(final ComicVinePublisher publisher) {
+    if (publisher.getId() != null) this.publishers.put(publisher.getId().longValue(), publisher);
+  }
+
+  /**
+   * Adds a story arc.
+   *
+   * @param storyArc the story arc
+   */
+  public void addStoryArc(final ComicVineStoryDetailResponse storyArc) {
+    final Long id = doGetId(storyArc.getId());
+    if (id != null) this.storyArcs.put(id, storyArc);
+  }
+
+  /**
+   * Returns a volume.
+   *
+   * @param id the volume id
+   * @return the volume, or null if it is not in the dump
+   */
+  public ComicVineVolume getVolume(final long id) {
+    return this.volumes.get(id);
+  }
+
+  /**
+   * Returns an issue.
+   *
+   * @param id the issue id
+   * @return the issue, or null if it is not in the dump
+   */
+  public ComicVineIssue getIssue(final long id) {
+    return this.issues.get(id);
+  }
+
+  /**
+   * Returns a publisher.
+   *
+   * @param id the publisher id
+   * @return the publisher, or null if it is not in the dump
+   */
+  public ComicVinePublisher getPublisher(final long id) {
+    return this.publishers.get(id);
+  }
+
+  /**
+   * Returns a story arc.
+   *
+   * @param id the story arc id
+   * @return the story arc, or null if it is not in the dump
+   */
+  public ComicVineStoryDetailResponse getStoryArc(final long id) {
+    return this.storyArcs.get(id);
+  }
+
+  /**
+   * Returns the issue with the given number in a volume.
+   *
+   * @param volumeId the volume id
+   * @param issueNumber the issue number
+   * @return the issue, or null if it is not in the dump
+   */
+  public ComicVineIssue findIssue(final String volumeId, final String issueNumber) {
+    final Long id = this.issuesByNumber.get(getIssueKey(volumeId, issueNumber));
+    return id != null ? this.issues.get(id) : null;
+  }
+
+  /**
+   * Returns the volumes whose names contain every word of the search term, ordered by id.
+   *
+   * @param series the search term
+   * @param maxRecords the maximum number of volumes, or 0 for all of them
+   * @return the volumes
+   */
+  public List<ComicVineVolume> searchVolumes(final String series, final int maxRecords) {
+    Set<Long> matches = null;
+    for (String word : ComicVineVolumeIndex.tokenize(series)) {
+      final Set<Long> found = this.volumesByWord.getOrDefault(word, Set.of());
+      if (matches == null) matches = new HashSet<>(found);
+      else matches.retainAll(found);
+      if (matches.isEmpty()) break;
+    }
+    if (matches == null) return List.of();
+    final List<Long> ids = new ArrayList<>(matches);
+    ids.sort(Comparator.naturalOrder());
+    final List<ComicVineVolume> result = new ArrayList<>();
+    for (Long id : ids) {
+      if (maxRecords > 0 && result.size() >= maxRecords) break;
+      result.add(this.volumes.get(id));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of volumes held.
+   *
+   * @return the volume count
+   */
+  public int getVolumeCount() {
+    return this.volumes.size();
+  }
+
+  /**
+   * Returns the number of issues held.
+   *
+   * @return the issue count
+   */
+  public int getIssueCount() {
+    return this.issues.size();
+  }
+
+  /**
+   * Returns the number of publishers held.
+   *
+   * @return the publisher count
+   */
+  public int getPublisherCount() {
+    return this.publishers.size();
+  }
+
+  /**
+   * Returns the number of story arcs held.
+   *
+   * @return the story arc count
+   */
+  public int getStoryArcCount() {
+    return this.storyArcs.size();
+  }
+
+  private static Long doGetId(final String id) {
+    try {
+      return id != null ? Long.valueOf(id.trim()) : null;
+    } catch (NumberFormatException error) {
+      log.debug("Ignoring record with invalid id: {}", id);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.dump;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.comicvine.http.ComicVineObjectMapper;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVinePublisher;
+import org.comixedproject.metadata.comicvine.model.ComicVineStoryDetailResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+
+/**
+ * <code>ComicVineDataDumpImporter</code> loads an offline ComicVine export into a {@link
+ * ComicVineDataDump}.
+ *
+ * <p>The export is a directory of JSON files named for the records they hold: <code>publishers
+ * </code>, <code>volumes</code>, <code>issues</code> and <code>story_arcs</code>. Each type may be
+ * split over several files, such as <code>issues-001.json</code>, and any file may be gzipped. A
+ * file holds either an array of records, in the form the ComicVine API returns them, or an API
+ * response whose <code>results</code> are that array.
+ *
+ * <p>Each file is read as a stream, one record at a time, and the files are read in parallel, each
+ * one adding its records to the dump's indexes as it goes.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineDataDumpImporter {
+  static final String PUBLISHERS_PREFIX = "publishers";
+  static final String VOLUMES_PREFIX = "volumes";
+  static final String ISSUES_PREFIX = "issues";
+  static final String STORY_ARCS_PREFIX = "story_arcs";
+
+  private static final String RESULTS_FIELD = "results";
+
+  /**
+   * Loads an export.
+   *
+   * @param directory the export directory
+   * @return the dump
+   * @throws IOException if a file could not be read
+   */
+  public ComicVineDataDump load(final Path directory) throws IOException {
+    if (!Files.isDirectory(directory))
+      throw new IOException("Not a ComicVine data dump directory: " + directory);
+
+    log.info("Importing ComicVine data dump: {}", directory);
+    final long started = System.currentTimeMillis();
+    final ComicVineDataDump result = new ComicVineDataDump();
+    final List<Callable<Integer>> tasks = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.sorted().toList()) {
+        final Callable<Integer> task = this.doCreateTask(file, result);
+        if (task != null) tasks.add(task);
+      }
+    }
+
+    final int threads =
+        Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    int records = 0;
+    try {
+      for (Future<Integer> task : executor.invokeAll(tasks)) records += task.get();
+    } catch (InterruptedException error) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while importing ComicVine data dump", error);
+    } catch (ExecutionException error) {
+      if (error.getCause() instanceof IOException ioError) throw ioError;
+      throw new IOException("Failed to import ComicVine data dump", error.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    log.info(
+        "Imported {} records from {} file{} in {}ms: {} publishers, {} volumes, {} issues, {} story"
+            + " arcs",
+        records,
+        tasks.size(),
+        tasks.size() == 1 ? "" : "s",
+        System.currentTimeMillis() - started,
+        result.getPublisherCount(),
+        result.getVolumeCount(),
+        result.getIssueCount(),
+        result.getStoryArcCount());
+    return result;
+  }
+
+  private Callable<Integer> doCreateTask(final Path file, final ComicVineDataDump dump) {
+    final String name = file.getFileName().toString();
+    if (!name.endsWith(".json") && !name.endsWith(".json.gz")) return null;
+    if (name.startsWith(PUBLISHERS_PREFIX))
+      return () -> doImport(file, ComicVinePublisher.class, dump::addPublisher);
+    if (name.startsWith(VOLUMES_PREFIX))
+      return () -> doImport(file, ComicVineVolume.class, dump::addVolume);
+    if (name.startsWith(ISSUES_PREFIX))
+      return () -> doImport(file, ComicVineIssue.class, dump::addIssue);
+    if (name.startsWith(STORY_ARCS_PREFIX))
+      return () -> doImport(file, ComicVineStoryDetailResponse.class, dump::addStoryArc);
+    log.debug("Ignoring file in ComicVine data dump: {}", name);
+    return null;
+  }
+
+  private static <T> int doImport(final Path file, final Class<T> type, final Consumer<T> consumer)
+      throws IOException {
+    log.debug("Importing {} records: {}", type.getSimpleName(), file);
+    final ObjectReader reader = ComicVineObjectMapper.getReader(type);
+    int count = 0;
+    try (InputStream input = doOpen(file);
+        JsonParser parser = ComicVineObjectMapper.getMapper().getFactory().createParser(input)) {
+      JsonToken token = parser.nextToken();
+      if (token == JsonToken.START_OBJECT) token = doFindResults(parser);
+      if (token != JsonToken.START_ARRAY)
+        throw new IOException("Expected an array of records: " + file);
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        final T record = reader.readValue(parser);
+        consumer.accept(record);
+        count++;
+      }
+    }
+    log.debug("Imported {} records: {}", count, file);
+    return count;
+  }
+
+  private static JsonToken doFindResults(final JsonParser parser) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String field = parser.currentName();
+      final JsonToken value = parser.nextToken();
+      if (RESULTS_FIELD.equals(field)) return value;
+      parser.skipChildren();
+    }
+    return null;
+  }
+
+  private static InputStream doOpen(final Path file) throws IOException {
+    final InputStream input = new BufferedInputStream(Files.newInputStream(file));
+    return file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(input) : input;
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.http;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.util.AttributeKey;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.Connection;
+import reactor.netty.NettyPipeline;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * <code>ComicVineHttpClient</code> is the HTTP client shared by the ComicVine actions. It keeps one
+ * connection pool that asks ComicVine for compressed responses and one that does not, and counts
+ * the body bytes received from each endpoint before and after decompression.
+ *
+ * <p>Compressed responses are requested with gzip and deflate, plus brotli when a brotli decoder is
+ * available on the classpath.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineHttpClient {
+  static final String TRANSFERRED_COUNTER = "comicvine.transferred-counter";
+  static final String DECODED_COUNTER = "comicvine.decoded-counter";
+  static final String UNKNOWN_ENDPOINT = "unknown";
+
+  private static final AttributeKey<String> ENDPOINT = AttributeKey.valueOf("comicvine.endpoint");
+  private static final Pattern ENDPOINT_PATTERN = Pattern.compile("^.*?/api/([^/?]+).*$");
+
+  @Getter private final ComicVineTransferStatistics statistics = new ComicVineTransferStatistics();
+
+  private final BodyCounter transferredCounter = new BodyCounter(false);
+  private final BodyCounter decodedCounter = new BodyCounter(true);
+  private final HttpClient compressedClient = this.doCreateClient(true);
+  private final HttpClient plainClient = this.doCreateClient(false);
+
+  /**
+   * Returns the endpoint family of a request path or URL, such as "issue" or "search".
+   *
+   * @param path the request path
+   * @return the endpoint name
+   */
+  public static String getEndpoint(final String path) {
+    if (path == null) return UNKNOWN_ENDPOINT;
+    final Matcher matcher = ENDPOINT_PATTERN.matcher(path);
+    return matcher.matches() ? matcher.group(1) : UNKNOWN_ENDPOINT;
+  }
+
+  /**
+   * Returns the encodings offered to ComicVine when compression is enabled.
+   *
+   * @return the accepted encodings
+   */
+  public static String getAcceptedEncodings() {
+    return Brotli.isAvailable() ? "br, gzip, deflate" : "gzip, deflate";
+  }
+
+  /**
+   * Routes a web client's requests through the shared connection pools.
+   *
+   * @param webClient the web client
+   * @param compressed true to ask for compressed responses
+   * @param connectTimeout the time allowed to open a connection, in milliseconds
+   * @return the configured web client
+   */
+  public WebClient configure(
+      final WebClient webClient, final boolean compressed, final long connectTimeout) {
+    final HttpClient client =
+        (compressed ? this.compressedClient : this.plainClient)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout);
+    return webClient.mutate().clientConnector(new ReactorClientHttpConnector(client)).build();
+  }
+
+  private HttpClient doCreateClient(final boolean compressed) {
+    final String name = compressed ? "comicvine-compressed" : "comicvine-plain";
+    HttpClient result =
+        HttpClient.create(ConnectionProvider.create(name))
+            .compress(compressed)
+            .doOnRequest(
+                (request, connection) ->
+                    connection.channel().attr(ENDPOINT).set(getEndpoint(request.fullPath())))
+            .doOnConnected(this::doAddCounters);
+    if (compressed) {
+      result =
+          result.headers(
+              headers -> headers.set(HttpHeaderNames.ACCEPT_ENCODING, getAcceptedEncodings()));
+    }
+    return result;
+  }
+
+  private void doAddCounters(final Connection connection) {
+    final ChannelPipeline pipeline = connection.channel().pipeline();
+    if (pipeline.get(NettyPipeline.HttpCodec) == null || pipeline.get(TRANSFERRED_COUNTER) != null)
+      return;
+    log.trace("Adding transfer counters to connection: {}", connection.channel());
+    pipeline.addAfter(NettyPipeline.HttpCodec, TRANSFERRED_COUNTER, this.transferredCounter);
+    pipeline.addAfter(
+        pipeline.get(NettyPipeline.HttpDecompressor) != null
+            ? NettyPipeline.HttpDecompressor
+            : TRANSFERRED_COUNTER,
+        DECODED_COUNTER,
+        this.decodedCounter);
+  }
+
+  @ChannelHandler.Sharable
+  private class BodyCounter extends ChannelInboundHandlerAdapter {
+    private final boolean decoded;
+
+    BodyCounter(final boolean decoded) {
+      this.decoded = decoded;
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext context, final Object message) {
+      final String endpoint = context.channel().attr(ENDPOINT).get();
+      if (endpoint != null) {
+        if (!this.decoded && message instanceof HttpResponse response) {
+          final String encoding = response.headers().get(HttpHeaderNames.CONTENT_ENCODING);
+          statistics.addResponse(
+              endpoint,
+              encoding != null && !HttpHeaderValues.IDENTITY.contentEqualsIgnoreCase(encoding));
+        }
+        if (message instanceof HttpContent content) {
+          final int bytes = content.content().readableBytes();
+          if (this.decoded) statistics.addDecodedBytes(endpoint, bytes);
+          else statistics.addTransferredBytes(endpoint, bytes);
+        }
+      }
+      context.fireChannelRead(message);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.http;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.util.Map;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <code>ComicVineJsonDecoder</code> decodes ComicVine responses as their buffers arrive from the
+ * network. Each buffer is fed to a non-blocking Jackson parser and released right away, so the body
+ * is never gathered into a single array or string before it is parsed. Each body is read with the
+ * shared reader prepared for its type by {@link ComicVineObjectMapper}.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineJsonDecoder {
+  /** The largest response, in bytes, that is held while being decoded. */
+  public static final int MAXIMUM_IN_MEMORY_SIZE = 10 * 1024 * 1024;
+
+  private final Jackson2JsonDecoder decoder =
+      new Jackson2JsonDecoder(ComicVineObjectMapper.getMapper()) {
+        @Override
+        protected ObjectReader customizeReader(
+            final ObjectReader reader,
+            final ResolvableType elementType,
+            final Map<String, Object> hints) {
+          return ComicVineObjectMapper.getReader(elementType.toClass());
+        }
+      };
+
+  /** Creates a decoder. */
+  public ComicVineJsonDecoder() {
+    this.decoder.setMaxInMemorySize(MAXIMUM_IN_MEMORY_SIZE);
+  }
+
+  /**
+   * Decodes the body of a response.
+   *
+   * @param response the response
+   * @param type the body type
+   * @return the decoded body
+   * @param <R> the body type
+   */
+  public <R> Mono<R> decode(final WebClient.ResponseSpec response, final Class<R> type) {
+    return this.decode(response.bodyToFlux(DataBuffer.class), type);
+  }
+
+  /**
+   * Decodes a body from its buffers.
+   *
+   * @param buffers the buffers
+   * @param type the body type
+   * @return the decoded body
+   * @param <R> the body type
+   */
+  public <R> Mono<R> decode(final Flux<DataBuffer> buffers, final Class<R> type) {
+    log.trace("Decoding response: type={}", type.getSimpleName());
+    return this.decoder
+        .decode(buffers, ResolvableType.forClass(type), null, null)
+        .singleOrEmpty()
+        .cast(type);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.http;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <code>ComicVineLatencyTracker</code> keeps the response times of the most recent requests to a
+ * ComicVine endpoint family, so a slow request can be recognized while it is still outstanding.
+ *
+ * @author Darryl L. Pierce
+ */
+public class ComicVineLatencyTracker {
+  /** The default number of recent requests considered. */
+  public static final int DEFAULT_WINDOW_SIZE = 100;
+
+  /** The default number of requests needed before a percentile is reported. */
+  public static final int DEFAULT_MINIMUM_SAMPLES = 20;
+
+  /** The default percentile after which a request is hedged. */
+  public static final double DEFAULT_HEDGE_PERCENTILE = 0.95;
+
+  private static final Map<String, ComicVineLatencyTracker> TRACKERS = new ConcurrentHashMap<>();
+
+  @Getter private final String endpoint;
+  private final long[] samples = new long[DEFAULT_WINDOW_SIZE];
+  private int recorded = 0;
+  private int next = 0;
+
+  @Getter @Setter private int minimumSamples = DEFAULT_MINIMUM_SAMPLES;
+  @Getter @Setter private double hedgePercentile = DEFAULT_HEDGE_PERCENTILE;
+
+  /**
+   * Creates a tracker.
+   *
+   * @param endpoint the endpoint family
+   */
+  public ComicVineLatencyTracker(final String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  /**
+   * Returns the tracker shared by all requests to the given endpoint family.
+   *
+   * @param endpoint the endpoint family
+   * @return the tracker
+   */
+  public static ComicVineLatencyTracker forEndpoint(final String endpoint) {
+    return TRACKERS.computeIfAbsent(endpoint, ComicVineLatencyTracker::new);
+  }
+
+  /**
+   * Records the time a request took to answer.
+   *
+   * @param elapsed the response time, in milliseconds
+   */
+  public synchronized void record(final long elapsed) {
+    this.samples[this.next] = elapsed;
+    this.next = (this.next + 1) % this.samples.length;
+    this.recorded = Math.min(this.recorded + 1, this.samples.length);
+  }
+
+  /**
+   * Returns a percentile of the recorded response times.
+   *
+   * @param percentile the percentile, from 0.0 to 1.0
+   * @return the response time, in milliseconds, or null if too few requests were recorded
+   */
+  public synchronized Long getPercentile(final double percentile) {
+    if (this.recorded == 0 || this.recorded < this.minimumSamples) return null;
+    final long[] sorted = Arrays.copyOf(this.samples, this.recorded);
+    Arrays.sort(sorted);
+    final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.min(sorted.length - 1, Math.max(0, index))];
+  }
+
+  /**
+   * Returns how long to wait for a response before sending a duplicate request.
+   *
+   * @return the delay, in milliseconds, or null if too few requests were recorded
+   */
+  public Long getHedgeDelay() {
+    return this.getPercentile(this.hedgePercentile);
+  }
+
+  /** Forgets every recorded request. */
+  public synchronized void reset() {
+    this.recorded = 0;
+    this.next = 0;
+  }
+}
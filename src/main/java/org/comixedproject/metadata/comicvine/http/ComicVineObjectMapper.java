@@ -0,0 +1,142 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.http;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetAllIssuesQueryResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetIssueDetailsResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetIssueResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetPublisherDetailsResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetStoryDetailResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetStoryListResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetVolumeDetailsResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssuesQueryResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineStoryDetailResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineUpdatedRecordsResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolumesQueryResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ClassUtils;
+
+/**
+ * <code>ComicVineObjectMapper</code> holds the single object mapper used to read and write
+ * ComicVine JSON. Jackson builds the deserializer for a type the first time it is read and keeps it
+ * in the mapper, so sharing one mapper means that work is done once. A reader is prepared for each
+ * response type ahead of time, and responses are decoded with those readers, so the first request
+ * does not pay for it either.
+ *
+ * <p>When the host provides the Blackbird module, the mapper uses it to replace reflective field
+ * and setter access with generated lambdas. The module is not bundled, so it always matches the
+ * host's Jackson version, and the mapper is built without it if it is missing or fails to register.
+ * Any other Jackson module registered through the service loader is also picked up.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineObjectMapper {
+  /** The ComicVine response types. */
+  public static final List<Class<?>> RESPONSE_TYPES =
+      List.of(
+          ComicVineGetAllIssuesQueryResponse.class,
+          ComicVineGetIssueDetailsResponse.class,
+          ComicVineGetIssueResponse.class,
+          ComicVineGetPublisherDetailsResponse.class,
+          ComicVineGetStoryDetailResponse.class,
+          ComicVineGetStoryListResponse.class,
+          ComicVineGetVolumeDetailsResponse.class,
+          ComicVineIssuesQueryResponse.class,
+          ComicVineStoryDetailResponse.class,
+          ComicVineUpdatedRecordsResponse.class,
+          ComicVineVolumesQueryResponse.class);
+
+  static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+  private static final ObjectMapper MAPPER = createMapper(BLACKBIRD_MODULE);
+  private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+  static {
+    log.debug("Preparing readers for {} ComicVine response types", RESPONSE_TYPES.size());
+    RESPONSE_TYPES.forEach(ComicVineObjectMapper::getReader);
+  }
+
+  private ComicVineObjectMapper() {}
+
+  /**
+   * Builds a mapper, installing the named module if it is on the classpath and can be registered.
+   *
+   * @param moduleClassName the module class name
+   * @return the mapper
+   */
+  static ObjectMapper createMapper(final String moduleClassName) {
+    final Module module = doLoadModule(moduleClassName);
+    if (module != null) {
+      try {
+        return doCreateBuilder().modulesToInstall(module).build();
+      } catch (RuntimeException | LinkageError error) {
+        log.warn("Failed to register Jackson module: " + moduleClassName, error);
+      }
+    }
+    return doCreateBuilder().build();
+  }
+
+  private static Jackson2ObjectMapperBuilder doCreateBuilder() {
+    return Jackson2ObjectMapperBuilder.json()
+        .findModulesViaServiceLoader(true)
+        .failOnUnknownProperties(false);
+  }
+
+  private static Module doLoadModule(final String moduleClassName) {
+    final ClassLoader classLoader = ComicVineObjectMapper.class.getClassLoader();
+    if (!ClassUtils.isPresent(moduleClassName, classLoader)) {
+      log.debug("Jackson module not available: {}", moduleClassName);
+      return null;
+    }
+    try {
+      return (Module)
+          ClassUtils.forName(moduleClassName, classLoader).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError error) {
+      log.warn("Failed to load Jackson module: " + moduleClassName, error);
+      return null;
+    }
+  }
+
+  /**
+   * Returns the shared mapper.
+   *
+   * @return the mapper
+   */
+  public static ObjectMapper getMapper() {
+    return MAPPER;
+  }
+
+  /**
+   * Returns the shared reader for a type.
+   *
+   * @param type the type
+   * @return the reader
+   */
+  public static ObjectReader getReader(final Class<?> type) {
+    return READERS.computeIfAbsent(type, MAPPER::readerFor);
+  }
+}
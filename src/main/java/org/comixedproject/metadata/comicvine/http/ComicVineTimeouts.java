@@ -0,0 +1,49 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.http;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <code>ComicVineTimeouts</code> holds the limits, in milliseconds, placed on a single request to
+ * ComicVine.
+ *
+ * @author Darryl L. Pierce
+ */
+@AllArgsConstructor
+@Getter
+public class ComicVineTimeouts {
+  /** The default time allowed to open a connection. */
+  public static final long DEFAULT_CONNECT_TIMEOUT = 10000L;
+
+  /** The default time allowed between two reads of a response. */
+  public static final long DEFAULT_READ_TIMEOUT = 30000L;
+
+  /** The default time allowed for a whole request, including reading its body. */
+  public static final long DEFAULT_REQUEST_TIMEOUT = 60000L;
+
+  /** The default limits. */
+  public static final ComicVineTimeouts DEFAULTS =
+      new ComicVineTimeouts(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, DEFAULT_REQUEST_TIMEOUT);
+
+  private final long connectTimeout;
+  private final long readTimeout;
+  private final long requestTimeout;
+}
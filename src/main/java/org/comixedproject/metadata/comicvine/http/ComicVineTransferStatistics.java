@@ -0,0 +1,138 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.http;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineTransferStatistics</code> counts, for each ComicVine endpoint, the response body
+ * bytes as they arrived on the wire and after they were decompressed.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineTransferStatistics {
+  private final Map<String, Counters> endpoints = new ConcurrentHashMap<>();
+
+  /**
+   * Records a response.
+   *
+   * @param endpoint the endpoint
+   * @param compressed true if the body was compressed
+   */
+  public void addResponse(final String endpoint, final boolean compressed) {
+    final Counters counters = this.doGetCounters(endpoint);
+    counters.responses.incrementAndGet();
+    if (compressed) counters.compressedResponses.incrementAndGet();
+  }
+
+  /**
+   * Records body bytes as they arrived on the wire.
+   *
+   * @param endpoint the endpoint
+   * @param bytes the byte count
+   */
+  public void addTransferredBytes(final String endpoint, final long bytes) {
+    this.doGetCounters(endpoint).transferredBytes.addAndGet(bytes);
+  }
+
+  /**
+   * Records body bytes after decompression.
+   *
+   * @param endpoint the endpoint
+   * @param bytes the byte count
+   */
+  public void addDecodedBytes(final String endpoint, final long bytes) {
+    this.doGetCounters(endpoint).decodedBytes.addAndGet(bytes);
+  }
+
+  /**
+   * Returns the endpoints with recorded traffic.
+   *
+   * @return the endpoint names
+   */
+  public Set<String> getEndpoints() {
+    return Set.copyOf(this.endpoints.keySet());
+  }
+
+  /**
+   * Returns the number of responses received from an endpoint.
+   *
+   * @param endpoint the endpoint
+   * @return the response count
+   */
+  public long getResponses(final String endpoint) {
+    final Counters counters = this.endpoints.get(endpoint);
+    return counters != null ? counters.responses.get() : 0L;
+  }
+
+  /**
+   * Returns the number of compressed responses received from an endpoint.
+   *
+   * @param endpoint the endpoint
+   * @return the response count
+   */
+  public long getCompressedResponses(final String endpoint) {
+    final Counters counters = this.endpoints.get(endpoint);
+    return counters != null ? counters.compressedResponses.get() : 0L;
+  }
+
+  /**
+   * Returns the body bytes received on the wire from an endpoint.
+   *
+   * @param endpoint the endpoint
+   * @return the byte count
+   */
+  public long getTransferredBytes(final String endpoint) {
+    final Counters counters = this.endpoints.get(endpoint);
+    return counters != null ? counters.transferredBytes.get() : 0L;
+  }
+
+  /**
+   * Returns the body bytes received from an endpoint after decompression.
+   *
+   * @param endpoint the endpoint
+   * @return the byte count
+   */
+  public long getDecodedBytes(final String endpoint) {
+    final Counters counters = this.endpoints.get(endpoint);
+    return counters != null ? counters.decodedBytes.get() : 0L;
+  }
+
+  /** Resets every counter. */
+  public void clear() {
+    log.debug("Clearing transfer statistics");
+    this.endpoints.clear();
+  }
+
+  private Counters doGetCounters(final String endpoint) {
+    return this.endpoints.computeIfAbsent(endpoint, key -> new Counters());
+  }
+
+  private static class Counters {
+    private final AtomicLong responses = new AtomicLong();
+    private final AtomicLong compressedResponses = new AtomicLong();
+    private final AtomicLong transferredBytes = new AtomicLong();
+    private final AtomicLong decodedBytes = new AtomicLong();
+  }
+}
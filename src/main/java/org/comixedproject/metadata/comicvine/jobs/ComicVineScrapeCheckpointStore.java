@@ -0,0 +1,121 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.jobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.MetadataException;
+
+/**
+ * <code>ComicVineScrapeCheckpointStore</code> persists the progress of a {@link ComicVineScrapeJob}
+ * to a local directory, one file per job.
+ *
+ * <p>Checkpoints are written to a temporary file and then moved into place, so a crash while saving
+ * leaves the previous checkpoint intact.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineScrapeCheckpointStore {
+  static final String CHECKPOINT_EXTENSION = ".json";
+  private static final String TEMPORARY_EXTENSION = ".tmp";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Getter private final Path directory;
+
+  /**
+   * Creates a store that keeps its checkpoints in the given directory.
+   *
+   * @param directory the checkpoint directory
+   */
+  public ComicVineScrapeCheckpointStore(final Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Writes the current state of a job.
+   *
+   * @param job the job
+   * @throws MetadataException if the checkpoint could not be written
+   */
+  public synchronized void save(final ComicVineScrapeJob job) throws MetadataException {
+    final Path checkpoint = this.getCheckpointFile(job.getJobId());
+    final Path temporary = this.directory.resolve(job.getJobId() + TEMPORARY_EXTENSION);
+    log.trace("Saving scrape job checkpoint: {}", checkpoint);
+    try {
+      Files.createDirectories(this.directory);
+      synchronized (job) {
+        this.objectMapper.writeValue(temporary.toFile(), job);
+      }
+      Files.move(
+          temporary,
+          checkpoint,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException error) {
+      throw new MetadataException("Failed to save scrape job checkpoint", error);
+    }
+  }
+
+  /**
+   * Loads the last checkpoint written for a job.
+   *
+   * @param jobId the job id
+   * @return the job, or null if no checkpoint exists
+   * @throws MetadataException if the checkpoint could not be read
+   */
+  public ComicVineScrapeJob load(final String jobId) throws MetadataException {
+    final Path checkpoint = this.getCheckpointFile(jobId);
+    if (!Files.exists(checkpoint)) {
+      log.debug("No checkpoint found for scrape job: {}", jobId);
+      return null;
+    }
+    log.debug("Loading scrape job checkpoint: {}", checkpoint);
+    try {
+      return this.objectMapper.readValue(checkpoint.toFile(), ComicVineScrapeJob.class);
+    } catch (IOException error) {
+      throw new MetadataException("Failed to load scrape job checkpoint", error);
+    }
+  }
+
+  /**
+   * Removes the checkpoint for a job.
+   *
+   * @param jobId the job id
+   * @throws MetadataException if the checkpoint could not be removed
+   */
+  public void delete(final String jobId) throws MetadataException {
+    log.debug("Deleting scrape job checkpoint: {}", jobId);
+    try {
+      Files.deleteIfExists(this.getCheckpointFile(jobId));
+    } catch (IOException error) {
+      throw new MetadataException("Failed to delete scrape job checkpoint", error);
+    }
+  }
+
+  private Path getCheckpointFile(final String jobId) {
+    return this.directory.resolve(jobId + CHECKPOINT_EXTENSION);
+  }
+}
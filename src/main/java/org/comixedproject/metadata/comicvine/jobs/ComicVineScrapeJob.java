@@ -0,0 +1,127 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.jobs;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * <code>ComicVineScrapeJob</code> holds a list of comics to be scraped along with the progress made
+ * so far. The job is what gets written to a checkpoint, so it can be reloaded and resumed after a
+ * restart.
+ *
+ * @author Darryl L. Pierce
+ */
+@NoArgsConstructor
+public class ComicVineScrapeJob {
+  @JsonProperty("job-id")
+  @Getter
+  private String jobId;
+
+  @JsonProperty("items")
+  @Getter
+  private List<ComicVineScrapeJobItem> items = new ArrayList<>();
+
+  @JsonProperty("completed")
+  @Getter
+  private Set<Integer> completedItems = new TreeSet<>();
+
+  @JsonProperty("failed")
+  @Getter
+  private Map<Integer, String> failedItems = new TreeMap<>();
+
+  /**
+   * Creates a new job.
+   *
+   * @param jobId the job id
+   * @param items the items to scrape
+   */
+  public ComicVineScrapeJob(final String jobId, final List<ComicVineScrapeJobItem> items) {
+    this.jobId = jobId;
+    this.items.addAll(items);
+  }
+
+  /**
+   * Returns the index of every item that has been neither completed nor failed.
+   *
+   * @return the pending item indexes
+   */
+  @JsonIgnore
+  public synchronized List<Integer> getPendingItems() {
+    return IntStream.range(0, this.items.size())
+        .filter(index -> !this.completedItems.contains(index))
+        .filter(index -> !this.failedItems.containsKey(index))
+        .boxed()
+        .toList();
+  }
+
+  /**
+   * Records that an item was scraped.
+   *
+   * @param index the item index
+   */
+  public synchronized void markCompleted(final int index) {
+    this.failedItems.remove(index);
+    this.completedItems.add(index);
+  }
+
+  /**
+   * Records that an item could not be scraped.
+   *
+   * @param index the item index
+   * @param reason the failure reason
+   */
+  public synchronized void markFailed(final int index, final String reason) {
+    this.failedItems.put(index, reason);
+  }
+
+  /**
+   * Returns an item to the pending state.
+   *
+   * @param index the item index
+   */
+  public synchronized void markPending(final int index) {
+    this.failedItems.remove(index);
+    this.completedItems.remove(index);
+  }
+
+  /** Returns all failed items to the pending state so they are retried on the next run. */
+  public synchronized void resetFailedItems() {
+    this.failedItems.clear();
+  }
+
+  /**
+   * Returns if every item has been processed, whether successfully or not.
+   *
+   * @return true if nothing remains pending
+   */
+  @JsonIgnore
+  public synchronized boolean isFinished() {
+    return this.completedItems.size() + this.failedItems.size() >= this.items.size();
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.jobs;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * <code>ComicVineScrapeJobItem</code> represents a single comic to be scraped as part of a {@link
+ * ComicVineScrapeJob}. An item is identified by its ComicVine issue id, by the volume and issue
+ * number, or by the series name, year and issue number taken from the comic.
+ *
+ * @author Darryl L. Pierce
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ComicVineScrapeJobItem {
+  @JsonProperty("issue-id")
+  @Getter
+  private String issueId;
+
+  @JsonProperty("volume-id")
+  @Getter
+  private String volumeId;
+
+  @JsonProperty("issue-number")
+  @Getter
+  private String issueNumber;
+
+  @JsonProperty("series")
+  @Getter
+  private String series;
+
+  @JsonProperty("year")
+  @Getter
+  private String year;
+
+  /**
+   * Creates an item for a known ComicVine issue.
+   *
+   * @param issueId the issue id
+   * @return the item
+   */
+  public static ComicVineScrapeJobItem forIssue(final String issueId) {
+    return new ComicVineScrapeJobItem(issueId, null, null, null, null);
+  }
+
+  /**
+   * Creates an item for a known ComicVine issue whose volume is also known, which allows the item
+   * to be scheduled alongside the other issues from that volume.
+   *
+   * @param issueId the issue id
+   * @param volumeId the volume id
+   * @return the item
+   */
+  public static ComicVineScrapeJobItem forIssue(final String issueId, final String volumeId) {
+    return new ComicVineScrapeJobItem(issueId, volumeId, null, null, null);
+  }
+
+  /**
+   * Creates an item for an issue that must first be located within its volume.
+   *
+   * @param volumeId the volume id
+   * @param issueNumber the issue number
+   * @return the item
+   */
+  public static ComicVineScrapeJobItem forVolumeIssue(
+      final String volumeId, final String issueNumber) {
+    return new ComicVineScrapeJobItem(null, volumeId, issueNumber, null, null);
+  }
+
+  /**
+   * Creates an item for an issue whose volume must first be chosen from the series name and year.
+   *
+   * @param series the series name
+   * @param year the cover year
+   * @param issueNumber the issue number
+   * @return the item
+   */
+  public static ComicVineScrapeJobItem forSeriesIssue(
+      final String series, final String year, final String issueNumber) {
+    return new ComicVineScrapeJobItem(null, null, issueNumber, series, year);
+  }
+
+  @Override
+  public String toString() {
+    if (this.issueId != null) return String.format("issue=%s", this.issueId);
+    if (this.volumeId != null)
+      return String.format("volume=%s issue #=%s", this.volumeId, this.issueNumber);
+    return String.format("series=%s year=%s issue #=%s", this.series, this.year, this.issueNumber);
+  }
+}
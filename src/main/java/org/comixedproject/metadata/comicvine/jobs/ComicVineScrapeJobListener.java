@@ -0,0 +1,45 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.jobs;
+
+import org.comixedproject.metadata.model.IssueDetailsMetadata;
+
+/**
+ * <code>ComicVineScrapeJobListener</code> receives the results of a {@link ComicVineScrapeJob} as
+ * each item is processed.
+ *
+ * @author Darryl L. Pierce
+ */
+public interface ComicVineScrapeJobListener {
+  /**
+   * Invoked when an item was scraped.
+   *
+   * @param item the item
+   * @param details the scraped metadata
+   */
+  void itemScraped(ComicVineScrapeJobItem item, IssueDetailsMetadata details);
+
+  /**
+   * Invoked when an item could not be scraped.
+   *
+   * @param item the item
+   * @param reason the failure reason
+   */
+  void itemFailed(ComicVineScrapeJobItem item, String reason);
+}
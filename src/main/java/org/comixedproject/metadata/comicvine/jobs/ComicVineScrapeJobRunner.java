@@ -0,0 +1,307 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.jobs;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.actions.ComicVineFieldProfile;
+import org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptor;
+import org.comixedproject.metadata.comicvine.matching.ComicVineVolumeMatcher;
+import org.comixedproject.metadata.comicvine.ratelimit.ComicVineRequestPriority;
+import org.comixedproject.metadata.model.IssueDetailsMetadata;
+import org.comixedproject.metadata.model.IssueMetadata;
+import org.comixedproject.metadata.model.VolumeMetadata;
+import org.comixedproject.model.metadata.MetadataSource;
+
+/**
+ * <code>ComicVineScrapeJobRunner</code> works through a {@link ComicVineScrapeJob} using the {@link
+ * ComicVineMetadataAdaptor}, checkpointing its progress as it goes. Items are scraped by a pool of
+ * workers, grouped by volume, and every request is made at background priority so that the rate
+ * limiter shared by the source's API key serves interactive callers first. Searches only ask for
+ * the fields needed to find an issue's id.
+ *
+ * <p>If too many items fail in a row, which is what happens when the quota is exhausted or
+ * ComicVine is unavailable, the job is suspended and those items are returned to the pending state
+ * so that resuming the job picks up exactly where it stopped.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineScrapeJobRunner {
+  static final int SPLIT_THRESHOLD = 4;
+
+  private final ComicVineMetadataAdaptor adaptor;
+  private final MetadataSource metadataSource;
+  private final ComicVineScrapeCheckpointStore checkpointStore;
+
+  /** The number of items processed between two checkpoints. */
+  @Getter @Setter private int checkpointInterval = 1;
+
+  /** The number of failures in a row after which the job is suspended. */
+  @Getter @Setter private int maxConsecutiveFailures = 5;
+
+  /** The number of worker threads used to scrape items. */
+  @Getter @Setter private int workerCount = 1;
+
+  /**
+   * Creates a runner. The runner scrapes with its own copy of the adaptor, switched to background
+   * priority, so the given adaptor can still be shared with interactive callers.
+   *
+   * @param adaptor the adaptor
+   * @param metadataSource the metadata source
+   * @param checkpointStore the checkpoint store
+   */
+  public ComicVineScrapeJobRunner(
+      final ComicVineMetadataAdaptor adaptor,
+      final MetadataSource metadataSource,
+      final ComicVineScrapeCheckpointStore checkpointStore) {
+    this.adaptor = adaptor.copy();
+    this.adaptor.setPriority(ComicVineRequestPriority.BACKGROUND);
+    this.adaptor.setSearchProfile(ComicVineFieldProfile.MINIMAL);
+    this.metadataSource = metadataSource;
+    this.checkpointStore = checkpointStore;
+  }
+
+  /**
+   * Reloads a job from its checkpoint and continues processing it.
+   *
+   * @param jobId the job id
+   * @param listener the listener
+   * @return the job
+   * @throws MetadataException if no checkpoint exists or the job is suspended
+   */
+  public ComicVineScrapeJob resume(final String jobId, final ComicVineScrapeJobListener listener)
+      throws MetadataException {
+    final ComicVineScrapeJob job = this.checkpointStore.load(jobId);
+    if (job == null) throw new MetadataException("No checkpoint found for job: " + jobId);
+    log.debug(
+        "Resuming scrape job: id={} pending={}", job.getJobId(), job.getPendingItems().size());
+    this.run(job, listener);
+    return job;
+  }
+
+  /**
+   * Processes every pending item in the job.
+   *
+   * <p>Pending items are partitioned by volume and each partition is handed to the worker pool as a
+   * single task. A task scrapes the first issue in its volume by itself, so the volume and
+   * publisher are fetched and cached once, and then splits what remains into halves that idle
+   * workers can steal.
+   *
+   * @param job the job
+   * @param listener the listener
+   * @throws MetadataException if the job is interrupted or suspended
+   */
+  public void run(final ComicVineScrapeJob job, final ComicVineScrapeJobListener listener)
+      throws MetadataException {
+    this.adaptor.start(this.metadataSource);
+    final Execution execution = new Execution(job, listener);
+    final List<List<Integer>> groups = this.doGroupByVolume(job);
+
+    log.debug(
+        "Running scrape job: id={} items={} groups={} workers={}",
+        job.getJobId(),
+        job.getItems().size(),
+        groups.size(),
+        this.workerCount);
+    final ForkJoinPool pool = new ForkJoinPool(Math.max(1, this.workerCount));
+    try {
+      final List<ForkJoinTask<Void>> tasks =
+          groups.stream()
+              .map(group -> pool.submit(new GroupTask(execution, group, false)))
+              .toList();
+      for (ForkJoinTask<Void> task : tasks) {
+        task.get();
+      }
+    } catch (InterruptedException error) {
+      Thread.currentThread().interrupt();
+      execution.stop(new MetadataException("Scrape job interrupted", error));
+    } catch (ExecutionException error) {
+      execution.stop(new MetadataException("Scrape job failed", error.getCause()));
+    } finally {
+      pool.shutdownNow();
+    }
+
+    if (execution.getFailure() != null) {
+      this.checkpointStore.save(job);
+      throw execution.getFailure();
+    }
+
+    if (job.getFailedItems().isEmpty()) {
+      log.debug("Scrape job completed: id={}", job.getJobId());
+      this.checkpointStore.delete(job.getJobId());
+    } else {
+      log.debug(
+          "Scrape job finished with {} failure(s): id={}",
+          job.getFailedItems().size(),
+          job.getJobId());
+      this.checkpointStore.save(job);
+    }
+  }
+
+  List<List<Integer>> doGroupByVolume(final ComicVineScrapeJob job) {
+    final Map<String, List<Integer>> groups = new LinkedHashMap<>();
+    for (Integer index : job.getPendingItems()) {
+      final ComicVineScrapeJobItem item = job.getItems().get(index);
+      String key = "item-" + index;
+      if (item.getVolumeId() != null) key = item.getVolumeId();
+      else if (item.getSeries() != null)
+        key = "series-" + ComicVineVolumeMatcher.normalize(item.getSeries());
+      groups.computeIfAbsent(key, ignored -> new ArrayList<>()).add(index);
+    }
+    final List<List<Integer>> result = new ArrayList<>(groups.values());
+    result.sort(Comparator.comparingInt(List<Integer>::size).reversed());
+    return result;
+  }
+
+  private IssueDetailsMetadata doScrapeItem(final ComicVineScrapeJobItem item)
+      throws MetadataException {
+    String issueId = item.getIssueId();
+    if (issueId == null) {
+      String volumeId = item.getVolumeId();
+      if (volumeId == null) {
+        final VolumeMetadata volume =
+            this.adaptor.findVolume(
+                item.getSeries(), item.getYear(), item.getIssueNumber(), null, this.metadataSource);
+        if (volume == null) throw new MetadataException("No matching volume found");
+        volumeId = volume.getId();
+      }
+      final IssueMetadata issue =
+          this.adaptor.getIssue(volumeId, item.getIssueNumber(), this.metadataSource);
+      if (issue == null) throw new MetadataException("No matching issue found");
+      issueId = issue.getId();
+    }
+    return this.adaptor.getIssueDetails(issueId, this.metadataSource);
+  }
+
+  /** Holds the state shared by every worker while a job runs. */
+  @RequiredArgsConstructor
+  private class Execution {
+    private final ComicVineScrapeJob job;
+    private final ComicVineScrapeJobListener listener;
+    private final List<Integer> failureRun = new ArrayList<>();
+    private final AtomicInteger sinceCheckpoint = new AtomicInteger();
+
+    @Getter private volatile MetadataException failure;
+
+    boolean isStopped() {
+      return this.failure != null;
+    }
+
+    synchronized void stop(final MetadataException cause) {
+      if (this.failure == null) this.failure = cause;
+    }
+
+    void process(final int index) {
+      if (this.isStopped()) return;
+
+      final ComicVineScrapeJobItem item = this.job.getItems().get(index);
+      try {
+        log.trace("Scraping job item: {}", item);
+        final IssueDetailsMetadata details = doScrapeItem(item);
+        this.listener.itemScraped(item, details);
+        this.job.markCompleted(index);
+        synchronized (this) {
+          this.failureRun.clear();
+        }
+      } catch (MetadataException error) {
+        if (Thread.currentThread().isInterrupted()) {
+          this.stop(new MetadataException("Scrape job interrupted", error));
+          return;
+        }
+        this.doFailed(index, item, error);
+      }
+
+      if (this.sinceCheckpoint.incrementAndGet() >= checkpointInterval) {
+        this.sinceCheckpoint.set(0);
+        try {
+          checkpointStore.save(this.job);
+        } catch (MetadataException error) {
+          this.stop(error);
+        }
+      }
+    }
+
+    private synchronized void doFailed(
+        final int index, final ComicVineScrapeJobItem item, final MetadataException error) {
+      if (this.isStopped()) {
+        log.trace("Job already stopped, leaving item pending: {}", item);
+        return;
+      }
+      log.debug("Failed to scrape job item: {}", item, error);
+      this.job.markFailed(index, error.getMessage());
+      this.listener.itemFailed(item, error.getMessage());
+      this.failureRun.add(index);
+      if (this.failureRun.size() >= maxConsecutiveFailures) {
+        log.warn(
+            "Suspending scrape job after {} consecutive failures: id={}",
+            this.failureRun.size(),
+            this.job.getJobId());
+        this.failureRun.forEach(this.job::markPending);
+        this.stop(new MetadataException("Scrape job suspended: " + this.job.getJobId(), error));
+      }
+    }
+  }
+
+  /**
+   * Scrapes the items from one volume. Once the first item has warmed the cache the remainder is
+   * split in half repeatedly, with each half forked so that other workers can steal it.
+   */
+  @RequiredArgsConstructor
+  private class GroupTask extends RecursiveAction {
+    private final transient Execution execution;
+    private final transient List<Integer> items;
+    private final boolean warmed;
+
+    @Override
+    protected void compute() {
+      List<Integer> remaining = this.items;
+      if (!this.warmed) {
+        this.execution.process(remaining.get(0));
+        remaining = remaining.subList(1, remaining.size());
+      }
+
+      final List<GroupTask> forked = new ArrayList<>();
+      while (remaining.size() > SPLIT_THRESHOLD && !this.execution.isStopped()) {
+        final int middle = remaining.size() / 2;
+        final GroupTask task =
+            new GroupTask(this.execution, remaining.subList(middle, remaining.size()), true);
+        task.fork();
+        forked.add(task);
+        remaining = remaining.subList(0, middle);
+      }
+
+      remaining.forEach(this.execution::process);
+      forked.forEach(ForkJoinTask::join);
+    }
+  }
+}
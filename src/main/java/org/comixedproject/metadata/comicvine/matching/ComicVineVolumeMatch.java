@@ -0,0 +1,40 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.matching;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.comixedproject.metadata.model.VolumeMetadata;
+
+/**
+ * <code>ComicVineVolumeMatch</code> is a candidate volume along with how well it matches the comic
+ * being scraped, from 0.0 to 1.0.
+ *
+ * @author Darryl L. Pierce
+ */
+@AllArgsConstructor
+public class ComicVineVolumeMatch {
+  @Getter private final VolumeMetadata volume;
+  @Getter private final double score;
+
+  @Override
+  public String toString() {
+    return String.format("id=%s name=%s score=%.3f", volume.getId(), volume.getName(), score);
+  }
+}
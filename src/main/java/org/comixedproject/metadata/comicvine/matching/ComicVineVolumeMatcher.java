@@ -0,0 +1,200 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.matching;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.comicvine.cache.ComicVineVolumeIndex;
+import org.comixedproject.metadata.model.VolumeMetadata;
+import org.springframework.util.StringUtils;
+
+/**
+ * <code>ComicVineVolumeMatcher</code> ranks candidate volumes against the series name, year, issue
+ * number and publisher taken from a comic. The series name is compared using normalized tokens and
+ * trigram similarity, both of which are computed once when the matcher is created.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineVolumeMatcher {
+  /** The default score a candidate must reach to be chosen automatically. */
+  public static final double DEFAULT_MINIMUM_SCORE = 0.6;
+
+  static final double NAME_WEIGHT = 0.6;
+  static final double YEAR_WEIGHT = 0.2;
+  static final double ISSUE_COUNT_WEIGHT = 0.1;
+  static final double PUBLISHER_WEIGHT = 0.1;
+  static final double UNKNOWN_SCORE = 0.5;
+
+  private static final Set<String> STOP_WORDS = Set.of("the", "a", "an");
+  private static final Pattern NUMBER_PATTERN = Pattern.compile("^\\D*(\\d+).*$");
+
+  private final String name;
+  private final Set<String> tokens;
+  private final Set<String> trigrams;
+  private final Integer year;
+  private final Integer issueNumber;
+  private final String publisher;
+
+  @Getter @Setter private double minimumScore = DEFAULT_MINIMUM_SCORE;
+
+  /**
+   * Creates a matcher.
+   *
+   * @param series the series name
+   * @param year the cover year, or null if unknown
+   * @param issueNumber the issue number, or null if unknown
+   * @param publisher the publisher name, or null if unknown
+   */
+  public ComicVineVolumeMatcher(
+      final String series, final String year, final String issueNumber, final String publisher) {
+    this.name = normalize(series);
+    this.tokens = new HashSet<>(ComicVineVolumeIndex.tokenize(this.name));
+    this.trigrams = trigrams(this.name);
+    this.year = parseNumber(year);
+    this.issueNumber = parseNumber(issueNumber);
+    this.publisher = StringUtils.hasText(publisher) ? normalize(publisher) : null;
+  }
+
+  /**
+   * Reduces a name to lower-case words without accents, punctuation or leading articles.
+   *
+   * @param text the text
+   * @return the normalized text
+   */
+  public static String normalize(final String text) {
+    if (!StringUtils.hasText(text)) return "";
+    final String plain =
+        Normalizer.normalize(text, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .replace("&", " and ");
+    final List<String> words = new ArrayList<>(ComicVineVolumeIndex.tokenize(plain));
+    if (words.size() > 1 && STOP_WORDS.contains(words.get(0))) words.remove(0);
+    return String.join(" ", words);
+  }
+
+  /**
+   * Returns the character trigrams of a normalized name, padded so that word boundaries count.
+   *
+   * @param text the normalized text
+   * @return the trigrams
+   */
+  static Set<String> trigrams(final String text) {
+    final Set<String> result = new HashSet<>();
+    final String padded = "  " + text + " ";
+    for (int index = 0; index + 3 <= padded.length(); index++) {
+      result.add(padded.substring(index, index + 3));
+    }
+    return result;
+  }
+
+  private static Integer parseNumber(final String text) {
+    if (!StringUtils.hasText(text)) return null;
+    final Matcher matcher = NUMBER_PATTERN.matcher(text);
+    return matcher.matches() ? Integer.valueOf(matcher.group(1)) : null;
+  }
+
+  /**
+   * Scores every candidate and returns them best first.
+   *
+   * @param candidates the candidate volumes
+   * @return the ranked matches
+   */
+  public List<ComicVineVolumeMatch> rank(final List<VolumeMetadata> candidates) {
+    final List<ComicVineVolumeMatch> result = new ArrayList<>(candidates.size());
+    candidates.forEach(volume -> result.add(new ComicVineVolumeMatch(volume, this.score(volume))));
+    result.sort(Comparator.comparingDouble(ComicVineVolumeMatch::getScore).reversed());
+    return result;
+  }
+
+  /**
+   * Returns the best candidate if it reaches the minimum score.
+   *
+   * @param candidates the candidate volumes
+   * @return the match, or null if no candidate is good enough
+   */
+  public ComicVineVolumeMatch findBest(final List<VolumeMetadata> candidates) {
+    final List<ComicVineVolumeMatch> ranked = this.rank(candidates);
+    if (ranked.isEmpty() || ranked.get(0).getScore() < this.minimumScore) {
+      log.debug("No volume matched: series={}", this.name);
+      return null;
+    }
+    log.debug("Best volume match: {}", ranked.get(0));
+    return ranked.get(0);
+  }
+
+  /**
+   * Scores a single candidate.
+   *
+   * @param volume the candidate volume
+   * @return the score
+   */
+  public double score(final VolumeMetadata volume) {
+    return NAME_WEIGHT * this.scoreName(volume.getName())
+        + YEAR_WEIGHT * this.scoreYear(parseNumber(volume.getStartYear()))
+        + ISSUE_COUNT_WEIGHT * this.scoreIssueCount(volume.getIssueCount())
+        + PUBLISHER_WEIGHT * this.scorePublisher(volume.getPublisher());
+  }
+
+  double scoreName(final String candidate) {
+    final String other = normalize(candidate);
+    if (other.equals(this.name)) return 1.0;
+
+    final Set<String> otherTrigrams = trigrams(other);
+    int shared = 0;
+    for (String trigram : otherTrigrams) {
+      if (this.trigrams.contains(trigram)) shared++;
+    }
+    final double dice = 2.0 * shared / (this.trigrams.size() + otherTrigrams.size());
+
+    final Set<String> otherTokens = new HashSet<>(ComicVineVolumeIndex.tokenize(other));
+    final Set<String> union = new HashSet<>(otherTokens);
+    union.addAll(this.tokens);
+    otherTokens.retainAll(this.tokens);
+    final double jaccard = union.isEmpty() ? 0.0 : (double) otherTokens.size() / union.size();
+
+    return 0.7 * dice + 0.3 * jaccard;
+  }
+
+  double scoreYear(final Integer startYear) {
+    if (this.year == null || startYear == null) return UNKNOWN_SCORE;
+    if (startYear > this.year) return 0.0;
+    return Math.max(0.3, 1.0 - (this.year - startYear) / 10.0);
+  }
+
+  double scoreIssueCount(final int issueCount) {
+    if (this.issueNumber == null || issueCount <= 0) return UNKNOWN_SCORE;
+    return issueCount >= this.issueNumber ? 1.0 : 0.0;
+  }
+
+  double scorePublisher(final String candidate) {
+    if (this.publisher == null || !StringUtils.hasText(candidate)) return UNKNOWN_SCORE;
+    final String other = normalize(candidate);
+    return other.contains(this.publisher) || this.publisher.contains(other) ? 1.0 : 0.0;
+  }
+}
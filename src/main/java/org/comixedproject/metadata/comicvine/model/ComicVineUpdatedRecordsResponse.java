@@ -0,0 +1,37 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * <code>ComicVineUpdatedRecordsResponse</code> represents the payload of a request for the records
+ * changed within a date range.
+ *
+ * @author Darryl L. Pierce
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ComicVineUpdatedRecordsResponse extends AbstractComicVineQueryResponse {
+  @JsonProperty("results")
+  @Getter
+  private List<ComicVineUpdatedRecord> records = new ArrayList<>();
+}
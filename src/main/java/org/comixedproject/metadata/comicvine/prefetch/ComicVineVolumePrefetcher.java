@@ -0,0 +1,153 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.prefetch;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.actions.ComicVineFieldProfile;
+import org.comixedproject.metadata.comicvine.actions.ComicVineGetAllIssuesAction;
+import org.comixedproject.metadata.comicvine.actions.ComicVineGetIssueWithDetailsAction;
+import org.comixedproject.metadata.comicvine.cache.ComicVineCacheRegion;
+import org.comixedproject.metadata.comicvine.cache.ComicVineMetadataCache;
+import org.comixedproject.metadata.model.IssueDetailsMetadata;
+
+/**
+ * <code>ComicVineVolumePrefetcher</code> fills the issue cache with the rest of a volume once one
+ * of its issues has been scraped, since the remaining issues are usually scraped next.
+ *
+ * <p>Volumes are filled one at a time on a single low-priority thread. The fill is made with
+ * actions prepared by the caller, which carry the metadata source's rate limiter at background
+ * priority, along with its timeouts and compression setting, so every page and issue waits for
+ * spare quota. Issues are stored with their validators, so a stale issue can later be revalidated.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineVolumePrefetcher {
+  private final ComicVineMetadataCache cache;
+  private final ComicVineCacheRegion<Boolean> prefetched;
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "comicvine-prefetch");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          });
+
+  @Getter @Setter private String baseUrl;
+
+  /**
+   * Creates a prefetcher.
+   *
+   * @param cache the cache to fill
+   * @param baseUrl the ComicVine base URL
+   */
+  public ComicVineVolumePrefetcher(final ComicVineMetadataCache cache, final String baseUrl) {
+    this.cache = cache;
+    this.baseUrl = baseUrl;
+    this.prefetched =
+        new ComicVineCacheRegion<>(
+            "prefetched-volumes",
+            ComicVineMetadataCache.DEFAULT_MAXIMUM_VOLUMES,
+            ComicVineMetadataCache.DEFAULT_TIME_TO_LIVE);
+  }
+
+  /**
+   * Queues a fill of the volume's issues, unless the volume was filled recently.
+   *
+   * @param volumeId the volume id
+   * @param apiKey the API key
+   * @param getAllIssuesAction the action used to list the volume's issues
+   * @param getIssueAction the action used to fetch each issue
+   * @return true if the fill was queued
+   */
+  public boolean prefetch(
+      final String volumeId,
+      final String apiKey,
+      final ComicVineGetAllIssuesAction getAllIssuesAction,
+      final ComicVineGetIssueWithDetailsAction getIssueAction) {
+    if (volumeId == null) return false;
+    final long id = Long.parseLong(volumeId);
+    synchronized (this.prefetched) {
+      if (this.prefetched.get(id) != null) {
+        log.trace("Volume already prefetched: id={}", volumeId);
+        return false;
+      }
+      this.prefetched.put(id, Boolean.TRUE);
+    }
+    try {
+      log.debug("Queueing volume prefetch: id={}", volumeId);
+      this.executor.execute(
+          () -> this.doFill(volumeId, apiKey, getAllIssuesAction, getIssueAction));
+      return true;
+    } catch (RejectedExecutionException error) {
+      log.debug("Prefetcher is shut down, ignoring volume: id={}", volumeId);
+      this.prefetched.invalidate(id);
+      return false;
+    }
+  }
+
+  /** Stops filling volumes and discards any queued fills. */
+  public void shutdown() {
+    log.debug("Shutting down the volume prefetcher");
+    this.executor.shutdownNow();
+  }
+
+  void doFill(
+      final String volumeId,
+      final String apiKey,
+      final ComicVineGetAllIssuesAction getAllIssuesAction,
+      final ComicVineGetIssueWithDetailsAction getIssueAction) {
+    try {
+      getAllIssuesAction.setBaseUrl(this.baseUrl);
+      getAllIssuesAction.setApiKey(apiKey);
+      getAllIssuesAction.setCache(this.cache);
+      getAllIssuesAction.setVolumeId(volumeId);
+      final List<IssueDetailsMetadata> issues = getAllIssuesAction.execute();
+
+      log.debug("Prefetching {} issues for volume: id={}", issues.size(), volumeId);
+      getIssueAction.setBaseUrl(this.baseUrl);
+      getIssueAction.setApiKey(apiKey);
+      // the action stores each issue in the cache along with its validators
+      getIssueAction.setCache(this.cache);
+      getIssueAction.setProfile(ComicVineFieldProfile.FULL);
+      int fetched = 0;
+      for (IssueDetailsMetadata issue : issues) {
+        final long issueId = Long.parseLong(issue.getSourceId());
+        if (this.cache.getIssues().get(issueId) != null) continue;
+
+        getIssueAction.setIssueId(issue.getSourceId());
+        getIssueAction.execute();
+        fetched++;
+      }
+      log.debug("Prefetched {} issues for volume: id={}", fetched, volumeId);
+    } catch (MetadataException | RuntimeException error) {
+      if (Thread.currentThread().isInterrupted())
+        log.debug("Volume prefetch interrupted: id={}", volumeId);
+      else log.debug("Volume prefetch failed: id={}", volumeId, error);
+    }
+  }
+}
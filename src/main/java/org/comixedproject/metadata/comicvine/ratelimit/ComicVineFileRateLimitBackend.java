@@ -0,0 +1,132 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.ratelimit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineFileRateLimitBackend</code> shares request slots between the nodes on one host
+ * through a directory they can all reach.
+ *
+ * <p>Each key has a small file holding the next free slot, which is mapped into memory and only
+ * changed while holding a lock on the file. If the file cannot be used, the node falls back to
+ * pacing itself.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineFileRateLimitBackend implements ComicVineRateLimitBackend {
+  private static final Map<Path, ComicVineFileRateLimitBackend> BACKENDS =
+      new ConcurrentHashMap<>();
+
+  @Getter private final Path directory;
+  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a backend.
+   *
+   * @param directory the shared directory
+   */
+  public ComicVineFileRateLimitBackend(final Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Returns the backend shared by every caller using the given directory.
+   *
+   * @param directory the shared directory
+   * @return the backend
+   */
+  public static ComicVineFileRateLimitBackend forDirectory(final Path directory) {
+    return BACKENDS.computeIfAbsent(
+        directory.toAbsolutePath().normalize(), ComicVineFileRateLimitBackend::new);
+  }
+
+  @Override
+  public long reserve(final String key, final long now, final long interval) {
+    try {
+      final Counter counter = this.doGetCounter(key);
+      synchronized (counter) {
+        try (FileLock lock = counter.getChannel().lock()) {
+          final long result = Math.max(now, counter.getBuffer().getLong(0));
+          counter.getBuffer().putLong(0, result + interval);
+          return result;
+        }
+      }
+    } catch (IOException error) {
+      log.warn("Failed to reserve shared slot: key={}", key, error);
+      return now;
+    }
+  }
+
+  @Override
+  public boolean tryReserve(final String key, final long now, final long interval) {
+    try {
+      final Counter counter = this.doGetCounter(key);
+      synchronized (counter) {
+        try (FileLock lock = counter.getChannel().lock()) {
+          if (counter.getBuffer().getLong(0) > now) return false;
+          counter.getBuffer().putLong(0, now + interval);
+          return true;
+        }
+      }
+    } catch (IOException error) {
+      log.warn("Failed to reserve shared slot: key={}", key, error);
+      return true;
+    }
+  }
+
+  private Counter doGetCounter(final String key) throws IOException {
+    Counter result = this.counters.get(key);
+    if (result != null) return result;
+    synchronized (this.counters) {
+      result = this.counters.get(key);
+      if (result == null) {
+        Files.createDirectories(this.directory);
+        final FileChannel channel =
+            FileChannel.open(
+                this.directory.resolve(key + ".slot"),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        log.debug("Opened shared rate limit file: key={}", key);
+        result = new Counter(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES));
+        this.counters.put(key, result);
+      }
+      return result;
+    }
+  }
+
+  @RequiredArgsConstructor
+  @Getter
+  private static class Counter {
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <code>ComicVineLocalSlotStore</code> holds the shared counters in memory. It stands in for a
+ * network store when every caller runs in the same process, such as in tests.
+ *
+ * @author Darryl L. Pierce
+ */
+public class ComicVineLocalSlotStore implements ComicVineSlotStore {
+  private final Map<String, AtomicLong> values = new ConcurrentHashMap<>();
+
+  @Override
+  public long get(final String key) {
+    return this.doGetValue(key).get();
+  }
+
+  @Override
+  public boolean compareAndSet(final String key, final long expected, final long update) {
+    return this.doGetValue(key).compareAndSet(expected, update);
+  }
+
+  private AtomicLong doGetValue(final String key) {
+    return this.values.computeIfAbsent(key, entry -> new AtomicLong());
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.ratelimit;
+
+/**
+ * <code>ComicVineRateLimitBackend</code> defines a store of request slots shared by every node
+ * using the same API key, so that together the nodes stay within the key's quota.
+ *
+ * <p>For each key the backend holds the time of the next free slot. Taking a slot moves that time
+ * one interval forward. That is the only state the nodes share, so each one still orders its own
+ * callers.
+ *
+ * @author Darryl L. Pierce
+ */
+public interface ComicVineRateLimitBackend {
+  /**
+   * Reserves the next free slot, no earlier than the given time.
+   *
+   * @param key the shared key
+   * @param now the current time
+   * @param interval the interval, in milliseconds, between two slots
+   * @return the time at which the caller may send its request
+   */
+  long reserve(String key, long now, long interval);
+
+  /**
+   * Reserves a slot only if one is free right now.
+   *
+   * @param key the shared key
+   * @param now the current time
+   * @param interval the interval, in milliseconds, between two slots
+   * @return true if a slot was reserved
+   */
+  boolean tryReserve(String key, long now, long interval);
+}
@@ -0,0 +1,336 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.ratelimit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineRateLimiter</code> paces the work done against a single ComicVine API key so that
+ * every caller sharing that key also shares its quota.
+ *
+ * <p>Waiting callers are served by priority, oldest first within a priority. A share of the quota
+ * is held back for {@link ComicVineRequestPriority#INTERACTIVE} callers, so a user's request never
+ * queues behind a long background job. To keep lower priorities from starving, a caller moves up
+ * one priority for every aging interval it has waited.
+ *
+ * <p>Duplicate requests sent to hedge a slow response only use spare quota, and never more than the
+ * hedge budget's share of the permits granted.
+ *
+ * <p>When several nodes use the same API key, a {@link ComicVineRateLimitBackend} shares the quota
+ * between them. Each node still orders its own callers, and the next caller to go takes the next
+ * slot in the shared budget before it is granted its permit. The slot is taken without holding the
+ * limiter's lock, since the backend may be remote, while the other callers wait for their turn.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineRateLimiter {
+  /** The default share of the quota held back for interactive callers. */
+  public static final double DEFAULT_INTERACTIVE_RESERVE = 0.2;
+
+  /** The default time, in milliseconds, a caller waits before moving up one priority. */
+  public static final long DEFAULT_AGING_INTERVAL = 30000L;
+
+  /** The default share of the granted permits that may be used for hedged requests. */
+  public static final double DEFAULT_HEDGE_BUDGET = 0.05;
+
+  private static final String DEFAULT_KEY = "default";
+
+  private static final Map<String, ComicVineRateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+  private final List<Ticket> waiting = new ArrayList<>();
+
+  @Getter private final String key;
+  @Getter @Setter private volatile ComicVineRateLimitBackend backend;
+  @Getter private volatile long interval = 0L;
+  @Getter private double interactiveReserve = DEFAULT_INTERACTIVE_RESERVE;
+  @Getter private long agingInterval = DEFAULT_AGING_INTERVAL;
+  @Getter private double hedgeBudget = DEFAULT_HEDGE_BUDGET;
+
+  private long nextSlot = 0L;
+  private long granted = 0L;
+  private long hedged = 0L;
+  private long nextSharedSlot = 0L;
+  private long sequence = 0L;
+  private boolean reserving = false;
+
+  /** Creates a limiter that is not shared by API key. */
+  public ComicVineRateLimiter() {
+    this(DEFAULT_KEY);
+  }
+
+  /**
+   * Creates a limiter.
+   *
+   * @param key the key identifying the limiter to a shared backend
+   */
+  public ComicVineRateLimiter(final String key) {
+    this.key = key;
+  }
+
+  /**
+   * Returns the limiter shared by all callers using the given API key.
+   *
+   * @param apiKey the API key
+   * @return the limiter
+   */
+  public static ComicVineRateLimiter forApiKey(final String apiKey) {
+    return LIMITERS.computeIfAbsent(apiKey, entry -> new ComicVineRateLimiter(getSharedKey(entry)));
+  }
+
+  /**
+   * Returns the key under which an API key's slots are shared, so the API key itself is never
+   * written to the backend.
+   *
+   * @param apiKey the API key
+   * @return the shared key
+   */
+  static String getSharedKey(final String apiKey) {
+    try {
+      final byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest, 0, 16);
+    } catch (NoSuchAlgorithmException error) {
+      throw new IllegalStateException("Missing SHA-256 digest", error);
+    }
+  }
+
+  /**
+   * Sets the delay, in seconds, between two permits.
+   *
+   * @param delay the delay
+   */
+  public void setDelay(final long delay) {
+    this.setInterval(delay * 1000L);
+  }
+
+  /**
+   * Sets the interval, in milliseconds, between two permits.
+   *
+   * @param interval the interval
+   */
+  public synchronized void setInterval(final long interval) {
+    log.trace("Setting rate limiter interval: {}ms", interval);
+    this.interval = Math.max(0L, interval);
+  }
+
+  /**
+   * Sets the share of the quota, from 0.0 up to but not including 1.0, that callers below
+   * interactive priority may not use.
+   *
+   * @param interactiveReserve the reserved share
+   */
+  public synchronized void setInteractiveReserve(final double interactiveReserve) {
+    this.interactiveReserve = Math.min(0.9, Math.max(0.0, interactiveReserve));
+  }
+
+  /**
+   * Sets how long, in milliseconds, a caller waits before it moves up one priority.
+   *
+   * @param agingInterval the aging interval
+   */
+  public synchronized void setAgingInterval(final long agingInterval) {
+    this.agingInterval = Math.max(1L, agingInterval);
+  }
+
+  /**
+   * Sets the share of the granted permits, from 0.0 to 1.0, that may be used for hedged requests.
+   *
+   * @param hedgeBudget the hedge budget
+   */
+  public synchronized void setHedgeBudget(final double hedgeBudget) {
+    this.hedgeBudget = Math.min(1.0, Math.max(0.0, hedgeBudget));
+  }
+
+  /**
+   * Blocks until the caller is allowed to make its next request at normal priority.
+   *
+   * @throws InterruptedException if the wait is interrupted
+   */
+  public void acquire() throws InterruptedException {
+    this.acquire(ComicVineRequestPriority.NORMAL);
+  }
+
+  /**
+   * Blocks until the caller is allowed to make its next request.
+   *
+   * @param priority the request priority
+   * @throws InterruptedException if the wait is interrupted
+   */
+  public void acquire(final ComicVineRequestPriority priority) throws InterruptedException {
+    final ComicVineRateLimitBackend shared = this.backend;
+    final long now = this.doAwaitTurn(priority);
+    final long result;
+    try {
+      result = doReserveShared(shared, this.key, now, this.interval);
+    } catch (RuntimeException error) {
+      this.doEndTurn();
+      throw error;
+    }
+    this.doGrantTurn(priority, result);
+    final long wait = result - System.currentTimeMillis();
+    if (wait > 0L) {
+      log.trace("Waiting {}ms for a shared permit: priority={}", wait, priority);
+      Thread.sleep(wait);
+    }
+  }
+
+  /**
+   * Takes a permit only if one is available right now and nobody is waiting, so that background
+   * work uses spare quota and never delays other callers.
+   *
+   * @return true if a permit was taken
+   */
+  public boolean tryAcquire() {
+    final long now = System.currentTimeMillis();
+    final ComicVineRateLimitBackend shared = this.backend;
+    synchronized (this) {
+      if (this.reserving
+          || !this.waiting.isEmpty()
+          || Math.max(this.nextSlot, this.nextSharedSlot) > now) return false;
+      if (shared == null) {
+        this.doGrant(ComicVineRequestPriority.BACKGROUND, now);
+        return true;
+      }
+      this.reserving = true;
+    }
+    final boolean result;
+    try {
+      result = shared.tryReserve(this.key, now, this.interval);
+    } catch (RuntimeException error) {
+      this.doEndTurn();
+      throw error;
+    }
+    if (result) this.doGrantTurn(ComicVineRequestPriority.BACKGROUND, now);
+    else this.doEndTurn();
+    return result;
+  }
+
+  /**
+   * Takes a permit for a hedged request, if spare quota is available and the hedge budget is not
+   * used up.
+   *
+   * @return true if a permit was taken
+   */
+  public boolean tryAcquireHedge() {
+    synchronized (this) {
+      if (this.hedged + 1 > this.hedgeBudget * (this.granted + 1)) return false;
+    }
+    if (!this.tryAcquire()) return false;
+    synchronized (this) {
+      this.hedged++;
+      log.trace("Granted hedge permit: hedged={} granted={}", this.hedged, this.granted);
+    }
+    return true;
+  }
+
+  private synchronized long doAwaitTurn(final ComicVineRequestPriority priority)
+      throws InterruptedException {
+    final Ticket ticket = new Ticket(priority, System.currentTimeMillis(), this.sequence++);
+    this.waiting.add(ticket);
+    try {
+      while (true) {
+        final long now = System.currentTimeMillis();
+        final Ticket next = this.doSelectNext(now);
+        final long slot = this.doGetSlot(next);
+        if (!this.reserving && next == ticket && slot <= now) {
+          this.reserving = true;
+          return now;
+        }
+        // while another caller reserves its slot, wait until it is granted
+        final long wait =
+            this.reserving
+                ? this.agingInterval
+                : Math.max(1L, Math.min(slot - now, this.agingInterval));
+        log.trace("Waiting up to {}ms for a permit: priority={}", wait, priority);
+        this.wait(wait);
+      }
+    } finally {
+      this.waiting.remove(ticket);
+      this.notifyAll();
+    }
+  }
+
+  private Ticket doSelectNext(final long now) {
+    Ticket result = null;
+    int best = Integer.MAX_VALUE;
+    for (Ticket ticket : this.waiting) {
+      final long aged = (now - ticket.getEnqueued()) / this.agingInterval;
+      final int rank = (int) Math.max(0L, ticket.getPriority().ordinal() - aged);
+      if (rank < best || (rank == best && ticket.getSequence() < result.getSequence())) {
+        best = rank;
+        result = ticket;
+      }
+    }
+    return result;
+  }
+
+  private synchronized void doGrantTurn(final ComicVineRequestPriority priority, final long now) {
+    this.doGrant(priority, now);
+    this.doEndTurn();
+  }
+
+  private synchronized void doEndTurn() {
+    this.reserving = false;
+    this.notifyAll();
+  }
+
+  private static long doReserveShared(
+      final ComicVineRateLimitBackend shared,
+      final String key,
+      final long now,
+      final long interval) {
+    if (shared == null) return now;
+    return Math.max(now, shared.reserve(key, now, interval));
+  }
+
+  private long doGetSlot(final Ticket ticket) {
+    return ticket.getPriority() == ComicVineRequestPriority.INTERACTIVE
+        ? this.nextSlot
+        : Math.max(this.nextSlot, this.nextSharedSlot);
+  }
+
+  private void doGrant(final ComicVineRequestPriority priority, final long now) {
+    this.nextSlot = now + this.interval;
+    this.granted++;
+    if (priority != ComicVineRequestPriority.INTERACTIVE) {
+      this.nextSharedSlot = now + (long) (this.interval / (1.0 - this.interactiveReserve));
+    }
+    log.trace("Granted permit: priority={}", priority);
+  }
+
+  @RequiredArgsConstructor
+  @Getter
+  private static class Ticket {
+    private final ComicVineRequestPriority priority;
+    private final long enqueued;
+    private final long sequence;
+  }
+}
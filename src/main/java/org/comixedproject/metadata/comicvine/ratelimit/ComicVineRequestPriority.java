@@ -0,0 +1,34 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.ratelimit;
+
+/**
+ * <code>ComicVineRequestPriority</code> identifies how urgently a request to ComicVine is needed.
+ * Higher priorities are listed first.
+ *
+ * @author Darryl L. Pierce
+ */
+public enum ComicVineRequestPriority {
+  /** A user is waiting on the result. */
+  INTERACTIVE,
+  /** Regular work that is not being watched. */
+  NORMAL,
+  /** Bulk or speculative work that only uses what quota is left over. */
+  BACKGROUND;
+}
@@ -0,0 +1,45 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.ratelimit;
+
+/**
+ * <code>ComicVineSlotStore</code> defines the shared counters used by {@link
+ * ComicVineStoreRateLimitBackend}. An implementation only needs to read a value and replace it if
+ * it has not changed, which most network stores offer.
+ *
+ * @author Darryl L. Pierce
+ */
+public interface ComicVineSlotStore {
+  /**
+   * Returns the value stored for a key.
+   *
+   * @param key the key
+   * @return the value, or 0 if none is stored
+   */
+  long get(String key);
+
+  /**
+   * Replaces the value stored for a key, if it still holds the expected value.
+   *
+   * @param key the key
+   * @param expected the expected value
+   * @param update the new value
+   * @return true if the value was replaced
+   */
+  boolean compareAndSet(String key, long expected, long update);
+}
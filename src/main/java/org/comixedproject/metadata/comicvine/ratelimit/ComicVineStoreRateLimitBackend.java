@@ -0,0 +1,57 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.ratelimit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineStoreRateLimitBackend</code> shares request slots through a {@link
+ * ComicVineSlotStore}, such as a network key-value store reached by every node.
+ *
+ * <p>A slot is taken by replacing the stored next free slot only if no other node changed it first,
+ * so no node ever holds a lock in the store.
+ *
+ * @author Darryl L. Pierce
+ */
+@RequiredArgsConstructor
+@Log4j2
+public class ComicVineStoreRateLimitBackend implements ComicVineRateLimitBackend {
+  @Getter private final ComicVineSlotStore store;
+
+  @Override
+  public long reserve(final String key, final long now, final long interval) {
+    while (true) {
+      final long next = this.store.get(key);
+      final long result = Math.max(now, next);
+      if (this.store.compareAndSet(key, next, result + interval)) return result;
+      log.trace("Shared slot changed, retrying: key={}", key);
+    }
+  }
+
+  @Override
+  public boolean tryReserve(final String key, final long now, final long interval) {
+    while (true) {
+      final long next = this.store.get(key);
+      if (next > now) return false;
+      if (this.store.compareAndSet(key, next, now + interval)) return true;
+      log.trace("Shared slot changed, retrying: key={}", key);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.recording;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <code>ComicVineRecordedExchange</code> is a single request to ComicVine and the response it
+ * received, as stored in a fixture archive. The API key in the URL is masked.
+ *
+ * @author Darryl L. Pierce
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ComicVineRecordedExchange {
+  @JsonProperty("method")
+  @Getter
+  @Setter
+  private String method;
+
+  @JsonProperty("url")
+  @Getter
+  @Setter
+  private String url;
+
+  @JsonProperty("status")
+  @Getter
+  @Setter
+  private int status;
+
+  @JsonProperty("headers")
+  @Getter
+  @Setter
+  private Map<String, String> headers = new LinkedHashMap<>();
+
+  @JsonProperty("body")
+  @Getter
+  @Setter
+  private String body;
+
+  @JsonProperty("latency")
+  @Getter
+  @Setter
+  private long latency;
+}
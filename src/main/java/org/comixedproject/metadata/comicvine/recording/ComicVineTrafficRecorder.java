@@ -0,0 +1,208 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.recording;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.comicvine.http.ComicVineObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+/**
+ * <code>ComicVineTrafficRecorder</code> captures the requests sent to ComicVine and the responses
+ * received, so that a workload can be replayed offline later.
+ *
+ * <p>Exchanges are appended to a fixture archive as they complete. Each exchange is written as one
+ * line of JSON in its own gzip member, so the archive stays compact and remains readable if the
+ * recording is interrupted.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineTrafficRecorder {
+  private static final Pattern API_KEY_PATTERN = Pattern.compile("(api_key=)([^&]*)");
+  private static final List<String> RECORDED_HEADERS =
+      List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+  private static final Map<Path, ComicVineTrafficRecorder> RECORDERS = new ConcurrentHashMap<>();
+  private static final ObjectReader READER =
+      ComicVineObjectMapper.getReader(ComicVineRecordedExchange.class);
+
+  @Getter private final Path archive;
+
+  /**
+   * Creates a recorder.
+   *
+   * @param archive the fixture archive
+   */
+  public ComicVineTrafficRecorder(final Path archive) {
+    this.archive = archive;
+  }
+
+  /**
+   * Returns the recorder shared by everything writing to the given archive.
+   *
+   * @param archive the fixture archive
+   * @return the recorder
+   */
+  public static ComicVineTrafficRecorder forArchive(final Path archive) {
+    return RECORDERS.computeIfAbsent(
+        archive.toAbsolutePath().normalize(), ComicVineTrafficRecorder::new);
+  }
+
+  /**
+   * Masks all but the last four characters of an API key.
+   *
+   * @param apiKey the API key
+   * @return the masked key
+   */
+  public static String maskApiKey(final String apiKey) {
+    final StringBuilder result = new StringBuilder();
+    int length = apiKey.length() - 4;
+    if (length < 1) length = apiKey.length() / 2;
+    for (int index = 0; index < length; index++) {
+      result.append("*");
+    }
+    if (length < apiKey.length()) result.append(apiKey.substring(length));
+    return result.toString();
+  }
+
+  /**
+   * Returns the path and query of a request URL, with the API key masked.
+   *
+   * @param url the request URL
+   * @return the recorded URL
+   */
+  public static String getRecordedUrl(final URI url) {
+    final String path = url.getRawPath();
+    final String query = url.getRawQuery();
+    if (query == null) return path;
+    final Matcher matcher = API_KEY_PATTERN.matcher(query);
+    final StringBuilder masked = new StringBuilder();
+    while (matcher.find()) {
+      matcher.appendReplacement(
+          masked, Matcher.quoteReplacement(matcher.group(1) + maskApiKey(matcher.group(2))));
+    }
+    matcher.appendTail(masked);
+    return path + "?" + masked;
+  }
+
+  /**
+   * Reads every exchange in a fixture archive.
+   *
+   * @param archive the fixture archive
+   * @return the exchanges, in the order they were recorded
+   * @throws IOException if the archive cannot be read
+   */
+  public static List<ComicVineRecordedExchange> load(final Path archive) throws IOException {
+    final List<ComicVineRecordedExchange> result = new ArrayList<>();
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isBlank()) result.add(READER.readValue(line));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns a filter that records every exchange made through a web client.
+   *
+   * @return the filter
+   */
+  public ExchangeFilterFunction filter() {
+    return (request, next) -> {
+      final long started = System.currentTimeMillis();
+      return next.exchange(request)
+          .map(
+              response -> {
+                final ComicVineRecordedExchange exchange = new ComicVineRecordedExchange();
+                exchange.setMethod(request.method().name());
+                exchange.setUrl(getRecordedUrl(request.url()));
+                exchange.setStatus(response.statusCode().value());
+                exchange.setLatency(System.currentTimeMillis() - started);
+                final HttpHeaders headers = response.headers().asHttpHeaders();
+                RECORDED_HEADERS.forEach(
+                    name -> {
+                      final String value = headers.getFirst(name);
+                      if (value != null) exchange.getHeaders().put(name, value);
+                    });
+                final ByteArrayOutputStream body = new ByteArrayOutputStream();
+                return response
+                    .mutate()
+                    .body(
+                        buffers ->
+                            buffers
+                                .doOnNext(
+                                    buffer -> {
+                                      final byte[] bytes = new byte[buffer.readableByteCount()];
+                                      final int position = buffer.readPosition();
+                                      buffer.read(bytes);
+                                      buffer.readPosition(position);
+                                      body.writeBytes(bytes);
+                                    })
+                                .doOnComplete(
+                                    () -> {
+                                      exchange.setBody(body.toString(StandardCharsets.UTF_8));
+                                      this.record(exchange);
+                                    }))
+                    .build();
+              });
+    };
+  }
+
+  /**
+   * Appends an exchange to the archive.
+   *
+   * @param exchange the exchange
+   */
+  public synchronized void record(final ComicVineRecordedExchange exchange) {
+    log.trace("Recording ComicVine exchange: {} {}", exchange.getMethod(), exchange.getUrl());
+    try (OutputStream output =
+            Files.newOutputStream(
+                this.archive, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        GZIPOutputStream member = new GZIPOutputStream(output)) {
+      member.write(ComicVineObjectMapper.getMapper().writeValueAsBytes(exchange));
+      member.write('\n');
+    } catch (IOException error) {
+      log.error("Failed to record ComicVine exchange", error);
+    }
+  }
+}
@@ -20,18 +20,26 @@ package org.comixedproject.metadata.comicvine.actions;
 
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptor;
+import org.comixedproject.metadata.comicvine.cache.ComicVineMetadataCache;
+import org.comixedproject.metadata.comicvine.http.ComicVineTimeouts;
 import org.comixedproject.metadata.comicvine.model.*;
+import org.comixedproject.metadata.comicvine.prefetch.ComicVineVolumePrefetcher;
+import org.comixedproject.metadata.comicvine.ratelimit.ComicVineRateLimiter;
+import org.comixedproject.metadata.comicvine.ratelimit.ComicVineRequestPriority;
 import org.comixedproject.metadata.model.IssueDetailsMetadata;
 import org.comixedproject.model.comicbooks.ComicTagType;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -60,6 +68,8 @@ public class ComicVineGetIssueDetailsActionTest {
   private static final String TEST_CREDIT_ROLE_2 = ComicVineCreditType.EDITOR.getTagValue();
   private static final String TEST_CREDIT_TAG_2 = ComicTagType.EDITOR.getValue();
   private static final String TEST_COMIC_VINE_ISSUE_ID = "71765";
+  private static final String TEST_VOLUME_ID = "18005";
+  private static final ComicVineTimeouts TEST_TIMEOUTS = new ComicVineTimeouts(1000L, 5000L, 2000L);
 
   @InjectMocks private ComicVineGetIssueDetailsAction action;
   @Mock private ComicVineGetIssueWithDetailsAction getIssueWithDetailsAction;
@@ -74,6 +84,7 @@ public class ComicVineGetIssueDetailsActionTest {
   @Mock private ComicVineLocation comicVineLocation;
   @Mock private ComicVineStory comicVineStory;
   @Mock private ComicVineCredit comicVineCredit;
+  @Mock private ComicVineVolumePrefetcher prefetcher;
 
   private List<ComicVineCharacter> characters = new ArrayList<>();
   private List<ComicVineTeam> teams = new ArrayList<>();
@@ -219,6 +230,55 @@ public class ComicVineGetIssueDetailsActionTest {
     assertEquals(TEST_CREDIT_TAG_2, result.getCredits().get(1).getRole());
   }
 
+  @Test
+  public void testExecuteQueuesPrefetch() throws MetadataException {
+    Mockito.when(getIssueWithDetailsAction.execute()).thenReturn(comicVineIssue);
+    Mockito.when(getVolumeDetailsAction.execute()).thenReturn(comicVineVolume);
+    Mockito.when(getPublisherDetailsAction.execute()).thenReturn(comicVinePublisher);
+    Mockito.when(comicVineVolume.getId()).thenReturn(TEST_VOLUME_ID);
+
+    final ComicVineRateLimiter rateLimiter = new ComicVineRateLimiter();
+    action.setRateLimiter(rateLimiter);
+    action.setCompressionEnabled(false);
+    action.setTimeouts(TEST_TIMEOUTS);
+    action.setDeadline(System.currentTimeMillis() + 60000L);
+
+    action.execute();
+
+    final ArgumentCaptor<ComicVineGetAllIssuesAction> getAllIssuesAction =
+        ArgumentCaptor.forClass(ComicVineGetAllIssuesAction.class);
+    final ArgumentCaptor<ComicVineGetIssueWithDetailsAction> getIssueAction =
+        ArgumentCaptor.forClass(ComicVineGetIssueWithDetailsAction.class);
+    Mockito.verify(prefetcher, Mockito.times(1))
+        .prefetch(
+            Mockito.eq(TEST_VOLUME_ID),
+            Mockito.eq(TEST_API_KEY),
+            getAllIssuesAction.capture(),
+            getIssueAction.capture());
+    for (AbstractComicVineScrapingAction<?> nested :
+        List.of(getAllIssuesAction.getValue(), getIssueAction.getValue())) {
+      assertSame(rateLimiter, nested.getRateLimiter());
+      assertEquals(ComicVineRequestPriority.BACKGROUND, nested.getPriority());
+      assertSame(TEST_TIMEOUTS, nested.getTimeouts());
+      assertFalse(nested.isCompressionEnabled());
+      assertNull(nested.getDeadline());
+    }
+  }
+
+  @Test
+  public void testExecuteUsesCachedIssue() throws MetadataException {
+    final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+    cache.getIssues().put(Long.parseLong(TEST_ISSUE_ID), comicVineIssue);
+    action.setCache(cache);
+    Mockito.when(getVolumeDetailsAction.execute()).thenReturn(comicVineVolume);
+    Mockito.when(getPublisherDetailsAction.execute()).thenReturn(comicVinePublisher);
+
+    final IssueDetailsMetadata result = action.execute();
+
+    assertEquals(TEST_COMIC_VINE_ISSUE_ID, result.getSourceId());
+    Mockito.verify(getIssueWithDetailsAction, Mockito.never()).execute();
+  }
+
   private void verifyGetPublisherDetailsAction() throws MetadataException {
     Mockito.verify(getPublisherDetailsAction, Mockito.times(1))
         .setApiUrl(TEST_PUBLISHER_DETAILS_API);
@@ -19,27 +19,41 @@
 package org.comixedproject.metadata.comicvine.actions;
 
 import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNull;
 import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
 import static org.junit.Assert.assertEquals;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.TimeZone;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.apache.commons.lang.time.DateUtils;
 import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.circuitbreaker.ComicVineCircuitBreaker;
+import org.comixedproject.metadata.comicvine.circuitbreaker.ComicVineCircuitOpenException;
+import org.comixedproject.metadata.comicvine.http.ComicVineLatencyTracker;
+import org.comixedproject.metadata.comicvine.http.ComicVineTimeouts;
 import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.ratelimit.ComicVineRateLimiter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ComicVineGetIssueWithDetailsActionTest {
@@ -123,4 +137,161 @@ public class ComicVineGetIssueWithDetailsActionTest {
     assertFalse(result.getStories().isEmpty());
     assertFalse(result.getPeople().isEmpty());
   }
+
+  @Test
+  public void testExecuteMinimalProfile() throws MetadataException, InterruptedException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .setBody(TEST_GOOD_DATA));
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .setBody(TEST_GOOD_DATA));
+
+    action.execute();
+    action.setProfile(ComicVineFieldProfile.MINIMAL);
+    action.execute();
+
+    assertTrue(this.comicVineServer.takeRequest().getPath().contains("person_credits"));
+    assertTrue(
+        this.comicVineServer
+            .takeRequest()
+            .getPath()
+            .endsWith("&field_list=id,volume,issue_number,cover_date,store_date,name"));
+  }
+
+  @Test
+  public void testExecuteFailsFastWhenCircuitIsOpen() throws MetadataException {
+    final ComicVineCircuitBreaker circuitBreaker = ComicVineCircuitBreaker.forEndpoint("issue");
+    try {
+      for (int index = 0; index < circuitBreaker.getMinimumCalls(); index++)
+        circuitBreaker.recordFailure(0L);
+
+      action.execute();
+      fail("Expected the circuit to be open");
+    } catch (ComicVineCircuitOpenException error) {
+      assertEquals(0, this.comicVineServer.getRequestCount());
+    } finally {
+      circuitBreaker.reset();
+    }
+  }
+
+  @Test
+  public void testExecuteTimesOut() {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .setBody(TEST_GOOD_DATA)
+            .setHeadersDelay(2, TimeUnit.SECONDS));
+    action.setTimeouts(new ComicVineTimeouts(1000L, 5000L, 200L));
+
+    final long started = System.currentTimeMillis();
+    try {
+      action.execute();
+      fail("Expected the request to time out");
+    } catch (MetadataException error) {
+      assertTrue(System.currentTimeMillis() - started < 2000L);
+    } finally {
+      ComicVineCircuitBreaker.forEndpoint("issue").reset();
+    }
+  }
+
+  @Test
+  public void testExecuteAfterDeadline() {
+    action.setDeadline(System.currentTimeMillis() - 1L);
+
+    try {
+      action.execute();
+      fail("Expected the deadline to have passed");
+    } catch (MetadataException error) {
+      assertEquals(0, this.comicVineServer.getRequestCount());
+    }
+  }
+
+  @Test
+  public void testStartDeadlineReplacesExpiredDeadline() {
+    action.setDeadline(1000L);
+
+    action.startDeadline(5000L);
+
+    assertTrue(action.getDeadline() > System.currentTimeMillis());
+  }
+
+  @Test
+  public void testStartDeadlineWithoutBudget() {
+    action.setDeadline(1000L);
+
+    action.startDeadline(0L);
+
+    assertNull(action.getDeadline());
+  }
+
+  @Test
+  public void testExecuteHedgesSlowRequest() throws MetadataException {
+    final ComicVineLatencyTracker latencyTracker = ComicVineLatencyTracker.forEndpoint("issue");
+    try {
+      for (int index = 0; index < latencyTracker.getMinimumSamples(); index++)
+        latencyTracker.record(50L);
+      final ComicVineRateLimiter rateLimiter = new ComicVineRateLimiter();
+      rateLimiter.setHedgeBudget(1.0);
+      action.setRateLimiter(rateLimiter);
+      action.setHedgingEnabled(true);
+      this.comicVineServer.enqueue(
+          new MockResponse()
+              .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+              .setBody(TEST_GOOD_DATA)
+              .setHeadersDelay(2, TimeUnit.SECONDS));
+      this.comicVineServer.enqueue(
+          new MockResponse()
+              .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+              .setBody(TEST_GOOD_DATA));
+
+      final long started = System.currentTimeMillis();
+      final ComicVineIssue result = action.execute();
+
+      assertEquals(TEST_ISSUE_NUMBER, result.getIssueNumber());
+      assertTrue(System.currentTimeMillis() - started < 2000L);
+      assertEquals(2, this.comicVineServer.getRequestCount());
+    } finally {
+      latencyTracker.reset();
+      ComicVineCircuitBreaker.forEndpoint("issue").reset();
+    }
+  }
+
+  @Test
+  public void testRaceReleasesLosingResponse() {
+    final ClientResponse primaryResponse = Mockito.mock(ClientResponse.class);
+    final ClientResponse hedgeResponse = Mockito.mock(ClientResponse.class);
+    Mockito.lenient().when(primaryResponse.releaseBody()).thenReturn(Mono.empty());
+    Mockito.lenient().when(hedgeResponse.releaseBody()).thenReturn(Mono.empty());
+    final CyclicBarrier arrived = new CyclicBarrier(2);
+    final Mono<ClientResponse> primary = doArrive(arrived, primaryResponse);
+    final Mono<ClientResponse> hedge = doArrive(arrived, hedgeResponse);
+
+    final ClientResponse result =
+        AbstractComicVineScrapingAction.doRace(primary, hedge).block(Duration.ofSeconds(5L));
+
+    assertNotNull(result);
+    final ClientResponse loser = result == primaryResponse ? hedgeResponse : primaryResponse;
+    Mockito.verify(loser, Mockito.timeout(5000L)).releaseBody();
+    Mockito.verify(result, Mockito.never()).releaseBody();
+  }
+
+  private static Mono<ClientResponse> doArrive(
+      final CyclicBarrier arrived, final ClientResponse response) {
+    // each response arrives on its own thread, at the same moment as the other
+    return Mono.create(
+        sink ->
+            new Thread(
+                    () -> {
+                      try {
+                        arrived.await(5L, TimeUnit.SECONDS);
+                        sink.success(response);
+                      } catch (Exception error) {
+                        sink.error(error);
+                      }
+                    })
+                .start());
+  }
 }
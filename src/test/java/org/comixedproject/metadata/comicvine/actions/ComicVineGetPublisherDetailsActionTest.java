@@ -24,6 +24,7 @@ import java.io.IOException;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.cache.ComicVineMetadataCache;
 import org.comixedproject.metadata.comicvine.model.ComicVinePublisher;
 import org.junit.After;
 import org.junit.Before;
@@ -51,13 +52,14 @@ public class ComicVineGetPublisherDetailsActionTest {
   @InjectMocks private ComicVineGetPublisherDetailsAction action;
 
   private MockWebServer comicVineServer;
+  private String hostname;
 
   @Before
   public void setUp() throws IOException {
     comicVineServer = new MockWebServer();
     comicVineServer.start();
 
-    final String hostname = String.format("http://localhost:%s", this.comicVineServer.getPort());
+    hostname = String.format("http://localhost:%s", this.comicVineServer.getPort());
     action.setApiUrl(hostname);
     action.setApiKey(TEST_API_KEY);
   }
@@ -104,4 +106,22 @@ public class ComicVineGetPublisherDetailsActionTest {
     assertFalse(result.getDescription().isEmpty());
     assertEquals(TEST_IMAGE_URL, result.getImage().getScreenUrl());
   }
+
+  @Test
+  public void testExecuteUsesCache() throws MetadataException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+    action.setCache(cache);
+    action.setApiUrl(hostname + "/api/publisher/4010-10/");
+
+    final ComicVinePublisher result = action.execute();
+
+    assertNotNull(result);
+    assertEquals(1, cache.getPublishers().size());
+    assertSame(result, action.execute());
+    assertEquals(1, this.comicVineServer.getRequestCount());
+  }
 }
@@ -125,4 +125,22 @@ public class ComicVineGetStoriesActionTest {
     assertEquals(TEST_REFERENCE_ID, story.getReferenceId());
     assertEquals(TEST_IMAGE_URL, story.getImageUrl());
   }
+
+  @Test
+  public void testExecuteIsRepeatable() throws MetadataException, InterruptedException {
+    for (int index = 0; index < 2; index++)
+      this.comicVineServer.enqueue(
+          new MockResponse()
+              .setBody(this.responseBody)
+              .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+    action.setMaxRecords(0);
+
+    final List<StoryMetadata> first = action.execute();
+    final List<StoryMetadata> second = action.execute();
+
+    assertEquals(first.size(), second.size());
+    assertEquals(
+        this.comicVineServer.takeRequest().getPath(), this.comicVineServer.takeRequest().getPath());
+  }
 }
@@ -0,0 +1,104 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import static junit.framework.TestCase.*;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.comixedproject.metadata.MetadataException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+public class ComicVineGetUpdatedRecordsActionTest {
+  private static final String TEST_API_KEY = "OICU812";
+  private static final Date TEST_UPDATED_SINCE = new Date(1760832000000L);
+  private static final Date TEST_UPDATED_UNTIL = new Date(1760918400000L);
+  private static final String TEST_FIRST_PAGE =
+      "{\"error\":\"OK\",\"limit\":2,\"offset\":0,\"number_of_page_results\":2,\"number_of_total_results\":3,\"status_code\":1,\"results\":[{\"id\":18005,\"date_last_updated\":\"2025-10-19"
+          + " 08:12:44\"},{\"id\":42562,\"date_last_updated\":\"2025-10-19 09:40:01\"}]}";
+  private static final String TEST_SECOND_PAGE =
+      "{\"error\":\"OK\",\"limit\":2,\"offset\":2,\"number_of_page_results\":1,\"number_of_total_results\":3,\"status_code\":1,\"results\":[{\"id\":7257,\"date_last_updated\":\"2025-10-19"
+          + " 11:03:27\"}]}";
+
+  private MockWebServer comicVineServer;
+  private ComicVineGetUpdatedRecordsAction action;
+
+  @Before
+  public void setUp() throws IOException {
+    comicVineServer = new MockWebServer();
+    comicVineServer.start();
+
+    action = new ComicVineGetUpdatedRecordsAction();
+    action.setBaseUrl(String.format("http://localhost:%s", this.comicVineServer.getPort()));
+    action.setApiKey(TEST_API_KEY);
+    action.setResource(ComicVineGetUpdatedRecordsAction.VOLUMES_RESOURCE);
+    action.setUpdatedSince(TEST_UPDATED_SINCE);
+    action.setUpdatedUntil(TEST_UPDATED_UNTIL);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    comicVineServer.shutdown();
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testExecuteMissingApiKey() throws MetadataException {
+    action.setApiKey("");
+    action.execute();
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testExecuteMissingUpdatedSince() throws MetadataException {
+    action.setUpdatedSince(null);
+    action.execute();
+  }
+
+  @Test
+  public void testExecute() throws MetadataException, InterruptedException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_FIRST_PAGE)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_SECOND_PAGE)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+    final List<String> result = action.execute();
+
+    assertEquals(List.of("18005", "42562", "7257"), result);
+
+    final RecordedRequest first = this.comicVineServer.takeRequest();
+    assertTrue(first.getPath().startsWith("/api/volumes/"));
+    assertTrue(
+        first
+            .getPath()
+            .contains(
+                "filter=date_last_updated:2025-10-19+00%3A00%3A00%7C2025-10-20+00%3A00%3A00"));
+    assertTrue(this.comicVineServer.takeRequest().getPath().contains("offset=2"));
+  }
+}
@@ -20,11 +20,15 @@ package org.comixedproject.metadata.comicvine.actions;
 
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
 
 import java.io.IOException;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.cache.ComicVineMetadataCache;
 import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
 import org.junit.After;
 import org.junit.Before;
@@ -48,13 +52,14 @@ public class ComicVineGetVolumeDetailsActionTest {
   @InjectMocks private ComicVineGetVolumeDetailsAction action;
 
   private MockWebServer comicVineServer;
+  private String hostname;
 
   @Before
   public void setUp() throws IOException {
     comicVineServer = new MockWebServer();
     comicVineServer.start();
 
-    final String hostname = String.format("http://localhost:%s", this.comicVineServer.getPort());
+    hostname = String.format("http://localhost:%s", this.comicVineServer.getPort());
     action.setApiKey(TEST_API_KEY);
     action.setApiUrl(hostname);
   }
@@ -98,4 +103,45 @@ public class ComicVineGetVolumeDetailsActionTest {
     assertEquals(TEST_NAME, result.getName());
     assertEquals(TEST_START_YEAR, result.getStartYear());
   }
+
+  @Test
+  public void testExecuteUsesCache() throws MetadataException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+    action.setCache(cache);
+    action.setApiUrl(hostname + "/api/volume/4050-39997/");
+
+    final ComicVineVolume result = action.execute();
+
+    assertNotNull(result);
+    assertEquals(1, cache.getVolumes().size());
+    assertSame(result, action.execute());
+    assertEquals(1, this.comicVineServer.getRequestCount());
+  }
+
+  @Test
+  public void testExecuteRevalidatesStaleRecord() throws MetadataException, InterruptedException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .addHeader(HttpHeaders.ETAG, "\"39997-1\""));
+    this.comicVineServer.enqueue(new MockResponse().setResponseCode(304));
+    final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+    cache.getVolumes().setTimeToLive(0L);
+    action.setCache(cache);
+    action.setApiUrl(hostname + "/api/volume/4050-39997/");
+
+    final ComicVineVolume result = action.execute();
+
+    assertSame(result, action.execute());
+    assertNull(this.comicVineServer.takeRequest().getHeader(HttpHeaders.IF_NONE_MATCH));
+    final RecordedRequest revalidation = this.comicVineServer.takeRequest();
+    assertEquals("\"39997-1\"", revalidation.getHeader(HttpHeaders.IF_NONE_MATCH));
+    assertEquals(1L, cache.getVolumes().getRevalidationHits());
+    assertEquals(1.0, cache.getVolumes().getRevalidationHitRate());
+  }
 }
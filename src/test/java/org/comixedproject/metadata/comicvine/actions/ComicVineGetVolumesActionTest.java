@@ -25,6 +25,9 @@ import java.util.List;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.cache.ComicVineMetadataCache;
+import org.comixedproject.metadata.comicvine.dump.ComicVineDataDump;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
 import org.comixedproject.metadata.model.VolumeMetadata;
 import org.junit.After;
 import org.junit.Before;
@@ -140,4 +143,95 @@ public class ComicVineGetVolumesActionTest {
     assertEquals(TEST_START_YEAR, volume.getStartYear());
     assertEquals(TEST_PUBLISHER_NAME, volume.getPublisher());
   }
+
+  @Test
+  public void testExecuteUsesIndex() throws MetadataException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_RESPONSE_BODY)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+    final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+    action.setCache(cache);
+    action.setMaxRecords(0);
+
+    final List<VolumeMetadata> searched = action.execute();
+
+    final ComicVineGetVolumesAction indexedAction = new ComicVineGetVolumesAction();
+    indexedAction.setBaseUrl(action.getBaseUrl());
+    indexedAction.setApiKey(TEST_API_KEY);
+    indexedAction.setCache(cache);
+    indexedAction.setSeries(TEST_VOLUME_NAME);
+    indexedAction.setMaxRecords(0);
+
+    final List<VolumeMetadata> result = indexedAction.execute();
+
+    assertEquals(1, this.comicVineServer.getRequestCount());
+    assertFalse(result.isEmpty());
+    assertTrue(result.size() <= searched.size());
+    assertEquals(TEST_VOLUME_NAME, result.get(0).getName());
+    assertEquals(TEST_ISSUE_COUNT.intValue(), result.get(0).getIssueCount());
+  }
+
+  @Test
+  public void testExecuteMinimalProfile() throws MetadataException, InterruptedException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_RESPONSE_BODY)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+    final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+    action.setCache(cache);
+    action.setProfile(ComicVineFieldProfile.MINIMAL);
+    action.setMaxRecords(0);
+
+    action.execute();
+
+    final String path = this.comicVineServer.takeRequest().getPath();
+    assertTrue(path.contains("field_list=id,name,count_of_issues,publisher,start_year"));
+    assertFalse(path.contains("image"));
+    assertNull(cache.getVolumeIndex().search(TEST_VOLUME_NAME, 0));
+  }
+
+  @Test
+  public void testExecuteFromDataDump() throws MetadataException {
+    final ComicVineVolume volume = new ComicVineVolume();
+    volume.setId("18005");
+    volume.setName(TEST_VOLUME_NAME);
+    volume.setIssueCount(TEST_ISSUE_COUNT);
+    volume.setStartYear(TEST_START_YEAR);
+    final ComicVineDataDump dataDump = new ComicVineDataDump();
+    dataDump.addVolume(volume);
+    action.setDataDump(dataDump);
+    action.setMaxRecords(0);
+
+    final List<VolumeMetadata> result = action.execute();
+
+    assertEquals(1, result.size());
+    assertEquals("18005", result.get(0).getId());
+    assertEquals(TEST_START_YEAR, result.get(0).getStartYear());
+    assertEquals(0, comicVineServer.getRequestCount());
+  }
+
+  @Test
+  public void testExecuteUsesDataDumpBeforeIndex() throws MetadataException {
+    final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+    final VolumeMetadata indexed = new VolumeMetadata();
+    indexed.setId("43539");
+    indexed.setName(TEST_VOLUME_NAME);
+    cache.getVolumeIndex().addSearch(TEST_VOLUME_NAME, List.of(indexed), true);
+    final ComicVineVolume volume = new ComicVineVolume();
+    volume.setId("18005");
+    volume.setName(TEST_VOLUME_NAME);
+    final ComicVineDataDump dataDump = new ComicVineDataDump();
+    dataDump.addVolume(volume);
+    action.setCache(cache);
+    action.setDataDump(dataDump);
+    action.setMaxRecords(0);
+
+    final List<VolumeMetadata> result = action.execute();
+
+    assertEquals(1, result.size());
+    assertEquals("18005", result.get(0).getId());
+  }
 }
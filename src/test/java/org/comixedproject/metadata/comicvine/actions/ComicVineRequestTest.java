@@ -0,0 +1,90 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import static junit.framework.TestCase.*;
+
+import org.junit.Test;
+
+public class ComicVineRequestTest {
+  private static final String TEST_BASE_URL = "http://localhost:8080";
+  private static final String TEST_API_KEY = "OICU812";
+
+  @Test
+  public void testToUrl() {
+    final ComicVineRequest request =
+        ComicVineRequest.builder()
+            .addFilter("name", "Spider Man")
+            .addParameter("limit", "100")
+            .addField("id")
+            .addField("name")
+            .build();
+
+    assertEquals(
+        TEST_BASE_URL
+            + "/api/search/?api_key="
+            + TEST_API_KEY
+            + "&format=json&filter=name:Spider+Man&limit=100&field_list=id,name",
+        request.toUrl(TEST_BASE_URL, "search", TEST_API_KEY));
+  }
+
+  @Test
+  public void testToUrlWithoutEndpoint() {
+    final ComicVineRequest request = ComicVineRequest.builder().addField("id").build();
+
+    assertEquals(
+        TEST_BASE_URL + "?api_key=" + TEST_API_KEY + "&format=json&field_list=id",
+        request.toUrl(TEST_BASE_URL, null, TEST_API_KEY));
+  }
+
+  @Test
+  public void testSetPage() {
+    final ComicVineRequest.Builder builder = ComicVineRequest.builder().setPage(2);
+    assertEquals("2", builder.build().getParameters().get("page"));
+
+    builder.setPage(1);
+    assertFalse(builder.build().getParameters().containsKey("page"));
+  }
+
+  @Test
+  public void testBuiltRequestIsNotChangedByItsBuilder() {
+    final ComicVineRequest.Builder builder = ComicVineRequest.builder().addField("id");
+    final ComicVineRequest request = builder.build();
+
+    builder.addField("name").addFilter("name", "value");
+
+    assertEquals(1, request.getFields().size());
+    assertTrue(request.getFilters().isEmpty());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testRequestIsImmutable() {
+    ComicVineRequest.builder().build().getFields().add("id");
+  }
+
+  @Test
+  public void testToBuilder() {
+    final ComicVineRequest request = ComicVineRequest.builder().addField("id").build();
+
+    final ComicVineRequest result = request.toBuilder().addField("name").build();
+
+    assertEquals(1, request.getFields().size());
+    assertEquals(2, result.getFields().size());
+  }
+}
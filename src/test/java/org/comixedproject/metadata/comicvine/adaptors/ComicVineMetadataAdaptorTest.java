@@ -20,12 +20,26 @@ package org.comixedproject.metadata.comicvine.adaptors;
 
 import static junit.framework.TestCase.*;
 import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_API_KEY;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_CACHE_SNAPSHOT;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_OFF_HEAP_CACHE_SIZE;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.actions.ComicVineFieldProfile;
 import org.comixedproject.metadata.comicvine.actions.ComicVineGetIssueAction;
 import org.comixedproject.metadata.comicvine.actions.ComicVineGetIssueDetailsAction;
+import org.comixedproject.metadata.comicvine.actions.ComicVineGetUpdatedRecordsAction;
 import org.comixedproject.metadata.comicvine.actions.ComicVineGetVolumesAction;
+import org.comixedproject.metadata.comicvine.cache.ComicVineMetadataCache;
+import org.comixedproject.metadata.comicvine.cache.ComicVineSyncResult;
+import org.comixedproject.metadata.comicvine.dump.ComicVineDataDump;
+import org.comixedproject.metadata.comicvine.http.ComicVineObjectMapper;
+import org.comixedproject.metadata.comicvine.model.ComicVinePublisher;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+import org.comixedproject.metadata.comicvine.ratelimit.ComicVineRequestPriority;
 import org.comixedproject.metadata.model.IssueDetailsMetadata;
 import org.comixedproject.metadata.model.IssueMetadata;
 import org.comixedproject.metadata.model.VolumeMetadata;
@@ -63,6 +77,9 @@ public class ComicVineMetadataAdaptorTest {
   @Mock private ComicVineGetVolumesAction getVolumesAction;
   @Mock private ComicVineGetIssueAction getIssueAction;
   @Mock private ComicVineGetIssueDetailsAction getIssueDetailsAction;
+  @Mock private ComicVineGetUpdatedRecordsAction getUpdatedVolumesAction;
+  @Mock private ComicVineGetUpdatedRecordsAction getUpdatedIssuesAction;
+  @Mock private ComicVineVolume comicVineVolume;
   @Mock private VolumeMetadata volumeMetadata;
   @Mock private IssueMetadata issueMetadata;
   @Mock private IssueDetailsMetadata issueDetailsMetadata;
@@ -153,6 +170,90 @@ public class ComicVineMetadataAdaptorTest {
     Mockito.verify(getIssueAction, Mockito.times(1)).setVolumeId(TEST_VOLUME_ID);
   }
 
+  @Test
+  public void testGetIssue_noResultsIsRemembered() throws MetadataException {
+    final ComicVineMetadataAdaptor cachingAdaptor =
+        new ComicVineMetadataAdaptor(new ComicVineMetadataCache());
+    Mockito.when(getIssueAction.execute()).thenReturn(issueMetadataList);
+
+    assertNull(
+        cachingAdaptor.doGetIssue(
+            TEST_VOLUME_ID, TEST_ISSUE_NUMBER, metadataSource, getIssueAction));
+    assertNull(
+        cachingAdaptor.doGetIssue(
+            TEST_VOLUME_ID, TEST_ISSUE_NUMBER, metadataSource, getIssueAction));
+
+    Mockito.verify(getIssueAction, Mockito.times(1)).execute();
+  }
+
+  @Test
+  public void testGetVolumes_dataDumpBeforeKnownMiss() throws MetadataException {
+    final ComicVineMetadataAdaptor cachingAdaptor =
+        new ComicVineMetadataAdaptor(new ComicVineMetadataCache());
+    Mockito.when(getVolumesAction.execute()).thenReturn(new ArrayList<>(), volumeMetadataList);
+    cachingAdaptor.doGetVolumes(TEST_SERIES_NAME, 0, metadataSource, getVolumesAction);
+    final ComicVineVolume volume = new ComicVineVolume();
+    volume.setId(TEST_VOLUME_ID);
+    volume.setName(TEST_SERIES_NAME);
+    final ComicVineDataDump dataDump = new ComicVineDataDump();
+    dataDump.addVolume(volume);
+    Mockito.when(getVolumesAction.getDataDump()).thenReturn(dataDump);
+    volumeMetadataList.add(volumeMetadata);
+
+    final List<VolumeMetadata> result =
+        cachingAdaptor.doGetVolumes(TEST_SERIES_NAME, 0, metadataSource, getVolumesAction);
+
+    assertEquals(1, result.size());
+    Mockito.verify(getVolumesAction, Mockito.times(2)).execute();
+  }
+
+  @Test
+  public void testStartAppliesOffHeapCapacity() throws MetadataException {
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(metadataSource, PROPERTY_OFF_HEAP_CACHE_SIZE, "4"));
+    final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+
+    new ComicVineMetadataAdaptor(cache).start(metadataSource);
+
+    assertEquals(4L * 1024L * 1024L, cache.getOffHeapCapacity());
+    assertNotNull(cache.getIssues().getOffHeapStore());
+  }
+
+  @Test
+  public void testStartLoadsSnapshot() throws MetadataException, IOException {
+    final ComicVineMetadataCache source = new ComicVineMetadataCache();
+    final ComicVinePublisher publisher =
+        ComicVineObjectMapper.getReader(ComicVinePublisher.class)
+            .readValue("{\"id\":10,\"name\":\"DC Comics\"}");
+    source.getPublishers().put(10L, publisher);
+    final Path snapshot = Files.createTempFile("comicvine-snapshot", ".bin");
+    snapshot.toFile().deleteOnExit();
+    source.exportSnapshot(snapshot);
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(metadataSource, PROPERTY_CACHE_SNAPSHOT, snapshot.toString()));
+    final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+
+    new ComicVineMetadataAdaptor(cache).start(metadataSource);
+
+    assertEquals(1, cache.getPublishers().size());
+    assertEquals("DC Comics", cache.getPublishers().get(10L).getName());
+  }
+
+  @Test
+  public void testCopy() {
+    final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+    final ComicVineMetadataAdaptor original = new ComicVineMetadataAdaptor(cache);
+    original.setSearchProfile(ComicVineFieldProfile.FULL);
+
+    final ComicVineMetadataAdaptor result = original.copy();
+    result.setPriority(ComicVineRequestPriority.BACKGROUND);
+
+    assertNotSame(original, result);
+    assertSame(cache, result.getCache());
+    assertEquals(ComicVineFieldProfile.FULL, result.getSearchProfile());
+    assertEquals(ComicVineRequestPriority.INTERACTIVE, original.getPriority());
+  }
+
   @Test
   public void testGetIssue() throws MetadataException {
     issueMetadataList.add(issueMetadata);
@@ -236,6 +337,38 @@ public class ComicVineMetadataAdaptorTest {
     Mockito.verify(getIssueDetailsAction, Mockito.times(1)).setIssueId(TEST_ISSUE_ID);
   }
 
+  @Test
+  public void testSynchronize() throws MetadataException {
+    final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+    cache.getVolumes().put(Long.parseLong(TEST_VOLUME_ID), comicVineVolume);
+    final Date updatedSince = new Date(0L);
+    final Date updatedUntil = new Date();
+    Mockito.when(getUpdatedVolumesAction.execute()).thenReturn(List.of(TEST_VOLUME_ID));
+    Mockito.when(getUpdatedIssuesAction.execute()).thenReturn(List.of(TEST_ISSUE_ID));
+
+    final ComicVineSyncResult result =
+        new ComicVineMetadataAdaptor(cache)
+            .doSynchronize(
+                updatedSince,
+                updatedUntil,
+                metadataSource,
+                getUpdatedVolumesAction,
+                getUpdatedIssuesAction);
+
+    assertNotNull(result);
+    assertSame(updatedUntil, result.getUpdatedUntil());
+    assertEquals(List.of(TEST_VOLUME_ID), result.getVolumeIds());
+    assertEquals(List.of(TEST_ISSUE_ID), result.getIssueIds());
+    assertEquals(0, cache.getVolumes().size());
+
+    Mockito.verify(getUpdatedVolumesAction, Mockito.times(1))
+        .setResource(ComicVineGetUpdatedRecordsAction.VOLUMES_RESOURCE);
+    Mockito.verify(getUpdatedIssuesAction, Mockito.times(1))
+        .setResource(ComicVineGetUpdatedRecordsAction.ISSUES_RESOURCE);
+    Mockito.verify(getUpdatedIssuesAction, Mockito.times(1)).setUpdatedSince(updatedSince);
+    Mockito.verify(getUpdatedIssuesAction, Mockito.times(1)).setUpdatedUntil(updatedUntil);
+  }
+
   @Test
   public void testGetReferenceId() {
     final String result = adaptor.getReferenceId(TEST_WEB_ADDRESS);
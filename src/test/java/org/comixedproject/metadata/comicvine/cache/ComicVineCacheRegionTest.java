@@ -0,0 +1,355 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.cache;
+
+import static junit.framework.TestCase.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.comixedproject.metadata.comicvine.http.ComicVineObjectMapper;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineCacheRegionTest {
+  private static final long TEST_ID = 18005L;
+  private static final String TEST_VALUE = "Action Comics";
+  private static final String TEST_ETAG = "\"abc123\"";
+  private static final String TEST_ISSUE =
+      "{\"id\":\"18005\",\"issue_number\":\"1\",\"name\":\"Superman, Champion of the"
+          + " Oppressed!\",\"cover_date\":\"1938-06-01\",\"image\":{\"original_url\":\"http://localhost/1.jpg\"}}";
+
+  private ComicVineCacheRegion<String> region;
+
+  @Before
+  public void setUp() {
+    region = new ComicVineCacheRegion<>("test", 3, 60000L);
+  }
+
+  @Test
+  public void testGetMiss() {
+    assertNull(region.get(TEST_ID));
+    assertEquals(1L, region.getMisses());
+  }
+
+  @Test
+  public void testPutAndGet() {
+    region.put(TEST_ID, TEST_VALUE);
+
+    assertEquals(TEST_VALUE, region.get(TEST_ID));
+    assertEquals(1L, region.getHits());
+  }
+
+  @Test
+  public void testExpiredEntry() {
+    region.setTimeToLive(0L);
+    region.put(TEST_ID, TEST_VALUE);
+
+    assertNull(region.get(TEST_ID));
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() {
+    region.put(1L, "one");
+    region.put(2L, "two");
+    region.put(3L, "three");
+    region.get(1L);
+    region.put(4L, "four");
+
+    assertEquals(3, region.size());
+    assertEquals("one", region.get(1L));
+    assertNull(region.get(2L));
+  }
+
+  @Test
+  public void testInvalidate() {
+    region.put(TEST_ID, TEST_VALUE);
+    region.invalidate(TEST_ID);
+
+    assertNull(region.get(TEST_ID));
+  }
+
+  @Test
+  public void testRevalidatedRenewsStaleEntry() {
+    region.setTimeToLive(0L);
+    region.put(TEST_ID, TEST_VALUE, "\"etag\"", null);
+    assertNull(region.get(TEST_ID));
+    assertTrue(region.getEntry(TEST_ID).hasValidator());
+
+    region.setTimeToLive(60000L);
+
+    assertEquals(TEST_VALUE, region.revalidated(TEST_ID, true));
+    assertEquals(TEST_VALUE, region.get(TEST_ID));
+    assertEquals("\"etag\"", region.getEntry(TEST_ID).getEtag());
+  }
+
+  @Test
+  public void testRevalidationHitRate() {
+    region.put(TEST_ID, TEST_VALUE);
+
+    assertNull(region.revalidated(TEST_ID, false));
+    region.revalidated(TEST_ID, true);
+
+    assertEquals(2L, region.getRevalidations());
+    assertEquals(0.5, region.getRevalidationHitRate());
+  }
+
+  @Test
+  public void testGetDetailId() {
+    assertEquals(
+        Long.valueOf(18005L),
+        ComicVineMetadataCache.getDetailId(
+            "https://comicvine.gamespot.com/api/volume/4050-18005/"));
+    assertEquals(
+        Long.valueOf(10L),
+        ComicVineMetadataCache.getDetailId("https://comicvine.gamespot.com/api/publisher/4010-10"));
+    assertNull(ComicVineMetadataCache.getDetailId("http://localhost:8080"));
+    assertNull(ComicVineMetadataCache.getDetailId(null));
+  }
+
+  @Test
+  public void testPutWithoutTimeToLive() {
+    region.setTimeToLive(Long.MAX_VALUE);
+
+    region.put(TEST_ID, TEST_VALUE);
+
+    assertEquals(Long.MAX_VALUE, region.getEntry(TEST_ID).getExpires());
+    assertEquals(TEST_VALUE, region.get(TEST_ID));
+  }
+
+  @Test
+  public void testOffHeapStoreKeepsRecordsEvictedFromHeap() {
+    region.setOffHeapStore(new ComicVineOffHeapStore(4096), String.class);
+    for (long id = 1L; id <= 10L; id++) region.put(id, TEST_VALUE + id);
+
+    assertEquals(10, region.size());
+    assertEquals(TEST_VALUE + 1L, region.get(1L));
+    assertEquals(1L, region.getHits());
+    assertEquals(0L, region.getMisses());
+  }
+
+  @Test
+  public void testOffHeapStoreKeepsValidators() {
+    region.setOffHeapStore(new ComicVineOffHeapStore(4096), String.class);
+    region.setTimeToLive(0L);
+    region.put(TEST_ID, TEST_VALUE, TEST_ETAG, null);
+    region.setTimeToLive(60000L);
+    for (long id = 1L; id <= 3L; id++) region.put(id, TEST_VALUE);
+
+    final ComicVineCacheEntry<String> entry = region.getEntry(TEST_ID);
+
+    assertNotNull(entry);
+    assertEquals(TEST_ETAG, entry.getEtag());
+    assertNull(entry.getLastModified());
+    assertEquals(TEST_VALUE, region.revalidated(TEST_ID, true));
+    assertEquals(TEST_VALUE, region.get(TEST_ID));
+  }
+
+  @Test
+  public void testOffHeapStoreInvalidate() {
+    region.setOffHeapStore(new ComicVineOffHeapStore(4096), String.class);
+    for (long id = 1L; id <= 5L; id++) region.put(id, TEST_VALUE);
+
+    region.invalidate(1L);
+
+    assertNull(region.get(1L));
+    assertEquals(4, region.size());
+  }
+
+  @Test
+  public void testOffHeapStoreForEach() {
+    region.setOffHeapStore(new ComicVineOffHeapStore(4096), String.class);
+    for (long id = 1L; id <= 5L; id++) region.put(id, TEST_VALUE + id);
+    final List<String> result = new ArrayList<>();
+
+    region.forEach(result::add);
+
+    assertEquals(5, result.size());
+  }
+
+  @Test
+  public void testReplacingOffHeapStoreMovesRecords() {
+    region.setOffHeapStore(new ComicVineOffHeapStore(4096), String.class);
+    for (long id = 1L; id <= 5L; id++) region.put(id, TEST_VALUE + id);
+
+    region.setOffHeapStore(new ComicVineOffHeapStore(8192), String.class);
+
+    assertEquals(5, region.size());
+    assertEquals(TEST_VALUE + 1L, region.get(1L));
+  }
+
+  @Test
+  public void testRemovingOffHeapStoreMovesRecordsToHeap() {
+    region.setOffHeapStore(new ComicVineOffHeapStore(4096), String.class);
+    region.put(TEST_ID, TEST_VALUE);
+    for (long id = 1L; id <= 3L; id++) region.put(id, TEST_VALUE + id);
+    region.setMaximumEntries(5);
+
+    region.setOffHeapStore(null, String.class);
+
+    assertEquals(4, region.size());
+    assertEquals(TEST_VALUE, region.get(TEST_ID));
+  }
+
+  @Test
+  public void testChangingOffHeapCapacityKeepsRecords() throws IOException {
+    final ComicVineMetadataCache cache = new ComicVineMetadataCache();
+    final ComicVineIssue issue =
+        ComicVineObjectMapper.getReader(ComicVineIssue.class).readValue(TEST_ISSUE);
+    cache.getIssues().put(TEST_ID, issue);
+
+    cache.setOffHeapCapacity(1024L * 1024L);
+    cache.setOffHeapCapacity(2L * 1024L * 1024L);
+    cache.setOffHeapCapacity(0L);
+
+    assertEquals(1, cache.getIssues().size());
+    assertEquals(issue.getTitle(), cache.getIssues().get(TEST_ID).getTitle());
+  }
+
+  @Test
+  public void testForEachSerializedReleasesRegion() throws InterruptedException {
+    region.setOffHeapStore(new ComicVineOffHeapStore(4096), String.class);
+    region.put(TEST_ID, TEST_VALUE);
+    final List<Long> result = new ArrayList<>();
+    final Thread writer = new Thread(() -> region.put(TEST_ID + 1L, TEST_VALUE));
+
+    region.forEachSerialized(
+        (id, data) -> {
+          writer.start();
+          try {
+            writer.join(5000L);
+          } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+          }
+          result.add(id);
+        });
+
+    assertFalse(writer.isAlive());
+    assertEquals(List.of(TEST_ID), result);
+    assertEquals(2, region.size());
+  }
+
+  @Test
+  public void testOffHeapStoreReadsModelRecords() throws IOException {
+    final ComicVineCacheRegion<ComicVineIssue> issues =
+        new ComicVineCacheRegion<>("issues", 1, 60000L);
+    issues.setOffHeapStore(new ComicVineOffHeapStore(4096), ComicVineIssue.class);
+    final ComicVineIssue issue =
+        ComicVineObjectMapper.getReader(ComicVineIssue.class).readValue(TEST_ISSUE);
+    issues.put(TEST_ID, issue);
+    issues.put(TEST_ID + 1L, issue);
+
+    final ComicVineIssue result = issues.get(TEST_ID);
+
+    assertNotSame(issue, result);
+    assertEquals(issue.getId(), result.getId());
+    assertEquals(issue.getTitle(), result.getTitle());
+    assertEquals(issue.getCoverDate(), result.getCoverDate());
+    assertEquals(issue.getImage().getOriginalUrl(), result.getImage().getOriginalUrl());
+  }
+
+  @Test
+  public void testSharedCacheServesOtherNodes() {
+    final ComicVineLocalSharedCache shared = new ComicVineLocalSharedCache();
+    final ComicVineCacheRegion<String> otherNode = new ComicVineCacheRegion<>("test", 3, 60000L);
+    region.setSharedCache(shared, String.class);
+    otherNode.setSharedCache(shared, String.class);
+
+    region.put(TEST_ID, TEST_VALUE, TEST_ETAG, null);
+
+    assertEquals(1, shared.size());
+    assertEquals(TEST_VALUE, otherNode.get(TEST_ID));
+    assertEquals(TEST_ETAG, otherNode.getEntry(TEST_ID).getEtag());
+    assertEquals(1, otherNode.size());
+  }
+
+  @Test
+  public void testSharedCacheReplacesStaleCopy() {
+    final ComicVineLocalSharedCache shared = new ComicVineLocalSharedCache();
+    final ComicVineCacheRegion<String> otherNode = new ComicVineCacheRegion<>("test", 3, 60000L);
+    region.setSharedCache(shared, String.class);
+    otherNode.setSharedCache(shared, String.class);
+    otherNode.setTimeToLive(0L);
+    otherNode.put(TEST_ID, "stale");
+
+    region.put(TEST_ID, TEST_VALUE);
+
+    assertEquals(TEST_VALUE, otherNode.get(TEST_ID));
+  }
+
+  @Test
+  public void testSharedCacheBroadcastsInvalidation() {
+    final ComicVineLocalSharedCache shared = new ComicVineLocalSharedCache();
+    final ComicVineCacheRegion<String> otherNode = new ComicVineCacheRegion<>("test", 3, 60000L);
+    final ComicVineCacheRegion<String> otherRegion = new ComicVineCacheRegion<>("other", 3, 60000L);
+    region.setSharedCache(shared, String.class);
+    otherNode.setSharedCache(shared, String.class);
+    otherRegion.setSharedCache(shared, String.class);
+    region.put(TEST_ID, TEST_VALUE);
+    otherRegion.put(TEST_ID, TEST_VALUE);
+    assertEquals(TEST_VALUE, otherNode.get(TEST_ID));
+
+    region.invalidate(TEST_ID);
+
+    assertNull(otherNode.get(TEST_ID));
+    assertNull(region.get(TEST_ID));
+    assertEquals(TEST_VALUE, otherRegion.get(TEST_ID));
+  }
+
+  @Test
+  public void testSharedCacheReadOutsideRegion() {
+    final List<Boolean> released = new ArrayList<>();
+    final ComicVineLocalSharedCache shared =
+        new ComicVineLocalSharedCache() {
+          @Override
+          public byte[] get(final String name, final long id) {
+            final Thread reader = new Thread(() -> region.size());
+            reader.start();
+            try {
+              reader.join(5000L);
+            } catch (InterruptedException error) {
+              Thread.currentThread().interrupt();
+            }
+            released.add(!reader.isAlive());
+            return super.get(name, id);
+          }
+        };
+    final ComicVineCacheRegion<String> otherNode = new ComicVineCacheRegion<>("test", 3, 60000L);
+    region.setSharedCache(shared, String.class);
+    otherNode.setSharedCache(shared, String.class);
+    otherNode.put(TEST_ID, TEST_VALUE);
+
+    assertEquals(TEST_VALUE, region.get(TEST_ID));
+    assertEquals(List.of(true), released);
+    assertEquals(1, region.size());
+  }
+
+  @Test
+  public void testSharedCacheRemoved() {
+    final ComicVineLocalSharedCache shared = new ComicVineLocalSharedCache();
+    region.setSharedCache(shared, String.class);
+    region.put(TEST_ID, TEST_VALUE);
+    region.setSharedCache(null, String.class);
+
+    shared.invalidate("test", TEST_ID);
+
+    assertEquals(TEST_VALUE, region.get(TEST_ID));
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.cache;
+
+import static junit.framework.TestCase.*;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import org.comixedproject.metadata.comicvine.http.ComicVineObjectMapper;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVinePublisher;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ComicVineCacheSnapshotTest {
+  private static final long TEST_ISSUE_ID = 105403L;
+  private static final long TEST_VOLUME_ID = 18005L;
+  private static final long TEST_PUBLISHER_ID = 10L;
+  private static final String TEST_ETAG = "\"abc123\"";
+  private static final String TEST_ISSUE =
+      "{\"id\":\"105403\",\"issue_number\":\"1\",\"volume\":{\"id\":18005,\"name\":\"Action"
+          + " Comics\"}}";
+  private static final String TEST_VOLUME = "{\"id\":18005,\"name\":\"Action Comics\"}";
+  private static final String TEST_PUBLISHER = "{\"id\":10,\"name\":\"DC Comics\"}";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private ComicVineMetadataCache cache;
+  private ComicVineCacheSnapshot snapshot = new ComicVineCacheSnapshot();
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    cache = new ComicVineMetadataCache();
+    cache
+        .getIssues()
+        .put(TEST_ISSUE_ID, this.doRead(TEST_ISSUE, ComicVineIssue.class), TEST_ETAG, null);
+    cache.getVolumes().put(TEST_VOLUME_ID, this.doRead(TEST_VOLUME, ComicVineVolume.class));
+    cache
+        .getPublishers()
+        .put(TEST_PUBLISHER_ID, this.doRead(TEST_PUBLISHER, ComicVinePublisher.class));
+    file = folder.getRoot().toPath().resolve("cache.snapshot");
+  }
+
+  @Test
+  public void testWriteAndRead() throws IOException {
+    assertEquals(3, snapshot.write(cache, file));
+
+    final ComicVineMetadataCache loaded = new ComicVineMetadataCache();
+    assertEquals(3, snapshot.read(loaded, file));
+
+    assertEquals("1", loaded.getIssues().get(TEST_ISSUE_ID).getIssueNumber());
+    assertEquals(TEST_ETAG, loaded.getIssues().getEntry(TEST_ISSUE_ID).getEtag());
+    assertEquals(
+        cache.getIssues().getEntry(TEST_ISSUE_ID).getExpires(),
+        loaded.getIssues().getEntry(TEST_ISSUE_ID).getExpires());
+    assertEquals("Action Comics", loaded.getVolumes().get(TEST_VOLUME_ID).getName());
+    assertEquals("DC Comics", loaded.getPublishers().get(TEST_PUBLISHER_ID).getName());
+    assertFalse(Files.exists(file.resolveSibling("cache.snapshot.tmp")));
+  }
+
+  @Test
+  public void testWriteSplitsRegionsIntoShards() throws IOException {
+    final ComicVineIssue issue = cache.getIssues().get(TEST_ISSUE_ID);
+    for (long id = 1L; id <= ComicVineCacheSnapshot.SHARD_SIZE; id++)
+      cache.getIssues().put(id, issue);
+
+    snapshot.write(cache, file);
+
+    try (ZipFile zip = new ZipFile(file.toFile())) {
+      assertNotNull(zip.getEntry("issues/00000"));
+      assertNotNull(zip.getEntry("issues/00001"));
+      assertNull(zip.getEntry("issues/00002"));
+    }
+    final ComicVineMetadataCache loaded = new ComicVineMetadataCache();
+    assertEquals(ComicVineCacheSnapshot.SHARD_SIZE + 3, snapshot.read(loaded, file));
+    assertEquals(ComicVineCacheSnapshot.SHARD_SIZE + 1, loaded.getIssues().size());
+  }
+
+  @Test
+  public void testReadOffHeapCache() throws IOException {
+    cache.setOffHeapCapacity(1024L * 1024L);
+    snapshot.write(cache, file);
+
+    final ComicVineMetadataCache loaded = new ComicVineMetadataCache();
+    loaded.setOffHeapCapacity(1024L * 1024L);
+
+    assertEquals(3, snapshot.read(loaded, file));
+    assertEquals(1, loaded.getIssues().getOffHeapStore().size());
+    assertEquals(TEST_ETAG, loaded.getIssues().getEntry(TEST_ISSUE_ID).getEtag());
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadUnsupportedVersion() throws IOException {
+    try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(file))) {
+      final DataOutputStream data = new DataOutputStream(output);
+      output.putNextEntry(new ZipEntry(ComicVineCacheSnapshot.MANIFEST_ENTRY));
+      data.writeInt(ComicVineCacheSnapshot.MAGIC);
+      data.writeInt(ComicVineCacheSnapshot.FORMAT_VERSION + 1);
+      data.writeLong(0L);
+      output.closeEntry();
+    }
+
+    snapshot.read(new ComicVineMetadataCache(), file);
+  }
+
+  @Test
+  public void testImportSnapshotOnlyOnce() throws IOException {
+    cache.exportSnapshot(file);
+    final ComicVineMetadataCache loaded = new ComicVineMetadataCache();
+
+    assertEquals(3, loaded.importSnapshot(file));
+    assertEquals(0, loaded.importSnapshot(file));
+    assertEquals(file.toAbsolutePath(), loaded.getSnapshotFile());
+  }
+
+  private <T> T doRead(final String json, final Class<T> type) throws IOException {
+    return ComicVineObjectMapper.getReader(type).readValue(json);
+  }
+}
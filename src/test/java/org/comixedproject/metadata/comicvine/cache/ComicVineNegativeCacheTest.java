@@ -0,0 +1,109 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.cache;
+
+import static junit.framework.TestCase.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineNegativeCacheTest {
+  private static final String TEST_VOLUME_ID = "18005";
+  private static final String TEST_ISSUE_NUMBER = "1A";
+  private static final String TEST_SERIES_NAME = "Action  Comics Annual";
+
+  private ComicVineNegativeCache negativeCache;
+
+  @Before
+  public void setUp() {
+    negativeCache = new ComicVineNegativeCache(3, 60000L);
+  }
+
+  @Test
+  public void testUnknownLookup() {
+    assertFalse(
+        negativeCache.isKnownMiss(
+            ComicVineNegativeCache.getIssueKey(TEST_VOLUME_ID, TEST_ISSUE_NUMBER)));
+    assertEquals(1L, negativeCache.getMisses());
+  }
+
+  @Test
+  public void testRecordedMiss() {
+    negativeCache.recordMiss(ComicVineNegativeCache.getIssueKey(TEST_VOLUME_ID, TEST_ISSUE_NUMBER));
+
+    assertTrue(
+        negativeCache.isKnownMiss(ComicVineNegativeCache.getIssueKey(TEST_VOLUME_ID, " 1a ")));
+    assertEquals(1L, negativeCache.getHits());
+    assertEquals(1L, negativeCache.getRecorded());
+  }
+
+  @Test
+  public void testSearchKeyIsNormalized() {
+    negativeCache.recordMiss(ComicVineNegativeCache.getSearchKey(TEST_SERIES_NAME));
+
+    assertTrue(
+        negativeCache.isKnownMiss(ComicVineNegativeCache.getSearchKey("action comics annual")));
+  }
+
+  @Test
+  public void testExpiredEntry() {
+    negativeCache.setTimeToLive(0L);
+    negativeCache.recordMiss(ComicVineNegativeCache.getSearchKey(TEST_SERIES_NAME));
+
+    assertFalse(negativeCache.isKnownMiss(ComicVineNegativeCache.getSearchKey(TEST_SERIES_NAME)));
+    assertEquals(0, negativeCache.size());
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() {
+    negativeCache.recordMiss("one");
+    negativeCache.recordMiss("two");
+    negativeCache.recordMiss("three");
+    negativeCache.isKnownMiss("one");
+    negativeCache.recordMiss("four");
+
+    assertEquals(3, negativeCache.size());
+    assertTrue(negativeCache.isKnownMiss("one"));
+    assertFalse(negativeCache.isKnownMiss("two"));
+  }
+
+  @Test
+  public void testInvalidateVolume() {
+    negativeCache.recordMiss(ComicVineNegativeCache.getIssueKey(TEST_VOLUME_ID, TEST_ISSUE_NUMBER));
+    negativeCache.recordMiss(ComicVineNegativeCache.getIssueKey("1800", TEST_ISSUE_NUMBER));
+
+    negativeCache.invalidateVolume(TEST_VOLUME_ID);
+
+    assertFalse(
+        negativeCache.isKnownMiss(
+            ComicVineNegativeCache.getIssueKey(TEST_VOLUME_ID, TEST_ISSUE_NUMBER)));
+    assertTrue(
+        negativeCache.isKnownMiss(ComicVineNegativeCache.getIssueKey("1800", TEST_ISSUE_NUMBER)));
+  }
+
+  @Test
+  public void testInvalidateSearches() {
+    negativeCache.recordMiss(ComicVineNegativeCache.getSearchKey(TEST_SERIES_NAME));
+    negativeCache.recordMiss(ComicVineNegativeCache.getIssueKey(TEST_VOLUME_ID, TEST_ISSUE_NUMBER));
+
+    negativeCache.invalidateSearches();
+
+    assertEquals(1, negativeCache.size());
+  }
+}
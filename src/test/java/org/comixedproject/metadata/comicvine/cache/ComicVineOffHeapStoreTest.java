@@ -0,0 +1,118 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.cache;
+
+import static junit.framework.TestCase.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineOffHeapStoreTest {
+  private static final long TEST_ID = 18005L;
+  private static final int TEST_CAPACITY = 1024;
+  private static final int TEST_RECORD_SIZE = 100;
+
+  private ComicVineOffHeapStore store;
+
+  @Before
+  public void setUp() {
+    store = new ComicVineOffHeapStore(TEST_CAPACITY);
+  }
+
+  @Test
+  public void testGetMissing() {
+    assertNull(store.get(TEST_ID));
+  }
+
+  @Test
+  public void testPutAndGet() {
+    assertTrue(store.put(TEST_ID, doCreateRecord(TEST_ID)));
+
+    assertTrue(Arrays.equals(doCreateRecord(TEST_ID), store.get(TEST_ID)));
+    assertEquals(1, store.size());
+  }
+
+  @Test
+  public void testPutReplaces() {
+    store.put(TEST_ID, doCreateRecord(1L));
+    store.put(TEST_ID, doCreateRecord(2L));
+
+    assertTrue(Arrays.equals(doCreateRecord(2L), store.get(TEST_ID)));
+    assertEquals(1, store.size());
+  }
+
+  @Test
+  public void testPutTooLarge() {
+    assertFalse(store.put(TEST_ID, new byte[TEST_CAPACITY]));
+    assertNull(store.get(TEST_ID));
+  }
+
+  @Test
+  public void testRemove() {
+    store.put(TEST_ID, doCreateRecord(TEST_ID));
+
+    store.remove(TEST_ID);
+
+    assertNull(store.get(TEST_ID));
+    assertEquals(0, store.size());
+  }
+
+  @Test
+  public void testDropsOldestWhenFull() {
+    for (long id = 1L; id <= 100L; id++) store.put(id, doCreateRecord(id));
+
+    assertNull(store.get(1L));
+    assertTrue(store.size() < 100);
+    final int held = store.size();
+    for (long id = 100L; id > 100L - held; id--)
+      assertTrue(Arrays.equals(doCreateRecord(id), store.get(id)));
+  }
+
+  @Test
+  public void testIndexGrowsAndShrinks() {
+    store = new ComicVineOffHeapStore(1024 * 1024);
+    for (long id = 1L; id <= 5000L; id++) store.put(id, doCreateRecord(id));
+    for (long id = 1L; id <= 5000L; id += 2) store.remove(id);
+
+    assertEquals(2500, store.size());
+    for (long id = 1L; id <= 5000L; id++) {
+      if (id % 2 == 1) assertNull(store.get(id));
+      else assertTrue(Arrays.equals(doCreateRecord(id), store.get(id)));
+    }
+  }
+
+  @Test
+  public void testClear() {
+    store.put(TEST_ID, doCreateRecord(TEST_ID));
+
+    store.clear();
+
+    assertNull(store.get(TEST_ID));
+    assertEquals(0, store.size());
+  }
+
+  private static byte[] doCreateRecord(final long id) {
+    final byte[] result = new byte[TEST_RECORD_SIZE];
+    final byte[] label = String.valueOf(id).getBytes(StandardCharsets.UTF_8);
+    System.arraycopy(label, 0, result, 0, label.length);
+    return result;
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.cache;
+
+import static junit.framework.TestCase.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.comixedproject.metadata.model.VolumeMetadata;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineVolumeIndexTest {
+  private static final String TEST_SERIES = "Action Comics";
+  private static final String TEST_PUBLISHER = "DC Comics";
+  private static final String TEST_START_YEAR = "1938";
+  private static final int TEST_ISSUE_COUNT = 864;
+
+  private ComicVineVolumeIndex index;
+
+  @Before
+  public void setUp() {
+    index = new ComicVineVolumeIndex(10, 60000L);
+    index.addSearch(
+        TEST_SERIES,
+        List.of(
+            createVolume("18005", TEST_SERIES, TEST_ISSUE_COUNT),
+            createVolume("43539", "Action Comics Annual", 13),
+            createVolume("7257", "Adventure Comics", 503)),
+        true);
+  }
+
+  private VolumeMetadata createVolume(final String id, final String name, final int issueCount) {
+    final VolumeMetadata result = new VolumeMetadata();
+    result.setId(id);
+    result.setName(name);
+    result.setPublisher(TEST_PUBLISHER);
+    result.setStartYear(TEST_START_YEAR);
+    result.setIssueCount(issueCount);
+    return result;
+  }
+
+  @Test
+  public void testTokenize() {
+    assertEquals(List.of("x", "men", "2099"), ComicVineVolumeIndex.tokenize("X-Men: 2099"));
+    assertTrue(ComicVineVolumeIndex.tokenize(" ").isEmpty());
+  }
+
+  @Test
+  public void testSearch() {
+    final List<VolumeMetadata> result = index.search("action comics", 0);
+
+    assertNotNull(result);
+    assertEquals(3, result.size());
+    assertEquals("18005", result.get(0).getId());
+    assertEquals(TEST_ISSUE_COUNT, result.get(0).getIssueCount());
+    assertEquals(TEST_PUBLISHER, result.get(0).getPublisher());
+  }
+
+  @Test
+  public void testSearchKeepsComicVineOrder() {
+    index.addSearch(
+        "Superman",
+        List.of(
+            createVolume("796", "Superman", 423),
+            createVolume("773", "Adventures of Superman", 147),
+            createVolume("18129", "Action Comics Superman", 1)),
+        true);
+
+    final List<VolumeMetadata> result = index.search("superman", 0);
+
+    assertNotNull(result);
+    assertEquals(
+        List.of("796", "773", "18129"), result.stream().map(VolumeMetadata::getId).toList());
+  }
+
+  @Test
+  public void testSearchIgnoresPunctuationAndSpacing() {
+    index.addSearch("Spider-Man", List.of(createVolume("2127", "Spider-Man", 98)), true);
+
+    final List<VolumeMetadata> result = index.search("spiderman", 0);
+
+    assertNotNull(result);
+    assertEquals(1, result.size());
+    assertEquals("2127", result.get(0).getId());
+  }
+
+  @Test
+  public void testSearchNarrowerQueryWithoutMatches() {
+    assertNull(index.search("Action Comics Weekly", 0));
+  }
+
+  @Test
+  public void testSearchNarrowerQueryWithPrefix() {
+    final List<VolumeMetadata> result = index.search("Action Comics Ann", 0);
+
+    assertNotNull(result);
+    assertEquals(1, result.size());
+    assertEquals("43539", result.get(0).getId());
+  }
+
+  @Test
+  public void testSearchNarrowerQueryFromFullPage() {
+    final List<VolumeMetadata> volumes = new ArrayList<>();
+    for (int count = 0; count < ComicVineVolumeIndex.SEARCH_PAGE_SIZE; count++)
+      volumes.add(createVolume(String.valueOf(796 + count), "Batman " + count, 1));
+    index.setMaximumEntries(ComicVineVolumeIndex.SEARCH_PAGE_SIZE + 10);
+    index.addSearch("Batman", volumes, true);
+
+    assertNotNull(index.search("Batman", 0));
+    assertNull(index.search("Batman 1", 0));
+  }
+
+  @Test
+  public void testSearchWithLimit() {
+    assertEquals(1, index.search(TEST_SERIES, 1).size());
+  }
+
+  @Test
+  public void testSearchNotCovered() {
+    assertNull(index.search("Adventure Comics", 0));
+  }
+
+  @Test
+  public void testSearchIncomplete() {
+    index.addSearch(
+        "Detective Comics", List.of(createVolume("18058", "Detective Comics", 881)), false);
+
+    assertNull(index.search("Detective Comics", 0));
+  }
+
+  @Test
+  public void testSearchStale() {
+    index.setTimeToLive(0L);
+    index.addVolume(createVolume("18005", TEST_SERIES, TEST_ISSUE_COUNT));
+
+    assertNull(index.search(TEST_SERIES, 0));
+  }
+
+  @Test
+  public void testAddVolumeKeepsExistingValues() {
+    final VolumeMetadata volume = new VolumeMetadata();
+    volume.setId("18005");
+    volume.setName("Action Comics Weekly");
+    index.addVolume(volume);
+
+    final List<VolumeMetadata> result = index.search("action comics weekly", 0);
+
+    assertNotNull(result);
+    assertEquals(1, result.size());
+    assertEquals(TEST_ISSUE_COUNT, result.get(0).getIssueCount());
+    assertEquals(TEST_START_YEAR, result.get(0).getStartYear());
+  }
+
+  @Test
+  public void testEvictsOldestVolume() {
+    index.setMaximumEntries(2);
+    index.addVolume(createVolume("18058", "Detective Comics", 881));
+
+    assertEquals(2, index.size());
+    assertNull(index.search(TEST_SERIES, 0));
+  }
+
+  @Test
+  public void testInvalidate() {
+    index.invalidate("18005");
+
+    assertEquals(2, index.size());
+    assertNull(index.search(TEST_SERIES, 0));
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.circuitbreaker;
+
+import static junit.framework.TestCase.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineCircuitBreakerTest {
+  private static final String TEST_ENDPOINT = "issue";
+  private static final long TEST_OPEN_DURATION = 50L;
+  private static final long TEST_SLOW_CALL_DURATION = 100L;
+
+  private ComicVineCircuitBreaker circuitBreaker;
+
+  @Before
+  public void setUp() {
+    circuitBreaker = new ComicVineCircuitBreaker(TEST_ENDPOINT);
+    circuitBreaker.setMinimumCalls(4);
+    circuitBreaker.setOpenDuration(TEST_OPEN_DURATION);
+    circuitBreaker.setSlowCallDuration(TEST_SLOW_CALL_DURATION);
+  }
+
+  @Test
+  public void testForEndpoint() {
+    assertSame(
+        ComicVineCircuitBreaker.forEndpoint(TEST_ENDPOINT),
+        ComicVineCircuitBreaker.forEndpoint(TEST_ENDPOINT));
+  }
+
+  @Test
+  public void testStaysClosedBelowMinimumCalls() throws ComicVineCircuitOpenException {
+    for (int index = 0; index < 3; index++) circuitBreaker.recordFailure(0L);
+
+    assertEquals(ComicVineCircuitState.CLOSED, circuitBreaker.getState());
+    circuitBreaker.checkPermitted();
+  }
+
+  @Test
+  public void testOpensOnFailureRate() {
+    circuitBreaker.recordSuccess(0L);
+    circuitBreaker.recordSuccess(0L);
+    circuitBreaker.recordFailure(0L);
+    circuitBreaker.recordFailure(0L);
+
+    assertEquals(ComicVineCircuitState.OPEN, circuitBreaker.getState());
+    try {
+      circuitBreaker.checkPermitted();
+      fail("Expected the circuit to be open");
+    } catch (ComicVineCircuitOpenException error) {
+      assertEquals(TEST_ENDPOINT, error.getEndpoint());
+      assertTrue(error.getRetryAfter() <= TEST_OPEN_DURATION);
+    }
+  }
+
+  @Test
+  public void testOpensOnSlowCalls() {
+    circuitBreaker.recordSuccess(0L);
+    circuitBreaker.recordSuccess(0L);
+    circuitBreaker.recordSuccess(TEST_SLOW_CALL_DURATION);
+    circuitBreaker.recordSuccess(TEST_SLOW_CALL_DURATION);
+
+    assertEquals(ComicVineCircuitState.OPEN, circuitBreaker.getState());
+  }
+
+  @Test
+  public void testProbeSuccessCloses() throws ComicVineCircuitOpenException, InterruptedException {
+    this.doTrip();
+    Thread.sleep(TEST_OPEN_DURATION);
+
+    circuitBreaker.checkPermitted();
+    assertEquals(ComicVineCircuitState.HALF_OPEN, circuitBreaker.getState());
+    circuitBreaker.recordSuccess(0L);
+
+    assertEquals(ComicVineCircuitState.CLOSED, circuitBreaker.getState());
+  }
+
+  @Test
+  public void testProbeFailureReopens() throws ComicVineCircuitOpenException, InterruptedException {
+    this.doTrip();
+    Thread.sleep(TEST_OPEN_DURATION);
+
+    circuitBreaker.checkPermitted();
+    circuitBreaker.recordFailure(0L);
+
+    assertEquals(ComicVineCircuitState.OPEN, circuitBreaker.getState());
+  }
+
+  @Test(expected = ComicVineCircuitOpenException.class)
+  public void testOnlyOneProbeAtATime() throws ComicVineCircuitOpenException, InterruptedException {
+    this.doTrip();
+    Thread.sleep(TEST_OPEN_DURATION);
+
+    circuitBreaker.checkPermitted();
+    circuitBreaker.checkPermitted();
+  }
+
+  private void doTrip() {
+    for (int index = 0; index < 4; index++) circuitBreaker.recordFailure(0L);
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.dump;
+
+import static junit.framework.TestCase.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPOutputStream;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ComicVineDataDumpImporterTest {
+  private static final String TEST_PUBLISHERS =
+      "[{\"id\":10,\"name\":\"DC Comics\"},{\"id\":31,\"name\":\"Marvel\"}]";
+  private static final String TEST_VOLUMES =
+      "{\"status_code\":1,\"results\":[{\"id\":796,\"name\":\"Batman\",\"start_year\":\"1940\","
+          + "\"unknown\":{\"nested\":true}},{\"id\":42721,\"name\":\"Batman: The Dark Knight\"},"
+          + "{\"id\":2127,\"name\":\"The Amazing Spider-Man\"}]}";
+  private static final String TEST_ISSUES =
+      "[{\"id\":105967,\"issue_number\":\"1\",\"volume\":{\"id\":796,\"name\":\"Batman\"}},"
+          + "{\"id\":106001,\"issue_number\":\"2\",\"volume\":{\"id\":796,\"name\":\"Batman\"}}]";
+  private static final String TEST_MORE_ISSUES =
+      "[{\"id\":6686,\"issue_number\":\"1\",\"volume\":{\"id\":2127,\"name\":\"The Amazing"
+          + " Spider-Man\"}}]";
+  private static final String TEST_STORY_ARCS =
+      "[{\"id\":55766,\"name\":\"Knightfall\",\"issues\":[{\"id\":105967}]}]";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private ComicVineDataDumpImporter importer = new ComicVineDataDumpImporter();
+  private File directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = folder.newFolder("dump");
+    this.doWrite("publishers.json", TEST_PUBLISHERS);
+    this.doWrite("volumes.json", TEST_VOLUMES);
+    this.doWrite("issues-001.json", TEST_ISSUES);
+    this.doWriteCompressed("issues-002.json.gz", TEST_MORE_ISSUES);
+    this.doWrite("story_arcs.json", TEST_STORY_ARCS);
+    this.doWrite("README.txt", "not a dump file");
+  }
+
+  @Test(expected = IOException.class)
+  public void testLoadMissingDirectory() throws IOException {
+    importer.load(new File(directory, "missing").toPath());
+  }
+
+  @Test
+  public void testForDirectoryLoadsInBackground() {
+    ComicVineDataDump.load(directory.toPath()).join();
+
+    final ComicVineDataDump result = ComicVineDataDump.forDirectory(directory.toPath());
+
+    assertNotNull(result);
+    assertEquals(3, result.getVolumeCount());
+  }
+
+  @Test
+  public void testForDirectoryRemembersFailure() {
+    final File missing = new File(directory, "missing");
+    final CompletableFuture<ComicVineDataDump> load = ComicVineDataDump.load(missing.toPath());
+    try {
+      load.join();
+      fail("Expected the import to fail");
+    } catch (CompletionException error) {
+      assertTrue(error.getCause() instanceof UncheckedIOException);
+    }
+
+    assertNull(ComicVineDataDump.forDirectory(missing.toPath()));
+    assertSame(load, ComicVineDataDump.load(missing.toPath()));
+  }
+
+  @Test(expected = IOException.class)
+  public void testLoadInvalidFile() throws IOException {
+    this.doWrite("volumes-002.json", "{\"results\":17}");
+
+    importer.load(directory.toPath());
+  }
+
+  @Test
+  public void testLoad() throws IOException {
+    final ComicVineDataDump result = importer.load(directory.toPath());
+
+    assertEquals(2, result.getPublisherCount());
+    assertEquals(3, result.getVolumeCount());
+    assertEquals(3, result.getIssueCount());
+    assertEquals(1, result.getStoryArcCount());
+    assertEquals("Marvel", result.getPublisher(31L).getName());
+    assertEquals("1940", result.getVolume(796L).getStartYear());
+    assertEquals(1, result.getStoryArc(55766L).getIssues().size());
+  }
+
+  @Test
+  public void testFindIssue() throws IOException {
+    final ComicVineDataDump result = importer.load(directory.toPath());
+
+    assertEquals("106001", result.findIssue("796", " 2 ").getId());
+    assertEquals("6686", result.findIssue("2127", "1").getId());
+    assertNull(result.findIssue("796", "3"));
+  }
+
+  @Test
+  public void testSearchVolumes() throws IOException {
+    final ComicVineDataDump dump = importer.load(directory.toPath());
+
+    final List<ComicVineVolume> result = dump.searchVolumes("batman", 0);
+
+    assertEquals(2, result.size());
+    assertEquals("796", result.get(0).getId());
+    assertEquals("42721", result.get(1).getId());
+    assertEquals(1, dump.searchVolumes("Batman", 1).size());
+    assertTrue(dump.searchVolumes("batman spider", 0).isEmpty());
+  }
+
+  private void doWrite(final String name, final String content) throws IOException {
+    Files.writeString(new File(directory, name).toPath(), content);
+  }
+
+  private void doWriteCompressed(final String name, final String content) throws IOException {
+    try (OutputStream output =
+        new GZIPOutputStream(Files.newOutputStream(new File(directory, name).toPath()))) {
+      output.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.http;
+
+import static junit.framework.TestCase.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+public class ComicVineHttpClientTest {
+  private static final String TEST_PATH = "/api/issue/4000-282586/?api_key=key&format=json";
+  private static final String TEST_BODY = "{\"description\":\"" + "Flashpoint ".repeat(500) + "\"}";
+
+  private ComicVineHttpClient httpClient;
+  private MockWebServer comicVineServer;
+  private WebClient webClient;
+
+  @Before
+  public void setUp() throws IOException {
+    httpClient = new ComicVineHttpClient();
+    comicVineServer = new MockWebServer();
+    comicVineServer.start();
+    webClient =
+        WebClient.builder()
+            .baseUrl(String.format("http://localhost:%s", comicVineServer.getPort()))
+            .build();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    comicVineServer.shutdown();
+  }
+
+  @Test
+  public void testGetEndpoint() {
+    assertEquals("issue", ComicVineHttpClient.getEndpoint(TEST_PATH));
+    assertEquals("search", ComicVineHttpClient.getEndpoint("/api/search/?query=flash"));
+    assertEquals(ComicVineHttpClient.UNKNOWN_ENDPOINT, ComicVineHttpClient.getEndpoint("/"));
+    assertEquals(ComicVineHttpClient.UNKNOWN_ENDPOINT, ComicVineHttpClient.getEndpoint(null));
+  }
+
+  @Test
+  public void testCompressedResponse() throws IOException, InterruptedException {
+    final Buffer compressed = new Buffer();
+    try (GZIPOutputStream output = new GZIPOutputStream(compressed.outputStream())) {
+      output.write(TEST_BODY.getBytes(StandardCharsets.UTF_8));
+    }
+    final long compressedSize = compressed.size();
+    comicVineServer.enqueue(
+        new MockResponse()
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .addHeader(HttpHeaders.CONTENT_ENCODING, "gzip")
+            .setBody(compressed));
+
+    final String result = this.doGet(true);
+
+    final RecordedRequest request = comicVineServer.takeRequest();
+    assertTrue(request.getHeader(HttpHeaders.ACCEPT_ENCODING).contains("gzip"));
+    assertEquals(TEST_BODY, result);
+
+    final ComicVineTransferStatistics statistics = httpClient.getStatistics();
+    assertEquals(1L, statistics.getResponses("issue"));
+    assertEquals(1L, statistics.getCompressedResponses("issue"));
+    assertEquals(compressedSize, statistics.getTransferredBytes("issue"));
+    assertEquals(TEST_BODY.length(), statistics.getDecodedBytes("issue"));
+  }
+
+  @Test
+  public void testUncompressedResponse() throws InterruptedException {
+    comicVineServer.enqueue(
+        new MockResponse()
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .setBody(TEST_BODY));
+
+    final String result = this.doGet(false);
+
+    final RecordedRequest request = comicVineServer.takeRequest();
+    assertNull(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    assertEquals(TEST_BODY, result);
+
+    final ComicVineTransferStatistics statistics = httpClient.getStatistics();
+    assertEquals(1L, statistics.getResponses("issue"));
+    assertEquals(0L, statistics.getCompressedResponses("issue"));
+    assertEquals(TEST_BODY.length(), statistics.getTransferredBytes("issue"));
+    assertEquals(TEST_BODY.length(), statistics.getDecodedBytes("issue"));
+  }
+
+  private String doGet(final boolean compressed) {
+    return httpClient
+        .configure(webClient, compressed, ComicVineTimeouts.DEFAULT_CONNECT_TIMEOUT)
+        .get()
+        .uri(TEST_PATH)
+        .retrieve()
+        .bodyToMono(String.class)
+        .block();
+  }
+}
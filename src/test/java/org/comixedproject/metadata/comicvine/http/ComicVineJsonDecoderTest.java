@@ -0,0 +1,94 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.http;
+
+import static junit.framework.TestCase.*;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.comixedproject.metadata.comicvine.model.ComicVineUpdatedRecordsResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+public class ComicVineJsonDecoderTest {
+  private static final String TEST_BODY =
+      "{\"error\":\"OK\",\"limit\":100,\"offset\":0,\"number_of_page_results\":2,"
+          + "\"number_of_total_results\":2,\"status_code\":1,\"results\":["
+          + "{\"id\":18005,\"date_last_updated\":\"2026-10-01 12:00:00\"},"
+          + "{\"id\":18006,\"date_last_updated\":\"2026-10-02 12:00:00\"}],\"version\":\"1.0\"}";
+  private static final int TEST_CHUNK_SIZE = 7;
+
+  private final NettyDataBufferFactory bufferFactory =
+      new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+  private final List<NettyDataBuffer> buffers = new ArrayList<>();
+
+  private ComicVineJsonDecoder decoder;
+
+  @Before
+  public void setUp() {
+    decoder = new ComicVineJsonDecoder();
+  }
+
+  @Test
+  public void testDecodeFromChunks() {
+    final ComicVineUpdatedRecordsResponse result =
+        decoder
+            .decode(this.doCreateChunks(TEST_BODY), ComicVineUpdatedRecordsResponse.class)
+            .block();
+
+    assertNotNull(result);
+    assertEquals(2, result.getRecords().size());
+    assertEquals("18006", result.getRecords().get(1).getId());
+    assertFalse(this.buffers.isEmpty());
+    this.buffers.forEach(buffer -> assertEquals(0, buffer.getNativeBuffer().refCnt()));
+  }
+
+  @Test
+  public void testDecodeEmptyBody() {
+    assertNull(decoder.decode(Flux.empty(), ComicVineUpdatedRecordsResponse.class).block());
+  }
+
+  @Test(expected = DecodingException.class)
+  public void testDecodeBadData() {
+    decoder
+        .decode(this.doCreateChunks("This is not JSON"), ComicVineUpdatedRecordsResponse.class)
+        .block();
+  }
+
+  private Flux<DataBuffer> doCreateChunks(final String body) {
+    final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    return Flux.range(0, (bytes.length + TEST_CHUNK_SIZE - 1) / TEST_CHUNK_SIZE)
+        .map(
+            index -> {
+              final int start = index * TEST_CHUNK_SIZE;
+              final int length = Math.min(TEST_CHUNK_SIZE, bytes.length - start);
+              final NettyDataBuffer buffer = this.bufferFactory.allocateBuffer(length);
+              buffer.write(bytes, start, length);
+              this.buffers.add(buffer);
+              return buffer;
+            });
+  }
+}
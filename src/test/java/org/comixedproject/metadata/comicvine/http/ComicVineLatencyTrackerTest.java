@@ -0,0 +1,68 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.http;
+
+import static junit.framework.TestCase.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineLatencyTrackerTest {
+  private static final String TEST_ENDPOINT = "volume";
+
+  private ComicVineLatencyTracker latencyTracker;
+
+  @Before
+  public void setUp() {
+    latencyTracker = new ComicVineLatencyTracker(TEST_ENDPOINT);
+  }
+
+  @Test
+  public void testForEndpoint() {
+    assertSame(
+        ComicVineLatencyTracker.forEndpoint(TEST_ENDPOINT),
+        ComicVineLatencyTracker.forEndpoint(TEST_ENDPOINT));
+  }
+
+  @Test
+  public void testNoDelayBelowMinimumSamples() {
+    for (int index = 0; index < latencyTracker.getMinimumSamples() - 1; index++)
+      latencyTracker.record(100L);
+
+    assertNull(latencyTracker.getHedgeDelay());
+  }
+
+  @Test
+  public void testHedgeDelayIsPercentile() {
+    for (long elapsed = 1L; elapsed <= 100L; elapsed++) latencyTracker.record(elapsed);
+
+    assertEquals(Long.valueOf(95L), latencyTracker.getHedgeDelay());
+    assertEquals(Long.valueOf(50L), latencyTracker.getPercentile(0.5));
+  }
+
+  @Test
+  public void testOldestSamplesAreReplaced() {
+    for (int index = 0; index < ComicVineLatencyTracker.DEFAULT_WINDOW_SIZE; index++)
+      latencyTracker.record(1000L);
+    for (int index = 0; index < ComicVineLatencyTracker.DEFAULT_WINDOW_SIZE; index++)
+      latencyTracker.record(10L);
+
+    assertEquals(Long.valueOf(10L), latencyTracker.getHedgeDelay());
+  }
+}
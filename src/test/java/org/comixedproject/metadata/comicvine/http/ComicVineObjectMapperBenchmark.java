@@ -0,0 +1,117 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetAllIssuesQueryResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetIssueDetailsResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetPublisherDetailsResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetStoryDetailResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetStoryListResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetVolumeDetailsResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssuesQueryResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolumesQueryResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compares reading the recorded ComicVine responses with a plain object mapper, configured the way
+ * the decoder used to be, against the shared mapper and its prepared readers.
+ *
+ * <p>Run with <code>mvn -Pbenchmark test</code>, or run this class directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComicVineObjectMapperBenchmark {
+  private static final String PAYLOAD_DIRECTORY = "src/test/resources";
+
+  @Param({
+    "benchmark/all-issues-query.json",
+    "benchmark/issue-details.json",
+    "benchmark/issues-query.json",
+    "benchmark/publisher-details.json",
+    "benchmark/story-detail.json",
+    "benchmark/volume-details.json",
+    "benchmark/volumes-query.json",
+    "story-list-metadata.json"
+  })
+  public String payload;
+
+  private ObjectMapper plainMapper;
+  private Class<?> responseType;
+  private byte[] content;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(ComicVineObjectMapperBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+
+  @Setup
+  public void setUp() throws IOException {
+    this.plainMapper = Jackson2ObjectMapperBuilder.json().build();
+    this.responseType = doGetResponseType(this.payload);
+    this.content = Files.readAllBytes(Path.of(PAYLOAD_DIRECTORY, this.payload));
+  }
+
+  @Benchmark
+  public Object readWithPlainMapper() throws IOException {
+    return this.plainMapper.readValue(this.content, this.responseType);
+  }
+
+  @Benchmark
+  public Object readWithSharedReader() throws IOException {
+    return ComicVineObjectMapper.getReader(this.responseType).readValue(this.content);
+  }
+
+  private static Class<?> doGetResponseType(final String payload) {
+    return switch (Path.of(payload).getFileName().toString()) {
+      case "all-issues-query.json" -> ComicVineGetAllIssuesQueryResponse.class;
+      case "issue-details.json" -> ComicVineGetIssueDetailsResponse.class;
+      case "issues-query.json" -> ComicVineIssuesQueryResponse.class;
+      case "publisher-details.json" -> ComicVineGetPublisherDetailsResponse.class;
+      case "story-detail.json" -> ComicVineGetStoryDetailResponse.class;
+      case "volume-details.json" -> ComicVineGetVolumeDetailsResponse.class;
+      case "volumes-query.json" -> ComicVineVolumesQueryResponse.class;
+      default -> ComicVineGetStoryListResponse.class;
+    };
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.http;
+
+import static junit.framework.TestCase.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetStoryListResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineUpdatedRecordsResponse;
+import org.junit.Test;
+
+public class ComicVineObjectMapperTest {
+  private static final String TEST_RESPONSE_BODY_FILE =
+      "src/test/resources/story-list-metadata.json";
+  private static final String TEST_BODY_WITH_UNKNOWN_FIELDS =
+      "{\"error\":\"OK\",\"status_code\":1,\"not_a_field\":{\"nested\":true},"
+          + "\"results\":[{\"id\":18005,\"also_not_a_field\":7}]}";
+
+  @Test
+  public void testGetReaderIsShared() {
+    assertSame(
+        ComicVineObjectMapper.getReader(ComicVineUpdatedRecordsResponse.class),
+        ComicVineObjectMapper.getReader(ComicVineUpdatedRecordsResponse.class));
+  }
+
+  @Test
+  public void testResponseReadersArePrepared() {
+    ComicVineObjectMapper.RESPONSE_TYPES.forEach(
+        type -> assertNotNull(ComicVineObjectMapper.getReader(type)));
+  }
+
+  @Test
+  public void testReadIgnoresUnknownFields() throws IOException {
+    final ComicVineUpdatedRecordsResponse result =
+        ComicVineObjectMapper.getReader(ComicVineUpdatedRecordsResponse.class)
+            .readValue(TEST_BODY_WITH_UNKNOWN_FIELDS);
+
+    assertEquals("18005", result.getRecords().get(0).getId());
+  }
+
+  @Test
+  public void testReadRecordedPayload() throws IOException {
+    final ComicVineGetStoryListResponse result =
+        ComicVineObjectMapper.getReader(ComicVineGetStoryListResponse.class)
+            .readValue(new File(TEST_RESPONSE_BODY_FILE));
+
+    assertNotNull(result);
+    assertFalse(result.getResults().isEmpty());
+  }
+
+  @Test
+  public void testMapperInstallsAvailableModule() {
+    assertTrue(
+        ComicVineObjectMapper.getMapper()
+            .getRegisteredModuleIds()
+            .contains(ComicVineObjectMapper.BLACKBIRD_MODULE));
+  }
+
+  @Test
+  public void testCreateMapperWithoutModule() throws IOException {
+    final ObjectMapper mapper = ComicVineObjectMapper.createMapper("org.example.MissingModule");
+
+    final ComicVineUpdatedRecordsResponse result =
+        mapper.readValue(TEST_BODY_WITH_UNKNOWN_FIELDS, ComicVineUpdatedRecordsResponse.class);
+
+    assertEquals("18005", result.getRecords().get(0).getId());
+  }
+}
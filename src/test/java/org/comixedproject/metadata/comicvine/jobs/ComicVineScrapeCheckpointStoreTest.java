@@ -0,0 +1,91 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.jobs;
+
+import static junit.framework.TestCase.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.comixedproject.metadata.MetadataException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ComicVineScrapeCheckpointStoreTest {
+  private static final String TEST_JOB_ID = "checkpoint-job";
+  private static final String TEST_FAILURE = "No matching issue found";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path directory;
+  private ComicVineScrapeCheckpointStore store;
+  private ComicVineScrapeJob job;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = folder.getRoot().toPath().resolve("jobs");
+    store = new ComicVineScrapeCheckpointStore(directory);
+    job =
+        new ComicVineScrapeJob(
+            TEST_JOB_ID,
+            List.of(
+                ComicVineScrapeJobItem.forIssue("1"),
+                ComicVineScrapeJobItem.forIssue("2"),
+                ComicVineScrapeJobItem.forVolumeIssue("3", "4")));
+  }
+
+  @Test
+  public void testLoadMissing() throws MetadataException {
+    assertNull(store.load(TEST_JOB_ID));
+  }
+
+  @Test
+  public void testSaveAndLoad() throws MetadataException {
+    job.markCompleted(0);
+    job.markFailed(2, TEST_FAILURE);
+
+    store.save(job);
+
+    assertTrue(
+        Files.exists(
+            directory.resolve(TEST_JOB_ID + ComicVineScrapeCheckpointStore.CHECKPOINT_EXTENSION)));
+
+    final ComicVineScrapeJob result = store.load(TEST_JOB_ID);
+
+    assertNotNull(result);
+    assertEquals(TEST_JOB_ID, result.getJobId());
+    assertEquals(3, result.getItems().size());
+    assertEquals("3", result.getItems().get(2).getVolumeId());
+    assertEquals("4", result.getItems().get(2).getIssueNumber());
+    assertTrue(result.getCompletedItems().contains(0));
+    assertEquals(TEST_FAILURE, result.getFailedItems().get(2));
+    assertEquals(List.of(1), result.getPendingItems());
+  }
+
+  @Test
+  public void testDelete() throws MetadataException {
+    store.save(job);
+    store.delete(TEST_JOB_ID);
+
+    assertNull(store.load(TEST_JOB_ID));
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.jobs;
+
+import static junit.framework.TestCase.*;
+
+import java.io.IOException;
+import java.util.List;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.actions.ComicVineFieldProfile;
+import org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptor;
+import org.comixedproject.metadata.comicvine.ratelimit.ComicVineRequestPriority;
+import org.comixedproject.metadata.model.IssueDetailsMetadata;
+import org.comixedproject.metadata.model.IssueMetadata;
+import org.comixedproject.metadata.model.VolumeMetadata;
+import org.comixedproject.model.metadata.MetadataSource;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ComicVineScrapeJobRunnerTest {
+  private static final String TEST_JOB_ID = "library-scrape";
+  private static final String TEST_ISSUE_ID = "717";
+  private static final String TEST_VOLUME_ID = "18005";
+  private static final String TEST_ISSUE_NUMBER = "27";
+  private static final String TEST_FOUND_ISSUE_ID = "1083732";
+  private static final String TEST_SERIES_NAME = "Action Comics";
+  private static final String TEST_YEAR = "2011";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Mock private ComicVineMetadataAdaptor sharedAdaptor;
+  @Mock private ComicVineMetadataAdaptor adaptor;
+  @Mock private MetadataSource metadataSource;
+  @Mock private ComicVineScrapeJobListener listener;
+  @Mock private IssueDetailsMetadata issueDetailsMetadata;
+  @Mock private IssueMetadata issueMetadata;
+  @Mock private VolumeMetadata volumeMetadata;
+
+  private ComicVineScrapeCheckpointStore checkpointStore;
+  private ComicVineScrapeJobRunner runner;
+  private ComicVineScrapeJob job;
+
+  @Before
+  public void setUp() throws IOException, MetadataException {
+    checkpointStore = new ComicVineScrapeCheckpointStore(folder.newFolder().toPath());
+    Mockito.when(sharedAdaptor.copy()).thenReturn(adaptor);
+    runner = new ComicVineScrapeJobRunner(sharedAdaptor, metadataSource, checkpointStore);
+    job =
+        new ComicVineScrapeJob(
+            TEST_JOB_ID,
+            List.of(
+                ComicVineScrapeJobItem.forIssue(TEST_ISSUE_ID),
+                ComicVineScrapeJobItem.forVolumeIssue(TEST_VOLUME_ID, TEST_ISSUE_NUMBER)));
+
+    Mockito.when(issueMetadata.getId()).thenReturn(TEST_FOUND_ISSUE_ID);
+  }
+
+  @Test
+  public void testRun() throws MetadataException, InterruptedException {
+    Mockito.when(adaptor.getIssue(TEST_VOLUME_ID, TEST_ISSUE_NUMBER, metadataSource))
+        .thenReturn(issueMetadata);
+    Mockito.when(adaptor.getIssueDetails(Mockito.anyString(), Mockito.any(MetadataSource.class)))
+        .thenReturn(issueDetailsMetadata);
+
+    runner.run(job, listener);
+
+    assertTrue(job.isFinished());
+    assertTrue(job.getFailedItems().isEmpty());
+    assertNull(checkpointStore.load(TEST_JOB_ID));
+
+    Mockito.verify(adaptor, Mockito.times(1)).start(metadataSource);
+    Mockito.verify(adaptor, Mockito.times(1)).setPriority(ComicVineRequestPriority.BACKGROUND);
+    Mockito.verify(adaptor, Mockito.times(1)).setSearchProfile(ComicVineFieldProfile.MINIMAL);
+    Mockito.verify(sharedAdaptor, Mockito.never())
+        .setPriority(Mockito.any(ComicVineRequestPriority.class));
+    Mockito.verify(sharedAdaptor, Mockito.never())
+        .setSearchProfile(Mockito.any(ComicVineFieldProfile.class));
+    Mockito.verify(adaptor, Mockito.times(1)).getIssueDetails(TEST_ISSUE_ID, metadataSource);
+    Mockito.verify(adaptor, Mockito.times(1)).getIssueDetails(TEST_FOUND_ISSUE_ID, metadataSource);
+    Mockito.verify(listener, Mockito.times(2))
+        .itemScraped(Mockito.any(ComicVineScrapeJobItem.class), Mockito.eq(issueDetailsMetadata));
+  }
+
+  @Test
+  public void testRunNoMatchingIssue() throws MetadataException {
+    Mockito.when(adaptor.getIssue(TEST_VOLUME_ID, TEST_ISSUE_NUMBER, metadataSource))
+        .thenReturn(null);
+    Mockito.when(adaptor.getIssueDetails(TEST_ISSUE_ID, metadataSource))
+        .thenReturn(issueDetailsMetadata);
+
+    runner.run(job, listener);
+
+    assertTrue(job.isFinished());
+    assertTrue(job.getFailedItems().containsKey(1));
+
+    final ComicVineScrapeJob checkpoint = checkpointStore.load(TEST_JOB_ID);
+    assertNotNull(checkpoint);
+    assertEquals(1, checkpoint.getCompletedItems().size());
+    assertEquals(1, checkpoint.getFailedItems().size());
+  }
+
+  @Test
+  public void testRunSuspendsAndResumes() throws MetadataException {
+    Mockito.when(adaptor.getIssue(TEST_VOLUME_ID, TEST_ISSUE_NUMBER, metadataSource))
+        .thenReturn(issueMetadata);
+    Mockito.when(adaptor.getIssueDetails(TEST_ISSUE_ID, metadataSource))
+        .thenReturn(issueDetailsMetadata);
+    Mockito.when(adaptor.getIssueDetails(TEST_FOUND_ISSUE_ID, metadataSource))
+        .thenThrow(MetadataException.class)
+        .thenReturn(issueDetailsMetadata);
+    runner.setMaxConsecutiveFailures(1);
+
+    try {
+      runner.run(job, listener);
+      fail("Job was not suspended");
+    } catch (MetadataException expected) {
+      final ComicVineScrapeJob checkpoint = checkpointStore.load(TEST_JOB_ID);
+      assertNotNull(checkpoint);
+      assertEquals(List.of(1), checkpoint.getPendingItems());
+    }
+
+    final ComicVineScrapeJob result = runner.resume(TEST_JOB_ID, listener);
+
+    assertTrue(result.isFinished());
+    assertTrue(result.getFailedItems().isEmpty());
+    assertNull(checkpointStore.load(TEST_JOB_ID));
+    Mockito.verify(adaptor, Mockito.times(1)).getIssueDetails(TEST_ISSUE_ID, metadataSource);
+  }
+
+  @Test
+  public void testGroupByVolume() {
+    job =
+        new ComicVineScrapeJob(
+            TEST_JOB_ID,
+            List.of(
+                ComicVineScrapeJobItem.forIssue(TEST_ISSUE_ID),
+                ComicVineScrapeJobItem.forVolumeIssue(TEST_VOLUME_ID, TEST_ISSUE_NUMBER),
+                ComicVineScrapeJobItem.forIssue(TEST_FOUND_ISSUE_ID, TEST_VOLUME_ID)));
+
+    final List<List<Integer>> result = runner.doGroupByVolume(job);
+
+    assertEquals(List.of(List.of(1, 2), List.of(0)), result);
+  }
+
+  @Test
+  public void testRunWithWorkers() throws MetadataException, InterruptedException {
+    Mockito.when(adaptor.getIssue(TEST_VOLUME_ID, TEST_ISSUE_NUMBER, metadataSource))
+        .thenReturn(issueMetadata);
+    Mockito.when(adaptor.getIssueDetails(Mockito.anyString(), Mockito.any(MetadataSource.class)))
+        .thenReturn(issueDetailsMetadata);
+    runner.setWorkerCount(4);
+
+    runner.run(job, listener);
+
+    assertTrue(job.isFinished());
+    assertTrue(job.getFailedItems().isEmpty());
+    Mockito.verify(adaptor, Mockito.times(2))
+        .getIssueDetails(Mockito.anyString(), Mockito.any(MetadataSource.class));
+  }
+
+  @Test
+  public void testRunSeriesIssue() throws MetadataException {
+    job =
+        new ComicVineScrapeJob(
+            TEST_JOB_ID,
+            List.of(
+                ComicVineScrapeJobItem.forSeriesIssue(
+                    TEST_SERIES_NAME, TEST_YEAR, TEST_ISSUE_NUMBER)));
+    Mockito.when(
+            adaptor.findVolume(
+                TEST_SERIES_NAME, TEST_YEAR, TEST_ISSUE_NUMBER, null, metadataSource))
+        .thenReturn(volumeMetadata);
+    Mockito.when(volumeMetadata.getId()).thenReturn(TEST_VOLUME_ID);
+    Mockito.when(adaptor.getIssue(TEST_VOLUME_ID, TEST_ISSUE_NUMBER, metadataSource))
+        .thenReturn(issueMetadata);
+    Mockito.when(adaptor.getIssueDetails(TEST_FOUND_ISSUE_ID, metadataSource))
+        .thenReturn(issueDetailsMetadata);
+
+    runner.run(job, listener);
+
+    assertTrue(job.isFinished());
+    assertTrue(job.getFailedItems().isEmpty());
+  }
+
+  @Test
+  public void testRunSeriesIssueNoMatchingVolume() throws MetadataException {
+    job =
+        new ComicVineScrapeJob(
+            TEST_JOB_ID,
+            List.of(
+                ComicVineScrapeJobItem.forSeriesIssue(
+                    TEST_SERIES_NAME, TEST_YEAR, TEST_ISSUE_NUMBER)));
+
+    runner.run(job, listener);
+
+    assertTrue(job.getFailedItems().containsKey(0));
+    Mockito.verify(adaptor, Mockito.never())
+        .getIssue(Mockito.anyString(), Mockito.anyString(), Mockito.any(MetadataSource.class));
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testResumeWithoutCheckpoint() throws MetadataException {
+    runner.resume(TEST_JOB_ID, listener);
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testRunInterrupted() throws MetadataException, InterruptedException {
+    Mockito.when(adaptor.getIssueDetails(TEST_ISSUE_ID, metadataSource))
+        .thenAnswer(
+            invocation -> {
+              Thread.currentThread().interrupt();
+              throw new MetadataException("Interrupted while waiting to contact ComicVine");
+            });
+
+    try {
+      runner.run(job, listener);
+    } finally {
+      Thread.interrupted();
+      final ComicVineScrapeJob checkpoint = checkpointStore.load(TEST_JOB_ID);
+      assertNotNull(checkpoint);
+      assertTrue(checkpoint.getFailedItems().isEmpty());
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.matching;
+
+import static junit.framework.TestCase.*;
+
+import java.util.List;
+import org.comixedproject.metadata.model.VolumeMetadata;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineVolumeMatcherTest {
+  private static final String TEST_SERIES = "Action Comics";
+  private static final String TEST_PUBLISHER = "DC Comics";
+
+  private List<VolumeMetadata> candidates;
+
+  @Before
+  public void setUp() {
+    candidates =
+        List.of(
+            createVolume("43539", "Action Comics Annual", "1987", 13),
+            createVolume("18005", "Action Comics", "1938", 1062),
+            createVolume("42562", "Action Comics", "2011", 57),
+            createVolume("7257", "Adventure Comics", "1938", 503));
+  }
+
+  private VolumeMetadata createVolume(
+      final String id, final String name, final String startYear, final int issueCount) {
+    final VolumeMetadata result = new VolumeMetadata();
+    result.setId(id);
+    result.setName(name);
+    result.setStartYear(startYear);
+    result.setIssueCount(issueCount);
+    result.setPublisher(TEST_PUBLISHER);
+    return result;
+  }
+
+  @Test
+  public void testNormalize() {
+    assertEquals("amazing spider man", ComicVineVolumeMatcher.normalize("The Amazing Spider-Man"));
+    assertEquals("batman and robin", ComicVineVolumeMatcher.normalize("Batman & Robin"));
+    assertEquals("pokemon", ComicVineVolumeMatcher.normalize("Pokémon"));
+    assertEquals("", ComicVineVolumeMatcher.normalize(null));
+  }
+
+  @Test
+  public void testRankUsesYear() {
+    final List<ComicVineVolumeMatch> result =
+        new ComicVineVolumeMatcher(TEST_SERIES, "2012", "12", TEST_PUBLISHER).rank(candidates);
+
+    assertEquals(candidates.size(), result.size());
+    assertEquals("42562", result.get(0).getVolume().getId());
+  }
+
+  @Test
+  public void testRankUsesIssueCount() {
+    final List<ComicVineVolumeMatch> result =
+        new ComicVineVolumeMatcher(TEST_SERIES, "2016", "957", null).rank(candidates);
+
+    assertEquals("18005", result.get(0).getVolume().getId());
+  }
+
+  @Test
+  public void testFindBest() {
+    final ComicVineVolumeMatch result =
+        new ComicVineVolumeMatcher("action comics", "1939", "5", null).findBest(candidates);
+
+    assertNotNull(result);
+    assertEquals("18005", result.getVolume().getId());
+  }
+
+  @Test
+  public void testFindBestBelowMinimum() {
+    assertNull(
+        new ComicVineVolumeMatcher("Detective Comics", null, null, null).findBest(candidates));
+  }
+}
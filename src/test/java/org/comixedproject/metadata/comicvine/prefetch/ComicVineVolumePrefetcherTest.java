@@ -0,0 +1,107 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.prefetch;
+
+import static junit.framework.TestCase.*;
+
+import java.util.List;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.actions.ComicVineFieldProfile;
+import org.comixedproject.metadata.comicvine.actions.ComicVineGetAllIssuesAction;
+import org.comixedproject.metadata.comicvine.actions.ComicVineGetIssueWithDetailsAction;
+import org.comixedproject.metadata.comicvine.cache.ComicVineMetadataCache;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.model.IssueDetailsMetadata;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ComicVineVolumePrefetcherTest {
+  private static final String TEST_BASE_URL = "http://localhost:8080";
+  private static final String TEST_API_KEY = "OICU812";
+  private static final String TEST_VOLUME_ID = "18005";
+  private static final String TEST_CACHED_ISSUE_ID = "105403";
+  private static final String TEST_MISSING_ISSUE_ID = "105404";
+
+  @Mock private ComicVineGetAllIssuesAction getAllIssuesAction;
+  @Mock private ComicVineGetIssueWithDetailsAction getIssueAction;
+  @Mock private ComicVineIssue cachedIssue;
+
+  private ComicVineMetadataCache cache;
+  private ComicVineVolumePrefetcher prefetcher;
+
+  @Before
+  public void setUp() throws MetadataException {
+    cache = new ComicVineMetadataCache();
+    cache.getIssues().put(Long.parseLong(TEST_CACHED_ISSUE_ID), cachedIssue);
+    prefetcher = new ComicVineVolumePrefetcher(cache, TEST_BASE_URL);
+
+    final IssueDetailsMetadata cached = new IssueDetailsMetadata();
+    cached.setSourceId(TEST_CACHED_ISSUE_ID);
+    final IssueDetailsMetadata missing = new IssueDetailsMetadata();
+    missing.setSourceId(TEST_MISSING_ISSUE_ID);
+    Mockito.when(getAllIssuesAction.execute()).thenReturn(List.of(cached, missing));
+  }
+
+  @After
+  public void tearDown() {
+    prefetcher.shutdown();
+  }
+
+  @Test
+  public void testFill() throws MetadataException {
+    prefetcher.doFill(TEST_VOLUME_ID, TEST_API_KEY, getAllIssuesAction, getIssueAction);
+
+    Mockito.verify(getAllIssuesAction, Mockito.times(1)).setVolumeId(TEST_VOLUME_ID);
+    Mockito.verify(getIssueAction, Mockito.times(1)).setIssueId(TEST_MISSING_ISSUE_ID);
+    Mockito.verify(getIssueAction, Mockito.never()).setIssueId(TEST_CACHED_ISSUE_ID);
+    Mockito.verify(getIssueAction, Mockito.times(1)).execute();
+  }
+
+  @Test
+  public void testFillCachesThroughAction() throws MetadataException {
+    prefetcher.doFill(TEST_VOLUME_ID, TEST_API_KEY, getAllIssuesAction, getIssueAction);
+
+    Mockito.verify(getIssueAction, Mockito.times(1)).setCache(cache);
+    Mockito.verify(getIssueAction, Mockito.times(1)).setProfile(ComicVineFieldProfile.FULL);
+  }
+
+  @Test
+  public void testFillFailure() throws MetadataException {
+    Mockito.when(getIssueAction.execute()).thenThrow(MetadataException.class);
+
+    prefetcher.doFill(TEST_VOLUME_ID, TEST_API_KEY, getAllIssuesAction, getIssueAction);
+
+    assertNull(cache.getIssues().get(Long.parseLong(TEST_MISSING_ISSUE_ID)));
+  }
+
+  @Test
+  public void testPrefetchAfterShutdown() {
+    prefetcher.shutdown();
+
+    assertFalse(prefetcher.prefetch(null, TEST_API_KEY, getAllIssuesAction, getIssueAction));
+    assertFalse(
+        prefetcher.prefetch(TEST_VOLUME_ID, TEST_API_KEY, getAllIssuesAction, getIssueAction));
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.ratelimit;
+
+import static junit.framework.TestCase.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ComicVineFileRateLimitBackendTest {
+  private static final String TEST_KEY = "0123456789abcdef";
+  private static final long TEST_NOW = 1000000L;
+  private static final long TEST_INTERVAL = 2000L;
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path directory;
+  private ComicVineFileRateLimitBackend backend;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = folder.newFolder("shared").toPath();
+    backend = new ComicVineFileRateLimitBackend(directory);
+  }
+
+  @Test
+  public void testForDirectoryIsShared() {
+    assertSame(
+        ComicVineFileRateLimitBackend.forDirectory(directory),
+        ComicVineFileRateLimitBackend.forDirectory(directory.resolve(".")));
+  }
+
+  @Test
+  public void testReserve() {
+    assertEquals(TEST_NOW, backend.reserve(TEST_KEY, TEST_NOW, TEST_INTERVAL));
+    assertEquals(TEST_NOW + TEST_INTERVAL, backend.reserve(TEST_KEY, TEST_NOW, TEST_INTERVAL));
+    assertEquals(
+        TEST_NOW + 5 * TEST_INTERVAL,
+        backend.reserve(TEST_KEY, TEST_NOW + 5 * TEST_INTERVAL, TEST_INTERVAL));
+  }
+
+  @Test
+  public void testReserveIsSharedBetweenNodes() {
+    final ComicVineFileRateLimitBackend otherNode = new ComicVineFileRateLimitBackend(directory);
+
+    assertEquals(TEST_NOW, backend.reserve(TEST_KEY, TEST_NOW, TEST_INTERVAL));
+    assertEquals(TEST_NOW + TEST_INTERVAL, otherNode.reserve(TEST_KEY, TEST_NOW, TEST_INTERVAL));
+    assertEquals(TEST_NOW, otherNode.reserve("fedcba9876543210", TEST_NOW, TEST_INTERVAL));
+  }
+
+  @Test
+  public void testTryReserve() {
+    final ComicVineFileRateLimitBackend otherNode = new ComicVineFileRateLimitBackend(directory);
+
+    assertTrue(backend.tryReserve(TEST_KEY, TEST_NOW, TEST_INTERVAL));
+    assertFalse(otherNode.tryReserve(TEST_KEY, TEST_NOW + 1L, TEST_INTERVAL));
+    assertTrue(otherNode.tryReserve(TEST_KEY, TEST_NOW + TEST_INTERVAL, TEST_INTERVAL));
+  }
+}
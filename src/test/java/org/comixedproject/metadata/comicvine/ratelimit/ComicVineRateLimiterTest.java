@@ -0,0 +1,210 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.ratelimit;
+
+import static junit.framework.TestCase.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineRateLimiterTest {
+  private static final long TEST_INTERVAL = 50L;
+
+  private ComicVineRateLimiter rateLimiter;
+
+  @Before
+  public void setUp() {
+    rateLimiter = new ComicVineRateLimiter();
+    rateLimiter.setInterval(TEST_INTERVAL);
+  }
+
+  @Test
+  public void testForApiKeyIsShared() {
+    assertSame(
+        ComicVineRateLimiter.forApiKey("shared.key"), ComicVineRateLimiter.forApiKey("shared.key"));
+    assertNotSame(
+        ComicVineRateLimiter.forApiKey("shared.key"), ComicVineRateLimiter.forApiKey("other.key"));
+  }
+
+  @Test
+  public void testSetDelay() {
+    rateLimiter.setDelay(3L);
+
+    assertEquals(3000L, rateLimiter.getInterval());
+  }
+
+  @Test
+  public void testAcquirePacesCallers() throws InterruptedException {
+    final long started = System.currentTimeMillis();
+
+    for (int index = 0; index < 4; index++) rateLimiter.acquire();
+
+    assertTrue(System.currentTimeMillis() - started >= 3 * TEST_INTERVAL);
+  }
+
+  @Test
+  public void testTryAcquireOnlyUsesSpareQuota() throws InterruptedException {
+    assertTrue(rateLimiter.tryAcquire());
+    assertFalse(rateLimiter.tryAcquire());
+
+    Thread.sleep(2 * TEST_INTERVAL);
+
+    assertTrue(rateLimiter.tryAcquire());
+  }
+
+  @Test
+  public void testInteractiveCallersGoFirst() throws InterruptedException {
+    rateLimiter.setInterval(200L);
+    rateLimiter.acquire(ComicVineRequestPriority.BACKGROUND);
+    final List<ComicVineRequestPriority> order = new CopyOnWriteArrayList<>();
+
+    final Thread background = this.startWaiter(ComicVineRequestPriority.BACKGROUND, order);
+    Thread.sleep(20L);
+    rateLimiter.acquire(ComicVineRequestPriority.INTERACTIVE);
+    order.add(ComicVineRequestPriority.INTERACTIVE);
+    background.join();
+
+    assertEquals(
+        List.of(ComicVineRequestPriority.INTERACTIVE, ComicVineRequestPriority.BACKGROUND), order);
+  }
+
+  @Test
+  public void testWaitingCallersAreNotStarved() throws InterruptedException {
+    rateLimiter.setInterval(200L);
+    rateLimiter.setAgingInterval(1L);
+    rateLimiter.acquire(ComicVineRequestPriority.BACKGROUND);
+    final List<ComicVineRequestPriority> order = new CopyOnWriteArrayList<>();
+
+    final Thread background = this.startWaiter(ComicVineRequestPriority.BACKGROUND, order);
+    Thread.sleep(20L);
+    rateLimiter.acquire(ComicVineRequestPriority.INTERACTIVE);
+    order.add(ComicVineRequestPriority.INTERACTIVE);
+    background.join();
+
+    assertEquals(
+        List.of(ComicVineRequestPriority.BACKGROUND, ComicVineRequestPriority.INTERACTIVE), order);
+  }
+
+  @Test
+  public void testInteractiveReserve() {
+    rateLimiter.setInteractiveReserve(0.5);
+
+    assertTrue(rateLimiter.tryAcquire());
+    assertEquals(0.5, rateLimiter.getInteractiveReserve());
+  }
+
+  @Test
+  public void testTryAcquireHedgeStaysWithinBudget() throws InterruptedException {
+    rateLimiter.setInterval(0L);
+    rateLimiter.setHedgeBudget(0.5);
+
+    rateLimiter.acquire();
+    assertTrue(rateLimiter.tryAcquireHedge());
+    assertFalse(rateLimiter.tryAcquireHedge());
+
+    rateLimiter.acquire();
+    rateLimiter.acquire();
+    assertTrue(rateLimiter.tryAcquireHedge());
+  }
+
+  @Test
+  public void testTryAcquireHedgeOnlyUsesSpareQuota() throws InterruptedException {
+    rateLimiter.setHedgeBudget(1.0);
+
+    rateLimiter.acquire();
+
+    assertFalse(rateLimiter.tryAcquireHedge());
+  }
+
+  private Thread startWaiter(
+      final ComicVineRequestPriority priority, final List<ComicVineRequestPriority> order) {
+    final Thread result =
+        new Thread(
+            () -> {
+              try {
+                rateLimiter.acquire(priority);
+                order.add(priority);
+              } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    result.start();
+    return result;
+  }
+
+  @Test
+  public void testForApiKeyHidesApiKeyFromBackend() {
+    final ComicVineRateLimiter result = ComicVineRateLimiter.forApiKey("hidden.key");
+
+    assertFalse(result.getKey().contains("hidden.key"));
+    assertEquals(ComicVineRateLimiter.getSharedKey("hidden.key"), result.getKey());
+  }
+
+  @Test
+  public void testAcquireSharesBackendBetweenNodes() throws InterruptedException {
+    final ComicVineRateLimitBackend backend =
+        new ComicVineStoreRateLimitBackend(new ComicVineLocalSlotStore());
+    final ComicVineRateLimiter otherNode = new ComicVineRateLimiter();
+    otherNode.setInterval(TEST_INTERVAL);
+    otherNode.setBackend(backend);
+    rateLimiter.setBackend(backend);
+    final long started = System.currentTimeMillis();
+
+    rateLimiter.acquire();
+    otherNode.acquire();
+    rateLimiter.acquire();
+    otherNode.acquire();
+
+    assertTrue(System.currentTimeMillis() - started >= 3 * TEST_INTERVAL);
+    assertFalse(otherNode.tryAcquire());
+  }
+
+  @Test
+  public void testAcquireReservesOutsideLock() throws InterruptedException {
+    final List<Boolean> released = new CopyOnWriteArrayList<>();
+    rateLimiter.setBackend(
+        new ComicVineRateLimitBackend() {
+          @Override
+          public long reserve(final String key, final long now, final long interval) {
+            final Thread other = new Thread(() -> rateLimiter.setAgingInterval(1000L));
+            other.start();
+            try {
+              other.join(5000L);
+            } catch (InterruptedException error) {
+              Thread.currentThread().interrupt();
+            }
+            released.add(!other.isAlive());
+            return now;
+          }
+
+          @Override
+          public boolean tryReserve(final String key, final long now, final long interval) {
+            return true;
+          }
+        });
+
+    rateLimiter.acquire();
+
+    assertEquals(List.of(true), released);
+    assertEquals(1000L, rateLimiter.getAgingInterval());
+    assertFalse(rateLimiter.tryAcquire());
+  }
+}
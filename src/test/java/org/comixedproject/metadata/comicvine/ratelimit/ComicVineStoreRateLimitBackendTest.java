@@ -0,0 +1,84 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+package org.comixedproject.metadata.comicvine.ratelimit;
+
+import static junit.framework.TestCase.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineStoreRateLimitBackendTest {
+  private static final String TEST_KEY = "0123456789abcdef";
+  private static final long TEST_NOW = 1000000L;
+  private static final long TEST_INTERVAL = 2000L;
+
+  private ComicVineLocalSlotStore store;
+  private ComicVineStoreRateLimitBackend backend;
+
+  @Before
+  public void setUp() {
+    store = new ComicVineLocalSlotStore();
+    backend = new ComicVineStoreRateLimitBackend(store);
+  }
+
+  @Test
+  public void testReserve() {
+    assertEquals(TEST_NOW, backend.reserve(TEST_KEY, TEST_NOW, TEST_INTERVAL));
+    assertEquals(TEST_NOW + TEST_INTERVAL, backend.reserve(TEST_KEY, TEST_NOW, TEST_INTERVAL));
+    assertEquals(TEST_NOW + 2 * TEST_INTERVAL, store.get(TEST_KEY));
+  }
+
+  @Test
+  public void testTryReserve() {
+    assertTrue(backend.tryReserve(TEST_KEY, TEST_NOW, TEST_INTERVAL));
+    assertFalse(backend.tryReserve(TEST_KEY, TEST_NOW + 1L, TEST_INTERVAL));
+    assertTrue(backend.tryReserve(TEST_KEY, TEST_NOW + TEST_INTERVAL, TEST_INTERVAL));
+  }
+
+  @Test
+  public void testReserveFromManyNodesGivesDistinctSlots() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    final Set<Long> slots = ConcurrentHashMap.newKeySet();
+    try {
+      final List<Future<?>> tasks = new ArrayList<>();
+      for (int node = 0; node < 8; node++) {
+        final ComicVineStoreRateLimitBackend nodeBackend =
+            new ComicVineStoreRateLimitBackend(store);
+        tasks.add(
+            executor.submit(
+                () -> {
+                  for (int index = 0; index < 50; index++)
+                    slots.add(nodeBackend.reserve(TEST_KEY, TEST_NOW, TEST_INTERVAL));
+                }));
+      }
+      for (Future<?> task : tasks) task.get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(400, slots.size());
+    assertEquals(TEST_NOW + 400 * TEST_INTERVAL, store.get(TEST_KEY));
+  }
+}
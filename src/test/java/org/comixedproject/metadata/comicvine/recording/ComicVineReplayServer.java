@@ -0,0 +1,126 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.recording;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * <code>ComicVineReplayServer</code> answers requests from a fixture archive. Each request is
+ * matched, with its API key masked, against the recorded exchanges for the same URL in the order
+ * they were recorded, and is answered after the recorded latency.
+ *
+ * @author Darryl L. Pierce
+ */
+public class ComicVineReplayServer {
+  private final Map<String, Deque<ComicVineRecordedExchange>> exchanges = new HashMap<>();
+  private final MockWebServer server = new MockWebServer();
+
+  /**
+   * Creates a server.
+   *
+   * @param archive the fixture archive
+   * @throws IOException if the archive cannot be read
+   */
+  public ComicVineReplayServer(final Path archive) throws IOException {
+    this(ComicVineTrafficRecorder.load(archive));
+  }
+
+  /**
+   * Creates a server.
+   *
+   * @param exchanges the recorded exchanges
+   */
+  public ComicVineReplayServer(final List<ComicVineRecordedExchange> exchanges) {
+    exchanges.forEach(
+        exchange ->
+            this.exchanges
+                .computeIfAbsent(
+                    this.doGetKey(exchange.getMethod(), exchange.getUrl()),
+                    key -> new ArrayDeque<>())
+                .add(exchange));
+    this.server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(final RecordedRequest request) {
+            return doDispatch(request);
+          }
+        });
+  }
+
+  /**
+   * Starts the server.
+   *
+   * @throws IOException if the server cannot start
+   */
+  public void start() throws IOException {
+    this.server.start();
+  }
+
+  /**
+   * Stops the server.
+   *
+   * @throws IOException if the server cannot stop
+   */
+  public void shutdown() throws IOException {
+    this.server.shutdown();
+  }
+
+  /**
+   * Returns the base URL to use in place of the ComicVine server.
+   *
+   * @return the base URL
+   */
+  public String getBaseUrl() {
+    return String.format("http://localhost:%d", this.server.getPort());
+  }
+
+  private synchronized MockResponse doDispatch(final RecordedRequest request) {
+    final String url =
+        ComicVineTrafficRecorder.getRecordedUrl(URI.create(request.getRequestUrl().toString()));
+    final Deque<ComicVineRecordedExchange> recorded =
+        this.exchanges.get(this.doGetKey(request.getMethod(), url));
+    if (recorded == null || recorded.isEmpty()) return new MockResponse().setResponseCode(404);
+    // the last exchange for a URL keeps answering once the others are used up
+    final ComicVineRecordedExchange exchange =
+        recorded.size() > 1 ? recorded.poll() : recorded.peek();
+    final MockResponse result =
+        new MockResponse()
+            .setResponseCode(exchange.getStatus())
+            .setHeadersDelay(exchange.getLatency(), TimeUnit.MILLISECONDS);
+    exchange.getHeaders().forEach(result::addHeader);
+    if (exchange.getBody() != null) result.setBody(exchange.getBody());
+    return result;
+  }
+
+  private String doGetKey(final String method, final String url) {
+    return method + " " + url;
+  }
+}
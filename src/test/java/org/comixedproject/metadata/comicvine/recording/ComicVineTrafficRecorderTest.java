@@ -0,0 +1,116 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.recording;
+
+import static junit.framework.TestCase.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.actions.ComicVineGetVolumeDetailsAction;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+public class ComicVineTrafficRecorderTest {
+  private static final String TEST_API_KEY = "this is the api key";
+  private static final String TEST_VOLUME_PATH = "/api/volume/4050-39997/";
+  private static final String TEST_BODY =
+      "{\"error\":\"OK\",\"status_code\":1,\"results\":{\"name\":\"Flashpoint\",\"start_year\":\"2011\"}}";
+  private static final long TEST_LATENCY = 100L;
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private MockWebServer comicVineServer;
+  private Path archive;
+
+  @Before
+  public void setUp() throws IOException {
+    comicVineServer = new MockWebServer();
+    comicVineServer.start();
+    archive = folder.getRoot().toPath().resolve("comicvine.fixtures");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    comicVineServer.shutdown();
+  }
+
+  @Test
+  public void testMaskApiKey() {
+    assertEquals("***************" + " key", ComicVineTrafficRecorder.maskApiKey(TEST_API_KEY));
+    assertEquals(
+        "/api/issue/4000-1/?api_key=****1234&format=json",
+        ComicVineTrafficRecorder.getRecordedUrl(
+            URI.create("http://localhost/api/issue/4000-1/?api_key=abcd1234&format=json")));
+  }
+
+  @Test
+  public void testRecordAndReplay() throws MetadataException, IOException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_BODY)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .addHeader(HttpHeaders.ETAG, "\"39997-1\"")
+            .setHeadersDelay(TEST_LATENCY, TimeUnit.MILLISECONDS));
+    final ComicVineGetVolumeDetailsAction recordingAction = new ComicVineGetVolumeDetailsAction();
+    recordingAction.setApiKey(TEST_API_KEY);
+    recordingAction.setApiUrl(
+        String.format("http://localhost:%d%s", this.comicVineServer.getPort(), TEST_VOLUME_PATH));
+    recordingAction.setRecorder(new ComicVineTrafficRecorder(archive));
+
+    final ComicVineVolume recorded = recordingAction.execute();
+
+    final List<ComicVineRecordedExchange> exchanges = ComicVineTrafficRecorder.load(archive);
+    assertEquals(1, exchanges.size());
+    assertTrue(exchanges.get(0).getUrl().startsWith(TEST_VOLUME_PATH + "?api_key=****"));
+    assertFalse(exchanges.get(0).getUrl().contains(TEST_API_KEY));
+    assertEquals(200, exchanges.get(0).getStatus());
+    assertEquals("\"39997-1\"", exchanges.get(0).getHeaders().get(HttpHeaders.ETAG));
+    assertEquals(TEST_BODY, exchanges.get(0).getBody());
+    assertTrue(exchanges.get(0).getLatency() >= TEST_LATENCY);
+
+    final ComicVineReplayServer replayServer = new ComicVineReplayServer(archive);
+    replayServer.start();
+    try {
+      final ComicVineGetVolumeDetailsAction replayingAction = new ComicVineGetVolumeDetailsAction();
+      replayingAction.setApiKey(TEST_API_KEY);
+      replayingAction.setApiUrl(replayServer.getBaseUrl() + TEST_VOLUME_PATH);
+
+      final long started = System.currentTimeMillis();
+      final ComicVineVolume replayed = replayingAction.execute();
+
+      assertTrue(System.currentTimeMillis() - started >= TEST_LATENCY);
+      assertEquals(recorded.getName(), replayed.getName());
+      assertEquals(recorded.getStartYear(), replayed.getStartYear());
+    } finally {
+      replayServer.shutdown();
+    }
+  }
+}